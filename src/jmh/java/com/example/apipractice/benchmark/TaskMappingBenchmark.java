@@ -0,0 +1,95 @@
+package com.example.apipractice.benchmark;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.infrastructure.persistence.TaskEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 保存・再構築時のオブジェクト生成コストの計測（JMH）
+ *
+ * 目的:
+ * - 保存: 旧実装（TaskEntity生成 → 保存後のエンティティから新しいTaskへコピー）と
+ *   現実装（TaskEntity生成のみ、IDとバージョンを引数のTaskに設定）を比較する
+ * - 再構築: 旧実装（Task.create + setter、LocalDateTime.now() を2回呼んで上書き）と Task.restore を比較する
+ * - 1操作あたりの割り当てバイト数は gc プロファイラの gc.alloc.rate.norm（B/op）で確認する
+ *
+ * SQL文の数は JVM 内で完結しないため TaskSaveStatementBenchmarkTest（benchmarkTest）で計測する。
+ *
+ * 実行方法:
+ * ./gradlew jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    private static final long ID = 42L;
+    private static final long VERSION = 3L;
+
+    private final LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private final LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 2, 10, 0);
+    private TaskEntity loadedEntity;
+
+    @Setup
+    public void setUp() {
+        loadedEntity = new TaskEntity("Benchmark Task", "Benchmark description", TaskStatus.TODO, createdAt, updatedAt);
+        loadedEntity.setId(ID);
+        loadedEntity.setVersion(VERSION);
+    }
+
+    @Benchmark
+    public Task saveLegacy() {
+        Task task = Task.create("Benchmark Task", "Benchmark description");
+        TaskEntity entity = newEntity(task);
+        // 保存後（ID・バージョン採番済み）のエンティティを新しいTaskにコピーしていた
+        entity.setId(ID);
+        entity.setVersion(0L);
+        return legacyToDomain(entity);
+    }
+
+    @Benchmark
+    public Task saveCurrent() {
+        Task task = Task.create("Benchmark Task", "Benchmark description");
+        TaskEntity entity = newEntity(task);
+        entity.setId(ID);
+        entity.setVersion(0L);
+        task.setId(entity.getId());
+        task.setVersion(entity.getVersion());
+        return task;
+    }
+
+    @Benchmark
+    public Task rehydrateLegacy() {
+        return legacyToDomain(loadedEntity);
+    }
+
+    @Benchmark
+    public Task rehydrateCurrent() {
+        return Task.restore(loadedEntity.getId(), loadedEntity.getTitle(), loadedEntity.getDescription(),
+                loadedEntity.getStatus(), loadedEntity.getCreatedAt(), loadedEntity.getUpdatedAt(),
+                loadedEntity.getVersion());
+    }
+
+    private static TaskEntity newEntity(Task task) {
+        return new TaskEntity(task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getCreatedAt(), task.getUpdatedAt());
+    }
+
+    // 変更前の TaskRepositoryAdapter.toDomain
+    private static Task legacyToDomain(TaskEntity entity) {
+        Task task = Task.create(entity.getTitle(), entity.getDescription());
+        task.setId(entity.getId());
+        task.setStatus(entity.getStatus());
+        task.setCreatedAt(entity.getCreatedAt());
+        task.setUpdatedAt(entity.getUpdatedAt());
+        task.setVersion(entity.getVersion());
+        return task;
+    }
+}
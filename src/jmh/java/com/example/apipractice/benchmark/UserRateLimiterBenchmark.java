@@ -0,0 +1,82 @@
+package com.example.apipractice.benchmark;
+
+import com.example.apipractice.interfaces.rest.UserRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ユーザー別レート制限の判定コストの計測（JMH）
+ *
+ * 目的:
+ * - 1リクエストあたりの判定時間（ns/op）を、同じ userId の ConcurrentHashMap 参照だけの場合（baseline）と比較する
+ * - manyUsers: 10,000ユーザーに分散（通常時）/ hotUser: 全スレッドが同じユーザー（1つのバケットへのCASが競合する最悪時）
+ * - 50,000 req/s のとき1リクエストに使える時間は 20µs（1スレッドあたり）。判定が数十ns に収まれば無視できる
+ * - 制限に掛からない設定（毎秒10億回）にし、受け付ける側の経路を計測する
+ *
+ * 実行方法:
+ * ./gradlew jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class UserRateLimiterBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+
+        UserRateLimiter limiter;
+        ConcurrentHashMap<String, Object> baseline;
+        String[] userIds;
+
+        @Setup
+        public void setUp() {
+            limiter = new UserRateLimiter("create", 1_000_000_000, 1_000_000_000, USERS * 2, new SimpleMeterRegistry());
+            baseline = new ConcurrentHashMap<>();
+            userIds = new String[USERS];
+            for (int i = 0; i < USERS; i++) {
+                userIds[i] = "user-" + i;
+                limiter.tryAcquire(userIds[i]);
+                baseline.put(userIds[i], new Object());
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int next;
+
+        @Setup
+        public void setUp() {
+            next = (int) (Thread.currentThread().threadId() * 7919);
+        }
+
+        String nextUser(String[] userIds) {
+            next = (next + 1) & Integer.MAX_VALUE;
+            return userIds[next % userIds.length];
+        }
+    }
+
+    @Benchmark
+    public Object baselineManyUsers(Limiter state, Cursor cursor) {
+        return state.baseline.get(cursor.nextUser(state.userIds));
+    }
+
+    @Benchmark
+    public long acquireManyUsers(Limiter state, Cursor cursor) {
+        return state.limiter.tryAcquire(cursor.nextUser(state.userIds));
+    }
+
+    @Benchmark
+    public long acquireHotUser(Limiter state) {
+        return state.limiter.tryAcquire(state.userIds[0]);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.apipractice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * スレッドプール設定
+ * 非同期処理用のExecutorを提供
+ *
+ * spring.threads.virtual.enabled=true（virtual-threadsプロファイル）の場合、
+ * ブロッキングI/Oを行うExecutorは仮想スレッドに切り替える。
+ * インポートのチャンク登録・非同期タスク作成の永続化は同時実行数そのものを制限する目的のためプラットフォームスレッドのまま。
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * インポートのチャンク登録用Executor
+     * 1インポートにつき同時に1チャンクだけ登録するため、プールサイズ = 同時に並行処理できるインポート数。
+     * 満杯の場合は呼び出し元スレッドで登録する（パイプラインは止まるが処理は継続）。
+     */
+    @Bean
+    public ThreadPoolTaskExecutor taskImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("task-import-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * ユーザー存在確認キャッシュのメンテナンス・完了処理用Executor
+     * 外部API呼び出しは非同期HTTPクライアントで行うため、ここでは実行しない（ブロッキングしない短い処理だけ）。
+     * 共通ForkJoinPoolを使わないよう専用プールにする。キューが満杯の場合は呼び出し元スレッドで実行する。
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor userValidationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("user-validation-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * ユーザー存在確認キャッシュのメンテナンス・完了処理用Executor（仮想スレッドモード）
+     * 呼び出しごとに仮想スレッドを起動する。外部API呼び出しは実行しない。
+     */
+    @Bean("userValidationExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualUserValidationExecutor(
+            @Value("${http.client.max-per-route:50}") int maxPerRoute) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("user-validation-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxPerRoute);
+        return executor;
+    }
+
+    /**
+     * 非同期タスク作成（POST /tasks/async）の永続化用Executor
+     * スレッド数はDB接続数（Hikari maximum-pool-size）に合わせる（それ以上はコネクション待ちになるだけ）。
+     * キューが満杯の場合は TaskRejectedException で拒否する（呼び出し元で503に変換する）。
+     * Tomcatのスレッドに処理を戻すと非同期化の意味がないため CallerRuns にはしない。
+     */
+    @Bean
+    public ThreadPoolTaskExecutor taskPersistenceExecutor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:20}") int dbPoolSize,
+            @Value("${task.create.async.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(dbPoolSize);
+        executor.setMaxPoolSize(dbPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("task-persistence-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -1,22 +1,146 @@
 package com.example.apipractice.config;
 
+import com.example.apipractice.infrastructure.client.TimedPoolingHttpClientConnectionManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * HTTPクライアント設定
  * 外部API呼び出し用のRestTemplateを提供
+ *
+ * Apache HttpClient 5 のコネクションプールを使い、keep-aliveでコネクションを再利用する。
+ * - max-total / max-per-route: プール全体・ホストごとの同時接続数の上限
+ * - connect-timeout / response-timeout: 接続・応答待ちのタイムアウト
+ * - connection-request-timeout: プールの空き待ちのタイムアウト
+ * - idle-eviction: 一定時間使われていないコネクションをバックグラウンドで閉じる
+ *
+ * 非同期のタスク作成（POST /tasks/async）のユーザー確認用に、同じ設定の非同期HTTPクライアントも提供する
+ * （応答待ちの間スレッドを占有しない。コネクションプールは同期クライアントとは別）。
  */
 @Configuration
 public class HttpClientConfig {
 
+    static final String POOL_NAME = "outbound";
+    static final String ASYNC_POOL_NAME = "outbound-async";
+
+    /**
+     * 外部API用コネクションプール
+     * プールの状態は httpcomponents.httpclient.pool.*、取得待ち時間は http.client.pool.lease で確認できる。
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager httpClientConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${http.client.max-total:200}") int maxTotal,
+            @Value("${http.client.max-per-route:50}") int maxPerRoute,
+            @Value("${http.client.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${http.client.response-timeout:3s}") Duration responseTimeout,
+            @Value("${http.client.time-to-live:5m}") Duration timeToLive) {
+        Timer leaseTimer = Timer.builder("http.client.pool.lease")
+                .description("Time spent waiting for a pooled outbound HTTP connection")
+                .tag("pool", POOL_NAME)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        TimedPoolingHttpClientConnectionManager connectionManager =
+                new TimedPoolingHttpClientConnectionManager(leaseTimer);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                .setSocketTimeout(Timeout.ofMilliseconds(responseTimeout.toMillis()))
+                // 一定時間使われなかったコネクションは再利用前に生存確認する（サーバー側で切断済みの場合に備える）
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                .build());
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    /**
+     * 外部API用HTTPクライアント（プール共有）
+     */
+    @Bean
+    public CloseableHttpClient httpClient(
+            PoolingHttpClientConnectionManager httpClientConnectionManager,
+            @Value("${http.client.connection-request-timeout:500ms}") Duration connectionRequestTimeout,
+            @Value("${http.client.response-timeout:3s}") Duration responseTimeout,
+            @Value("${http.client.idle-eviction:30s}") Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(httpClientConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeout.toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()))
+                .build();
+    }
+
+    /**
+     * 外部API用の非同期HTTPクライアント
+     * 少数のI/Oスレッドで全リクエストを多重化する。プールの状態は httpcomponents.httpclient.pool.*（pool=outbound-async）。
+     */
+    @Bean
+    public CloseableHttpAsyncClient httpAsyncClient(
+            MeterRegistry meterRegistry,
+            @Value("${http.client.max-total:200}") int maxTotal,
+            @Value("${http.client.max-per-route:50}") int maxPerRoute,
+            @Value("${http.client.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${http.client.response-timeout:3s}") Duration responseTimeout,
+            @Value("${http.client.connection-request-timeout:500ms}") Duration connectionRequestTimeout,
+            @Value("${http.client.idle-eviction:30s}") Duration idleEviction,
+            @Value("${http.client.time-to-live:5m}") Duration timeToLive) {
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(responseTimeout.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, ASYNC_POOL_NAME).bindTo(meterRegistry);
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeout.toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()))
+                .build();
+        client.start();
+        return client;
+    }
+
     /**
      * RestTemplateのBean定義
      * 外部HTTP APIクライアント（NotificationClient、UserValidationClient）で使用
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient httpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
     }
 }
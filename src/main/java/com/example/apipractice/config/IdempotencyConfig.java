@@ -0,0 +1,42 @@
+package com.example.apipractice.config;
+
+import com.example.apipractice.infrastructure.idempotency.IdempotencyKeyPurger;
+import com.example.apipractice.infrastructure.idempotency.IdempotencyKeyRepositoryAdapter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 冪等キー（POST /tasks の Idempotency-Key）設定
+ * キーの保存先と、期限切れキーの削除（task.idempotency.purge-interval ごとに実行）
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyKeyRepositoryAdapter idempotencyKeyRepository(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${task.idempotency.retention:24h}") Duration retention,
+            @Value("${task.idempotency.lease:30s}") Duration lease) {
+        return new IdempotencyKeyRepositoryAdapter(dataSource, transactionManager, objectMapper, retention, lease);
+    }
+
+    @Bean
+    public IdempotencyKeyPurger idempotencyKeyPurger(
+            IdempotencyKeyRepositoryAdapter idempotencyKeyRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${task.idempotency.purge-batch-size:500}") int batchSize,
+            @Value("${task.idempotency.purge-max-batches-per-run:20}") int maxBatchesPerRun) {
+        return new IdempotencyKeyPurger(idempotencyKeyRepository, transactionManager, meterRegistry,
+                batchSize, maxBatchesPerRun);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.apipractice.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * メトリクス設定
+ * ユースケース・リポジトリ・外部API呼び出しの処理時間は各メソッドの @Timed で記録する
+ * （TimedAspect は management.observations.annotations.enabled=true で Spring Boot が登録する）
+ *
+ * タグ:
+ * - task.usecase{usecase}、task.repository{operation}、task.client{client, operation}、
+ *   いずれも exception（none: 成功 / 例外のクラス名）
+ * - ユーザーID・タスクIDのように値が際限なく増えるものはタグにしない。
+ *   誤って付けられた場合も、ここで登録前に取り除く（Prometheus の時系列数を一定に保つ）
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterFilter unboundedTagFilter() {
+        return MeterFilter.ignoreTags("userId", "user_id", "taskId", "task_id", "idempotencyKey");
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.apipractice.config;
+
+import com.example.apipractice.infrastructure.client.NotificationClientAdapter;
+import com.example.apipractice.infrastructure.outbox.NotificationOutboxDispatcher;
+import com.example.apipractice.infrastructure.outbox.NotificationOutboxRepository;
+import com.example.apipractice.infrastructure.outbox.OutboxNotificationClient;
+import com.example.apipractice.usecase.port.NotificationClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * 通知アウトボックス設定
+ * Usecaseにはアウトボックスへ書き込むNotificationClientを注入し、
+ * 通知APIへの送信（NotificationClientAdapter）はディスパッチャが定期実行で行う。
+ */
+@Configuration
+@EnableScheduling
+public class NotificationOutboxConfig {
+
+    /**
+     * アウトボックス経由のNotificationClient
+     */
+    @Bean
+    @Primary
+    public NotificationClient outboxNotificationClient(NotificationOutboxRepository outboxRepository) {
+        return new OutboxNotificationClient(outboxRepository);
+    }
+
+    /**
+     * アウトボックスのディスパッチャ（notification.outbox.poll-interval ごとに実行）
+     */
+    @Bean
+    public NotificationOutboxDispatcher notificationOutboxDispatcher(
+            NotificationOutboxRepository outboxRepository,
+            NotificationClientAdapter notificationClientAdapter,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${notification.outbox.batch-size:100}") int batchSize,
+            @Value("${notification.outbox.max-batches-per-run:10}") int maxBatchesPerRun,
+            @Value("${notification.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${notification.outbox.lease:5m}") Duration lease,
+            @Value("${notification.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${notification.outbox.max-backoff:5m}") Duration maxBackoff) {
+        return new NotificationOutboxDispatcher(outboxRepository, notificationClientAdapter, transactionManager,
+                meterRegistry, batchSize, maxBatchesPerRun, maxAttempts, lease, initialBackoff, maxBackoff);
+    }
+}
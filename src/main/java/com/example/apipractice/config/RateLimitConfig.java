@@ -0,0 +1,35 @@
+package com.example.apipractice.config;
+
+import com.example.apipractice.interfaces.rest.TaskRateLimits;
+import com.example.apipractice.interfaces.rest.UserRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ユーザー別レート制限の設定
+ * 上限はエンドポイントごと（task.rate-limit.create.*、task.rate-limit.create-async.*）に指定する。
+ * task.rate-limit.enabled=false の場合は制限しない
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public TaskRateLimits taskRateLimits(
+            MeterRegistry meterRegistry,
+            @Value("${task.rate-limit.enabled:true}") boolean enabled,
+            @Value("${task.rate-limit.max-users:100000}") int maxUsers,
+            @Value("${task.rate-limit.create.capacity:20}") int createCapacity,
+            @Value("${task.rate-limit.create.refill-per-second:10}") double createRefillPerSecond,
+            @Value("${task.rate-limit.create-async.capacity:20}") int createAsyncCapacity,
+            @Value("${task.rate-limit.create-async.refill-per-second:10}") double createAsyncRefillPerSecond) {
+        if (!enabled) {
+            return TaskRateLimits.unlimited();
+        }
+        return new TaskRateLimits(
+                new UserRateLimiter("create", createCapacity, createRefillPerSecond, maxUsers, meterRegistry),
+                new UserRateLimiter("create_async", createAsyncCapacity, createAsyncRefillPerSecond, maxUsers,
+                        meterRegistry));
+    }
+}
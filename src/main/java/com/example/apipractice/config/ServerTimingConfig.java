@@ -0,0 +1,21 @@
+package com.example.apipractice.config;
+
+import com.example.apipractice.interfaces.rest.ServerTiming;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * Server-Timing ヘッダーの設定（POST /tasks、POST /tasks/{id}/complete）
+ * task.server-timing.mode: off / on-request（X-Server-Timing ヘッダー付きのリクエストだけ） / always
+ */
+@Configuration
+public class ServerTimingConfig {
+
+    @Bean
+    public ServerTiming serverTiming(@Value("${task.server-timing.mode:on-request}") String mode) {
+        return new ServerTiming(ServerTiming.Mode.valueOf(mode.trim().replace('-', '_').toUpperCase(Locale.ROOT)));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.apipractice.config;
+
+import com.example.apipractice.infrastructure.persistence.CachingTaskRepository;
+import com.example.apipractice.infrastructure.persistence.TaskRepositoryAdapter;
+import com.example.apipractice.usecase.port.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * タスクキャッシュ設定
+ * task.cache.enabled=false の場合はキャッシュなし（TaskRepositoryAdapterを直接使用）
+ */
+@Configuration
+@ConditionalOnProperty(name = "task.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskCacheConfig {
+
+    /**
+     * キャッシュ付きTaskRepository
+     * TaskRepositoryAdapterをラップし、Usecaseにはこちらを注入する
+     */
+    @Bean
+    @Primary
+    public TaskRepository cachingTaskRepository(
+            TaskRepositoryAdapter taskRepositoryAdapter,
+            MeterRegistry meterRegistry,
+            @Value("${task.cache.maximum-weight-bytes:67108864}") long maximumWeightBytes,
+            @Value("${task.cache.expire-after-write:60s}") Duration expireAfterWrite) {
+        return new CachingTaskRepository(taskRepositoryAdapter, maximumWeightBytes, expireAfterWrite, meterRegistry);
+    }
+}
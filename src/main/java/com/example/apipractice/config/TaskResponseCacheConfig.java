@@ -0,0 +1,33 @@
+package com.example.apipractice.config;
+
+import com.example.apipractice.interfaces.rest.TaskJsonPayloadHttpMessageConverter;
+import com.example.apipractice.interfaces.rest.TaskResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * シリアライズ済みタスクレスポンスのキャッシュ設定（GET /tasks/{id}）
+ * 容量は本文の合計バイト数（ヒープ外）で指定する
+ */
+@Configuration
+public class TaskResponseCacheConfig {
+
+    @Bean
+    public TaskResponseCache taskResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${task.response-cache.maximum-bytes:33554432}") long maximumBytes,
+            @Value("${task.response-cache.max-entry-bytes:65536}") int maxEntryBytes) {
+        return new TaskResponseCache(maximumBytes, maxEntryBytes, meterRegistry);
+    }
+
+    /**
+     * キャッシュした本文をそのまま書き出すコンバーター
+     * HttpMessageConverter のBeanは Spring Boot が既定のコンバーター（Jackson）より前に登録する
+     */
+    @Bean
+    public TaskJsonPayloadHttpMessageConverter taskJsonPayloadHttpMessageConverter() {
+        return new TaskJsonPayloadHttpMessageConverter();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.apipractice.config;
+
+import com.example.apipractice.infrastructure.client.CachingUserValidationClient;
+import com.example.apipractice.infrastructure.client.ResilientUserValidationClient;
+import com.example.apipractice.infrastructure.client.RetryBudget;
+import com.example.apipractice.infrastructure.client.UserValidationClientAdapter;
+import com.example.apipractice.usecase.port.UserValidationClient;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * ユーザー存在確認クライアント設定
+ * Usecaseに注入するUserValidationClientを組み立てる:
+ * キャッシュ（CachingUserValidationClient）→ 耐障害性（ResilientUserValidationClient）→ HTTP（UserValidationClientAdapter）
+ * キャッシュに無い場合の確認も耐障害性付きクライアントを通る（バルクヘッドが満杯なら待たずに503）
+ *
+ * user.validation.cache.enabled=false の場合はキャッシュなし（耐障害性付きクライアントを直接使用）
+ */
+@Configuration
+public class UserValidationClientConfig {
+
+    static final String NAME = "userValidation";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${user.validation.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${user.validation.circuit-breaker.slow-call-duration:1s}") Duration slowCallDuration,
+            @Value("${user.validation.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${user.validation.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${user.validation.circuit-breaker.wait-in-open:10s}") Duration waitInOpen) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(waitInOpen)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordExceptions(UserValidationClient.UserValidationException.class)
+                .build());
+        // 状態は resilience4j.circuitbreaker.state、拒否数は resilience4j.circuitbreaker.not.permitted.calls
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${user.validation.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * Usecaseに注入するUserValidationClient
+     */
+    @Bean
+    @Primary
+    public UserValidationClient userValidationClient(
+            UserValidationClientAdapter userValidationClientAdapter,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            @Qualifier("userValidationExecutor") Executor executor,
+            MeterRegistry meterRegistry,
+            @Value("${user.validation.retry.max-attempts:2}") int maxAttempts,
+            @Value("${user.validation.retry.budget-ratio:0.1}") double retryBudgetRatio,
+            @Value("${user.validation.retry.budget-max:10}") int retryBudgetMax,
+            @Value("${user.validation.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${user.validation.cache.maximum-size:100000}") long maximumSize,
+            @Value("${user.validation.cache.positive-ttl:10m}") Duration positiveTtl,
+            @Value("${user.validation.cache.negative-ttl:30s}") Duration negativeTtl,
+            @Value("${user.validation.cache.refresh-after:5m}") Duration refreshAfter,
+            @Value("${user.validation.cache.wait-timeout:3s}") Duration waitTimeout) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(NAME);
+        UserValidationClient resilient = new ResilientUserValidationClient(userValidationClientAdapter,
+                userValidationClientAdapter.hasBatchEndpoint(), circuitBreaker, bulkhead, new RetryBudget(retryBudgetRatio, retryBudgetMax), maxAttempts,
+                meterRegistry);
+        if (!cacheEnabled) {
+            return resilient;
+        }
+        return new CachingUserValidationClient(resilient, maximumSize,
+                positiveTtl, negativeTtl, refreshAfter, waitTimeout, executor, meterRegistry);
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.apipractice.core.domain;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Taskドメインモデル
@@ -9,21 +12,40 @@ import java.time.LocalDateTime;
  * 配置理由: ドメインの中核概念。どの層にも依存しない。
  */
 public class Task {
+    private static final Set<TaskStatus> COMPLETABLE_STATUSES = deriveCompletableStatuses();
+
     private Long id;
     private String title;
     private String description;
     private TaskStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // 楽観的ロック用バージョン（未保存の場合null）
+    private Long version;
 
     // ファクトリメソッド：新規作成
     public static Task create(String title, String description) {
+        LocalDateTime now = LocalDateTime.now();
         Task task = new Task();
         task.title = title;
         task.description = description;
         task.status = TaskStatus.TODO;
-        task.createdAt = LocalDateTime.now();
-        task.updatedAt = LocalDateTime.now();
+        task.createdAt = now;
+        task.updatedAt = now;
+        return task;
+    }
+
+    // ファクトリメソッド：再構築（Infrastructure層でDB・キャッシュから復元する場合のみ使用）
+    public static Task restore(Long id, String title, String description, TaskStatus status,
+                               LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        Task task = new Task();
+        task.id = id;
+        task.title = title;
+        task.description = description;
+        task.status = status;
+        task.createdAt = createdAt;
+        task.updatedAt = updatedAt;
+        task.version = version;
         return task;
     }
 
@@ -41,6 +63,23 @@ public class Task {
         return this.status != TaskStatus.DONE;
     }
 
+    // 完了可能なステータス（canComplete から導出。DBでの条件付き更新に使う）
+    public static Set<TaskStatus> completableStatuses() {
+        return COMPLETABLE_STATUSES;
+    }
+
+    private static Set<TaskStatus> deriveCompletableStatuses() {
+        Set<TaskStatus> statuses = EnumSet.noneOf(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            Task task = new Task();
+            task.status = status;
+            if (task.canComplete()) {
+                statuses.add(status);
+            }
+        }
+        return Collections.unmodifiableSet(statuses);
+    }
+
     // Getters
     public Long getId() {
         return id;
@@ -66,6 +105,10 @@ public class Task {
         return updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     // Infrastructure層からの再構築用（DBから復元時のみ使用）
     public void setId(Long id) {
         this.id = id;
@@ -82,4 +125,8 @@ public class Task {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
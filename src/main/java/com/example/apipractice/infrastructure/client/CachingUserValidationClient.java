@@ -0,0 +1,161 @@
+package com.example.apipractice.infrastructure.client;
+
+import com.example.apipractice.usecase.port.UserValidationClient;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * UserValidationClientポートのキャッシュ付き実装（Decorator）
+ * Infrastructure層: ユーザー存在確認の結果をプロセス内にキャッシュする
+ *
+ * 配置理由: キャッシュはHTTPクライアントの実装詳細。Usecaseはキャッシュの有無を意識しない。
+ *
+ * 方針:
+ * - 存在する（true）と存在しない（false）で別々のTTLを持つ
+ *   （不在ユーザーは直後に作成される可能性があるため短くする）
+ * - 同じuserIdへの同時リクエストは1回の外部API呼び出しを共有する（single-flight）
+ * - refreshAfter を過ぎたエントリは、次のアクセス時に古い値を返しつつバックグラウンドで再取得する
+ *   （常連ユーザーのタスク作成が外部APIのレイテンシを待たない）
+ * - 外部APIエラーはキャッシュしない。バックグラウンド再取得が失敗した場合は既存の値を使い続ける
+ * - キャッシュに無い場合（再取得を含む）は委譲先の existsUserAsync で確認する。
+ *   委譲先（ResilientUserValidationClient）は呼び出し時にバルクヘッド・サーキットブレーカーの許可を取り、
+ *   取れなければ即座に UserValidationUnavailableException で失敗する（スレッドプールのキューに積んで待たせない）
+ * - existsUsers はキャッシュに無いユーザーだけをまとめて、呼び出し元スレッドで委譲先の existsUsers で確認する
+ * - 結果を待つのは waitTimeout まで。超えた場合は UserValidationUnavailableException（503）
+ *   （確認自体は続き、完了すればキャッシュされる）
+ * - executor はキャッシュのメンテナンス・完了処理にだけ使う（外部API呼び出しでは使わない）
+ */
+public class CachingUserValidationClient implements UserValidationClient {
+
+    static final String CACHE_NAME = "userValidation";
+
+    private final UserValidationClient delegate;
+    private final AsyncLoadingCache<String, Boolean> cache;
+    private final long waitTimeoutNanos;
+
+    public CachingUserValidationClient(
+            UserValidationClient delegate,
+            long maximumSize,
+            Duration positiveTtl,
+            Duration negativeTtl,
+            Duration refreshAfter,
+            Duration waitTimeout,
+            Executor executor,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExistenceExpiry(positiveTtl, negativeTtl))
+                .refreshAfterWrite(refreshAfter)
+                .executor(executor)
+                .recordStats()
+                .buildAsync((String userId, Executor loaderExecutor) -> delegate.existsUserAsync(userId));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public boolean existsUser(String userId) {
+        try {
+            return cache.get(userId).get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UserValidationException validationException) {
+                throw validationException;
+            }
+            throw new UserValidationException("Failed to validate user: " + userId, e.getCause());
+        } catch (TimeoutException e) {
+            throw timedOut(userId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserValidationException("Interrupted while validating user: " + userId, e);
+        }
+    }
+
+    /**
+     * 確認中のエントリは同期版と共有する（single-flight）
+     * 待ち時間の上限は呼び出しごと（共有している確認自体は打ち切らない）
+     */
+    @Override
+    public CompletableFuture<Boolean> existsUserAsync(String userId) {
+        return cache.get(userId).copy()
+                .orTimeout(waitTimeoutNanos, TimeUnit.NANOSECONDS)
+                .exceptionallyCompose(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    return CompletableFuture.failedFuture(cause instanceof TimeoutException ? timedOut(userId) : cause);
+                });
+    }
+
+    /**
+     * キャッシュ済み（確認が完了している）ユーザーはキャッシュから返し、
+     * 残りは呼び出し元スレッドで委譲先の一括確認を1回呼ぶ（委譲先のバルクヘッドで同時実行数を制限する）
+     */
+    @Override
+    public Map<String, Boolean> existsUsers(Collection<String> userIds) {
+        Set<String> distinctUserIds = new LinkedHashSet<>(userIds);
+        Map<String, Boolean> results = new HashMap<>(cache.synchronous().getAllPresent(distinctUserIds));
+        List<String> missing = new ArrayList<>(distinctUserIds.size() - results.size());
+        for (String userId : distinctUserIds) {
+            if (!results.containsKey(userId)) {
+                missing.add(userId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, Boolean> loaded = delegate.existsUsers(missing);
+            cache.synchronous().putAll(loaded);
+            results.putAll(loaded);
+        }
+        return results;
+    }
+
+    private UserValidationUnavailableException timedOut(String userId) {
+        return new UserValidationUnavailableException("User validation timed out after "
+                + TimeUnit.NANOSECONDS.toMillis(waitTimeoutNanos) + "ms: userId=" + userId);
+    }
+
+    /**
+     * 結果（存在する / しない）ごとにTTLを切り替える
+     */
+    private static final class ExistenceExpiry implements Expiry<String, Boolean> {
+
+        private final long positiveTtlNanos;
+        private final long negativeTtlNanos;
+
+        ExistenceExpiry(Duration positiveTtl, Duration negativeTtl) {
+            this.positiveTtlNanos = positiveTtl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String userId, Boolean exists, long currentTime) {
+            return exists ? positiveTtlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String userId, Boolean exists, long currentTime, long currentDuration) {
+            return exists ? positiveTtlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String userId, Boolean exists, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
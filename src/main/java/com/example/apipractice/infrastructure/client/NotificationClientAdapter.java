@@ -1,6 +1,7 @@
 package com.example.apipractice.infrastructure.client;
 
 import com.example.apipractice.usecase.port.NotificationClient;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
@@ -13,6 +14,9 @@ import java.util.Map;
  *
  * 配置理由: RestTemplateを使った外部API呼び出しはインフラ技術。
  * IT時にWireMockで外部APIをモック化できる。
+ *
+ * 送信失敗は NotificationException として呼び出し元（NotificationOutboxDispatcher）に伝え、
+ * リトライ・デッドレターはアウトボックス側で扱う。
  */
 @Component
 public class NotificationClientAdapter implements NotificationClient {
@@ -28,6 +32,7 @@ public class NotificationClientAdapter implements NotificationClient {
     }
 
     @Override
+    @Timed(value = "task.client", extraTags = {"client", "notification", "operation", "notify_task_created"}, histogram = true)
     public void notifyTaskCreated(Long taskId, String title) {
         Map<String, Object> payload = Map.of(
                 "taskId", taskId,
@@ -38,8 +43,7 @@ public class NotificationClientAdapter implements NotificationClient {
         try {
             restTemplate.postForEntity(notificationApiUrl, payload, Void.class);
         } catch (Exception e) {
-            // 教材用: 外部API失敗は警告のみ（タスク作成は成功させる）
-            System.err.println("Failed to send notification: " + e.getMessage());
+            throw new NotificationException("Failed to send notification: taskId=" + taskId, e);
         }
     }
 }
@@ -0,0 +1,208 @@
+package com.example.apipractice.infrastructure.client;
+
+import com.example.apipractice.usecase.port.UserValidationClient;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * UserValidationClientポートの耐障害性付き実装（Decorator）
+ * Infrastructure層: ユーザー検証APIの障害・遅延がアプリ全体に波及しないようにする
+ *
+ * 配置理由: 呼び出し回数・同時実行数の制御は外部API呼び出しの実装詳細。
+ *
+ * 方針:
+ * - バルクヘッド: 同時呼び出し数を制限し、上限に達したら待たずに拒否する
+ *   （ユーザー検証APIが遅くなってもTomcatのスレッドを使い切らない）。許可は外部APIへのHTTP呼び出し1回ごとに取る
+ * - サーキットブレーカー: 失敗率・遅い呼び出しの割合が閾値を超えたら一定時間呼び出さずに拒否する
+ * - リトライ予算: 失敗時のリトライは RetryBudget の範囲内のみ（障害中にリトライで負荷を増やさない）
+ * - 拒否した場合は UserValidationUnavailableException（呼び出し元で503に変換する）
+ */
+public class ResilientUserValidationClient implements UserValidationClient {
+
+    private final UserValidationClient delegate;
+    private final boolean batchEndpoint;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final RetryBudget retryBudget;
+    private final int maxAttempts;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadRejections;
+    private final Counter retries;
+    private final Counter retryBudgetExhausted;
+
+    public ResilientUserValidationClient(
+            UserValidationClient delegate,
+            boolean batchEndpoint,
+            CircuitBreaker circuitBreaker,
+            Bulkhead bulkhead,
+            RetryBudget retryBudget,
+            int maxAttempts,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.batchEndpoint = batchEndpoint;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.retryBudget = retryBudget;
+        this.maxAttempts = maxAttempts;
+        this.circuitOpenRejections = rejectionCounter(meterRegistry, "circuit_open");
+        this.bulkheadRejections = rejectionCounter(meterRegistry, "bulkhead_full");
+        this.retries = retryCounter(meterRegistry, "attempted");
+        this.retryBudgetExhausted = retryCounter(meterRegistry, "budget_exhausted");
+    }
+
+    @Override
+    public boolean existsUser(String userId) {
+        return call(() -> delegate.existsUser(userId), result -> false);
+    }
+
+    /**
+     * 非同期版も同じバルクヘッド・サーキットブレーカー・リトライ予算を共有する
+     * （許可は呼び出し開始時に取得し、完了時に返す）
+     */
+    @Override
+    public CompletableFuture<Boolean> existsUserAsync(String userId) {
+        retryBudget.deposit();
+        return callAsync(() -> delegate.existsUserAsync(userId), 1);
+    }
+
+    /**
+     * 一括確認
+     * - 委譲先が一括確認APIを使う場合（batchEndpoint）: 1回の呼び出しとして扱う（上限件数ごとのPOSTは順に送るので、
+     *   同時に実行中のHTTP呼び出しは1つ）。結果に含まれないユーザー（確認失敗）がある場合はサーキットブレーカーに失敗として記録する
+     * - 使わない場合: ユーザーごとの existsUserAsync に分けて並列に呼ぶ。委譲先の existsUsers に任せると
+     *   並列のGET全体で許可1つになり、バルクヘッドの上限を超えて呼び出してしまうため。
+     *   許可・サーキットブレーカーへの記録・リトライはユーザー（HTTP呼び出し）ごとに行う
+     */
+    @Override
+    public Map<String, Boolean> existsUsers(Collection<String> userIds) {
+        if (!batchEndpoint) {
+            return UserValidationFanOut.existsUsers(userIds, this::existsUserAsync);
+        }
+        int distinctCount = new HashSet<>(userIds).size();
+        return call(() -> delegate.existsUsers(userIds), result -> result.size() < distinctCount);
+    }
+
+    private <T> T call(Supplier<T> supplier, Predicate<T> partiallyFailed) {
+        retryBudget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return guarded(supplier, partiallyFailed);
+            } catch (UserValidationException e) {
+                if (!shouldRetry(e, attempt)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<Boolean> callAsync(Supplier<CompletableFuture<Boolean>> supplier, int attempt) {
+        return guardedAsync(supplier).exceptionallyCompose(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof UserValidationException validationException && shouldRetry(validationException, attempt)) {
+                return callAsync(supplier, attempt + 1);
+            }
+            return CompletableFuture.failedFuture(cause);
+        });
+    }
+
+    /**
+     * 拒否（UserValidationUnavailableException）はリトライしない。
+     * それ以外の失敗は最大試行回数・リトライ予算の範囲でリトライする。
+     */
+    private boolean shouldRetry(UserValidationException e, int attempt) {
+        if (e instanceof UserValidationUnavailableException || attempt >= maxAttempts) {
+            return false;
+        }
+        if (!retryBudget.tryWithdraw()) {
+            retryBudgetExhausted.increment();
+            return false;
+        }
+        retries.increment();
+        return true;
+    }
+
+    private <T> T guarded(Supplier<T> supplier, Predicate<T> partiallyFailed) {
+        acquirePermissions();
+
+        long startNanos = System.nanoTime();
+        try {
+            T result = supplier.get();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            if (partiallyFailed.test(result)) {
+                circuitBreaker.onError(elapsedNanos, TimeUnit.NANOSECONDS,
+                        new UserValidationException("Some users could not be validated", null));
+            } else {
+                circuitBreaker.onSuccess(elapsedNanos, TimeUnit.NANOSECONDS);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS, e);
+            throw e;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    private CompletableFuture<Boolean> guardedAsync(Supplier<CompletableFuture<Boolean>> supplier) {
+        try {
+            acquirePermissions();
+        } catch (UserValidationUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<Boolean> future;
+        try {
+            future = supplier.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, e) -> {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            bulkhead.onComplete();
+            if (e == null) {
+                circuitBreaker.onSuccess(elapsedNanos, TimeUnit.NANOSECONDS);
+            } else {
+                circuitBreaker.onError(elapsedNanos, TimeUnit.NANOSECONDS,
+                        e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+    }
+
+    private void acquirePermissions() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitOpenRejections.increment();
+            throw new UserValidationUnavailableException("User validation service unavailable: circuit breaker is open");
+        }
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            bulkheadRejections.increment();
+            throw new UserValidationUnavailableException("User validation service unavailable: too many concurrent calls");
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("user.validation.rejections")
+                .description("User validation calls rejected without calling the user service")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static Counter retryCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.validation.retries")
+                .description("User validation retries by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.apipractice.infrastructure.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * リトライ予算
+ * Infrastructure層: リトライの総量を呼び出し数に比例した量に制限する
+ *
+ * 呼び出しごとに depositPerCall 個のトークンを貯め（上限 maxBalance）、リトライ1回につき1個消費する。
+ * 例: depositPerCall = 0.1 なら、リトライは長期的に呼び出し数の10%まで。
+ * 障害時に全呼び出しがリトライして外部APIへの負荷が倍増するのを防ぐ。
+ */
+public class RetryBudget {
+
+    // トークンを1/1000単位の整数で保持する（CASで更新するため）
+    private static final long SCALE = 1000;
+
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public RetryBudget(double depositPerCall, int maxBalance) {
+        this.depositPerCall = Math.round(depositPerCall * SCALE);
+        this.maxBalance = maxBalance * SCALE;
+        this.balance = new AtomicLong(this.maxBalance);
+    }
+
+    /**
+     * 呼び出し1回分のトークンを貯める
+     */
+    public void deposit() {
+        balance.updateAndGet(current -> Math.min(maxBalance, current + depositPerCall));
+    }
+
+    /**
+     * リトライ1回分のトークンを消費する
+     *
+     * @return 予算が残っていてリトライしてよい場合true
+     */
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
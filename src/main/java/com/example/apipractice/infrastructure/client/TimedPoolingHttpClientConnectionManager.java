@@ -0,0 +1,50 @@
+package com.example.apipractice.infrastructure.client;
+
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * コネクション取得待ち時間を計測するコネクションプール
+ * Infrastructure層: 外部API呼び出し用HTTPクライアントのプール
+ *
+ * プールが枯渇すると、リクエストは空きコネクションを待つ（上限は connection-request-timeout）。
+ * 待ち時間をTimerに記録し、ホストごとの上限（max-per-route）が足りているかを判断できるようにする。
+ */
+public class TimedPoolingHttpClientConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer leaseTimer;
+
+    public TimedPoolingHttpClientConnectionManager(Timer leaseTimer) {
+        this.leaseTimer = leaseTimer;
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest leaseRequest = super.lease(id, route, requestTimeout, state);
+        long startNanos = System.nanoTime();
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout)
+                    throws InterruptedException, ExecutionException, TimeoutException {
+                try {
+                    return leaseRequest.get(timeout);
+                } finally {
+                    leaseTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return leaseRequest.cancel();
+            }
+        };
+    }
+}
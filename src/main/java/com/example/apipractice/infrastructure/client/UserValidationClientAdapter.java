@@ -1,6 +1,12 @@
 package com.example.apipractice.infrastructure.client;
 
 import com.example.apipractice.usecase.port.UserValidationClient;
+import io.micrometer.core.annotation.Timed;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -8,6 +14,16 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * ユーザー存在確認APIクライアントの実装
  * Infrastructure層: HTTP通信の技術詳細
@@ -20,21 +36,41 @@ import org.springframework.web.client.RestTemplate;
  * - 200 OK: ユーザー存在
  * - 404 Not Found: ユーザー不在
  * - その他: API呼び出しエラー
+ *
+ * 一括確認API（user.validation.api.batch-url を設定した場合のみ使用）:
+ * - POST {batch-url}  body: {"userIds": ["user1", "user2"]}
+ * - 200 OK: {"existingUserIds": ["user1"]}（含まれないユーザーは不在）
+ * - 未設定の場合は GET /api/users/{userId} を非同期に最大 UserValidationFanOut.PARALLELISM 並列で呼び出す
+ *
+ * existsUserAsync は非同期HTTPクライアント（CloseableHttpAsyncClient）で同じGETを呼び出し、
+ * 応答待ちの間スレッドを占有しない。
  */
 @Component
 public class UserValidationClientAdapter implements UserValidationClient {
 
+    /**
+     * 一括確認APIの1リクエストあたりのユーザー数上限
+     */
+    static final int BATCH_SIZE = 100;
+
     private final RestTemplate restTemplate;
+    private final CloseableHttpAsyncClient httpAsyncClient;
     private final String userApiUrl;
+    private final String batchUrl;
 
     public UserValidationClientAdapter(
             RestTemplate restTemplate,
-            @Value("${user.validation.api.url:http://localhost:8082/api/users}") String userApiUrl) {
+            CloseableHttpAsyncClient httpAsyncClient,
+            @Value("${user.validation.api.url:http://localhost:8082/api/users}") String userApiUrl,
+            @Value("${user.validation.api.batch-url:}") String batchUrl) {
         this.restTemplate = restTemplate;
+        this.httpAsyncClient = httpAsyncClient;
         this.userApiUrl = userApiUrl;
+        this.batchUrl = batchUrl;
     }
 
     @Override
+    @Timed(value = "task.client", extraTags = {"client", "user_validation", "operation", "exists_user"}, histogram = true)
     public boolean existsUser(String userId) {
         try {
             String url = userApiUrl + "/" + userId;
@@ -56,6 +92,109 @@ public class UserValidationClientAdapter implements UserValidationClient {
         }
     }
 
+    /**
+     * コールバックはHTTPクライアントのI/Oスレッドで呼ばれるため、結果の判定だけを行う
+     */
+    @Override
+    @Timed(value = "task.client", extraTags = {"client", "user_validation", "operation", "exists_user_async"}, histogram = true)
+    public CompletableFuture<Boolean> existsUserAsync(String userId) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        SimpleHttpRequest request = SimpleRequestBuilder.get(userApiUrl + "/" + userId).build();
+        httpAsyncClient.execute(request, new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                int status = response.getCode();
+                if (status == HttpStatus.OK.value()) {
+                    // 200 OK: ユーザー存在
+                    future.complete(response.getBodyBytes() != null && response.getBodyBytes().length > 0);
+                } else if (status == HttpStatus.NOT_FOUND.value()) {
+                    // 404 Not Found: ユーザー不在
+                    future.complete(false);
+                } else {
+                    failed(new IllegalStateException("Unexpected status from user API: " + status));
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                // 外部API障害
+                future.completeExceptionally(new UserValidationException(
+                        "Failed to validate user: " + userId,
+                        e
+                ));
+            }
+
+            @Override
+            public void cancelled() {
+                failed(new CancellationException("User API request cancelled"));
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 一括確認APIを使うか（false の場合、existsUsers はユーザーごとのGETに分かれる）
+     */
+    public boolean hasBatchEndpoint() {
+        return batchUrl != null && !batchUrl.isBlank();
+    }
+
+    @Override
+    @Timed(value = "task.client", extraTags = {"client", "user_validation", "operation", "exists_users"}, histogram = true)
+    public Map<String, Boolean> existsUsers(Collection<String> userIds) {
+        if (!hasBatchEndpoint()) {
+            return UserValidationFanOut.existsUsers(userIds, this::existsUserAsync);
+        }
+
+        List<String> distinctUserIds = new ArrayList<>(new HashSet<>(userIds));
+        Map<String, Boolean> results = new HashMap<>();
+        for (int from = 0; from < distinctUserIds.size(); from += BATCH_SIZE) {
+            List<String> chunk = distinctUserIds.subList(from, Math.min(from + BATCH_SIZE, distinctUserIds.size()));
+            Set<String> existing = fetchExistingUserIds(chunk);
+            chunk.forEach(userId -> results.put(userId, existing.contains(userId)));
+        }
+        return results;
+    }
+
+    private Set<String> fetchExistingUserIds(List<String> userIds) {
+        try {
+            BatchUserResponse response = restTemplate.postForObject(
+                    batchUrl, new BatchUserRequest(userIds), BatchUserResponse.class);
+            if (response == null || response.getExistingUserIds() == null) {
+                throw new IllegalStateException("Empty response from batch user API");
+            }
+            return new HashSet<>(response.getExistingUserIds());
+
+        } catch (Exception e) {
+            // 外部API障害: 一括確認全体を失敗とする
+            throw new UserValidationException(
+                    "Failed to validate users: count=" + userIds.size(),
+                    e
+            );
+        }
+    }
+
+    /**
+     * 一括確認リクエスト（外部APIのリクエスト形式）
+     */
+    record BatchUserRequest(List<String> userIds) {
+    }
+
+    /**
+     * 一括確認レスポンス（外部APIのレスポンス形式）
+     */
+    static class BatchUserResponse {
+        private List<String> existingUserIds;
+
+        public List<String> getExistingUserIds() {
+            return existingUserIds;
+        }
+
+        public void setExistingUserIds(List<String> existingUserIds) {
+            this.existingUserIds = existingUserIds;
+        }
+    }
+
     /**
      * ユーザー情報レスポンス（外部APIのレスポンス形式）
      */
@@ -0,0 +1,64 @@
+package com.example.apipractice.infrastructure.client;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * 複数ユーザーの存在確認を1ユーザー1回の非同期呼び出しに分けて並列に行う
+ * Infrastructure層: 一括確認APIが無い場合の existsUsers の実装
+ *
+ * 方針:
+ * - 同時に実行中の呼び出しは最大 PARALLELISM 件（呼び出し元スレッドで許可を待つ）
+ * - 呼び出しは非同期HTTPクライアントで行うため、応答待ちの間スレッドを占有しない
+ * - 確認に失敗したユーザーは結果に含めない
+ */
+final class UserValidationFanOut {
+
+    /**
+     * 同時に問い合わせるユーザー数の上限
+     */
+    static final int PARALLELISM = 8;
+
+    private UserValidationFanOut() {
+    }
+
+    /**
+     * @param userIds    ユーザーID（重複は1回にまとめる）
+     * @param existsUser 1ユーザーの非同期確認
+     * @return ユーザーIDごとの存在有無。確認に失敗したユーザーは含まれない
+     */
+    static Map<String, Boolean> existsUsers(
+            Collection<String> userIds, Function<String, CompletableFuture<Boolean>> existsUser) {
+        Map<String, Boolean> results = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(PARALLELISM);
+        CompletableFuture<?>[] calls = new LinkedHashSet<>(userIds).stream()
+                .map(userId -> {
+                    permits.acquireUninterruptibly();
+                    return start(existsUser, userId).handle((exists, e) -> {
+                        permits.release();
+                        if (exists != null) {
+                            results.put(userId, exists);
+                        }
+                        return null;
+                    });
+                })
+                .toArray(CompletableFuture<?>[]::new);
+        CompletableFuture.allOf(calls).join();
+        return results;
+    }
+
+    // 呼び出し自体が例外を投げた場合も、失敗した Future として扱う（許可を返すため）
+    private static CompletableFuture<Boolean> start(
+            Function<String, CompletableFuture<Boolean>> existsUser, String userId) {
+        try {
+            return existsUser.apply(userId);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
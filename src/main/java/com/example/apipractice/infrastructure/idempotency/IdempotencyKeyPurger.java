@@ -0,0 +1,54 @@
+package com.example.apipractice.infrastructure.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 保持期限を過ぎた冪等キーの削除
+ * Infrastructure層: idempotency_keys の定期メンテナンス
+ *
+ * 方針:
+ * - 1バッチ（最大 batchSize 件）= 1トランザクション。1回の実行で最大 maxBatchesPerRun バッチ
+ *   （大量に溜まっていても1回の削除でロック・undoを抱え込まず、残りは次回に回す）
+ * - 期限切れのキーは claim でも存在しないものとして扱うため、削除の遅れは結果に影響しない
+ */
+public class IdempotencyKeyPurger {
+
+    private final IdempotencyKeyRepositoryAdapter repository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter purgedCounter;
+
+    public IdempotencyKeyPurger(
+            IdempotencyKeyRepositoryAdapter repository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            int batchSize,
+            int maxBatchesPerRun) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.purgedCounter = Counter.builder("task.idempotency.keys.purged")
+                .description("Expired idempotency keys deleted by the purger")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${task.idempotency.purge-interval:1m}")
+    public void purgeExpired() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer purged = transactionTemplate.execute(status -> repository.purgeExpired(batchSize));
+            if (purged == null || purged == 0) {
+                return;
+            }
+            purgedCounter.increment(purged);
+            if (purged < batchSize) {
+                return;
+            }
+        }
+    }
+}
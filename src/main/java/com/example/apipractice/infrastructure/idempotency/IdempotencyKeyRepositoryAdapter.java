@@ -0,0 +1,221 @@
+package com.example.apipractice.infrastructure.idempotency;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.usecase.port.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * IdempotencyKeyRepositoryポートの実装（idempotency_keys テーブル）
+ * Infrastructure層: JDBCでの読み書き
+ *
+ * 方針:
+ * - claim は主キーのINSERT（state = IN_PROGRESS、lease_expires_at = 現在 + lease）を独立した短いトランザクション
+ *   （REQUIRES_NEW）でコミットする。タスク作成のトランザクション・DB接続は、キーの登録を待たずに済む
+ * - 同じキーが処理中（リースの期限内）の場合は待たずに KeyInFlightException（完了を待つ場合は呼び出し元が
+ *   トランザクションの外で claim をやり直す）。INSERTが待つのは他の claim の短いトランザクションの間だけ
+ * - リースの期限を過ぎた処理中のキー（処理したノードの停止など）は、条件付きUPDATEで1つのリクエストだけが引き継ぐ
+ * - 登録・引き継ぎのたびに claim_token を書き込み、complete・release は claim_token が一致する行だけを更新・削除する
+ *   （リースの期限後に引き継がれたキーを、元のリクエストが完了・削除しない。0件なら KeyInFlightException・何もしない）
+ * - complete はタスク作成と同じトランザクションで state = COMPLETED と結果を書く（タスクとキーの結果は一緒にコミットされる）
+ * - 処理が失敗した場合は release で処理中のキーを削除する（独立したトランザクション）
+ * - 結果は作成時のタスクをJSONで保存する（後からタスクが完了しても、返すのは最初のレスポンスと同じ内容）
+ * - 保持期限を過ぎたキーは存在しないものとして扱い、削除は IdempotencyKeyPurger が行う
+ */
+public class IdempotencyKeyRepositoryAdapter implements IdempotencyKeyRepository {
+
+    private static final String COMPLETED = "COMPLETED";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO idempotency_keys (idempotency_key, fingerprint, state, claim_token, lease_expires_at, expires_at)
+            VALUES (?, ?, 'IN_PROGRESS', ?, ?, ?)""";
+
+    private static final String SELECT_SQL = """
+            SELECT fingerprint, state, response_body, lease_expires_at, expires_at
+            FROM idempotency_keys
+            WHERE idempotency_key = ?""";
+
+    // リースの期限を過ぎた処理中のキーを引き継ぐ（同時に引き継げるのは1つだけ）
+    private static final String TAKE_OVER_SQL = """
+            UPDATE idempotency_keys SET claim_token = ?, lease_expires_at = ?
+            WHERE idempotency_key = ? AND state = 'IN_PROGRESS' AND lease_expires_at <= ?""";
+
+    private static final String COMPLETE_SQL = """
+            UPDATE idempotency_keys
+            SET state = 'COMPLETED', task_id = ?, response_body = ?, claim_token = NULL, lease_expires_at = NULL
+            WHERE idempotency_key = ? AND state = 'IN_PROGRESS' AND claim_token = ?""";
+
+    private static final String RELEASE_SQL = """
+            DELETE FROM idempotency_keys
+            WHERE idempotency_key = ? AND state = 'IN_PROGRESS' AND claim_token = ?""";
+
+    private static final String DELETE_EXPIRED_KEY_SQL = """
+            DELETE FROM idempotency_keys
+            WHERE idempotency_key = ? AND expires_at <= ?""";
+
+    // ROWNUM で1回の削除件数を制限する（undo・ロック保持時間を一定に保つ）
+    private static final String PURGE_SQL = """
+            DELETE FROM idempotency_keys
+            WHERE expires_at <= ? AND ROWNUM <= ?""";
+
+    private static final RowMapper<StoredKey> STORED_KEY_ROW_MAPPER = (rs, rowNum) -> new StoredKey(
+            rs.getString("fingerprint"),
+            rs.getString("state"),
+            rs.getString("response_body"),
+            rs.getObject("lease_expires_at", LocalDateTime.class),
+            rs.getObject("expires_at", LocalDateTime.class)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    // claim・release 用（呼び出し元のトランザクションとは別にすぐコミットする）
+    private final TransactionTemplate requiresNew;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Duration lease;
+
+    public IdempotencyKeyRepositoryAdapter(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                           ObjectMapper objectMapper, Duration retention, Duration lease) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.lease = lease;
+    }
+
+    @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "idempotency_claim"}, histogram = true)
+    public Optional<Task> claim(String key, String fingerprint, String claimToken) {
+        return requiresNew.execute(status -> claimInTransaction(key, fingerprint, claimToken));
+    }
+
+    private Optional<Task> claimInTransaction(String key, String fingerprint, String claimToken) {
+        // 期限切れの行を消して登録し直す場合があるため、最大2回
+        for (int attempt = 0; attempt < 2; attempt++) {
+            LocalDateTime now = LocalDateTime.now();
+            if (tryInsert(key, fingerprint, claimToken, now.plus(lease), now.plus(retention))) {
+                return Optional.empty();
+            }
+            List<StoredKey> stored = jdbcTemplate.query(SELECT_SQL, STORED_KEY_ROW_MAPPER, key);
+            if (stored.isEmpty()) {
+                continue;  // INSERT後にパージ・解放された
+            }
+            StoredKey storedKey = stored.get(0);
+            if (!storedKey.expiresAt().isAfter(now)) {
+                jdbcTemplate.update(DELETE_EXPIRED_KEY_SQL, key, now);
+                continue;
+            }
+            if (!storedKey.fingerprint().equals(fingerprint)) {
+                throw new KeyReusedException(
+                        "Idempotency-Key was already used for a different request: key=" + key);
+            }
+            if (COMPLETED.equals(storedKey.state())) {
+                return Optional.of(readTask(storedKey.responseBody()));
+            }
+            if (storedKey.leaseExpiresAt().isAfter(now)) {
+                throw new KeyInFlightException("Request with the same Idempotency-Key is still in progress: key=" + key, null);
+            }
+            if (jdbcTemplate.update(TAKE_OVER_SQL, claimToken, now.plus(lease), key, now) == 1) {
+                return Optional.empty();
+            }
+        }
+        throw new KeyInFlightException("Idempotency-Key is being processed concurrently: key=" + key, null);
+    }
+
+    @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "idempotency_find"}, histogram = true)
+    public Optional<Task> findCompleted(String key, String fingerprint) {
+        List<StoredKey> stored = jdbcTemplate.query(SELECT_SQL, STORED_KEY_ROW_MAPPER, key);
+        if (stored.isEmpty() || !stored.get(0).expiresAt().isAfter(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        StoredKey storedKey = stored.get(0);
+        if (!storedKey.fingerprint().equals(fingerprint)) {
+            throw new KeyReusedException("Idempotency-Key was already used for a different request: key=" + key);
+        }
+        return COMPLETED.equals(storedKey.state()) ? Optional.of(readTask(storedKey.responseBody())) : Optional.empty();
+    }
+
+    @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "idempotency_complete"}, histogram = true)
+    public void complete(String key, String claimToken, Task task) {
+        StoredTask stored = new StoredTask(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getCreatedAt(), task.getUpdatedAt(), task.getVersion());
+        String responseBody;
+        try {
+            responseBody = objectMapper.writeValueAsString(stored);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize task for Idempotency-Key: key=" + key, e);
+        }
+        if (jdbcTemplate.update(COMPLETE_SQL, task.getId(), responseBody, key, claimToken) == 0) {
+            throw new KeyInFlightException("Idempotency-Key is no longer held by this request: key=" + key, null);
+        }
+    }
+
+    @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "idempotency_release"}, histogram = true)
+    public void release(String key, String claimToken) {
+        requiresNew.executeWithoutResult(status -> jdbcTemplate.update(RELEASE_SQL, key, claimToken));
+    }
+
+    /**
+     * 保持期限を過ぎたキーを最大 batchSize 件削除する（呼び出し元のトランザクションに参加）
+     * @return 削除した件数
+     */
+    public int purgeExpired(int batchSize) {
+        return jdbcTemplate.update(PURGE_SQL, LocalDateTime.now(), batchSize);
+    }
+
+    private boolean tryInsert(String key, String fingerprint, String claimToken,
+                              LocalDateTime leaseExpiresAt, LocalDateTime expiresAt) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, key, fingerprint, claimToken, leaseExpiresAt, expiresAt);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private Task readTask(String responseBody) {
+        try {
+            StoredTask stored = objectMapper.readValue(responseBody, StoredTask.class);
+            return Task.restore(stored.id(), stored.title(), stored.description(), stored.status(),
+                    stored.createdAt(), stored.updatedAt(), stored.version());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored task for Idempotency-Key", e);
+        }
+    }
+
+    record StoredKey(
+            String fingerprint,
+            String state,
+            String responseBody,
+            LocalDateTime leaseExpiresAt,
+            LocalDateTime expiresAt) {
+    }
+
+    // 作成時のタスク（response_body のJSON）
+    record StoredTask(
+            Long id,
+            String title,
+            String description,
+            TaskStatus status,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Long version) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.apipractice.infrastructure.outbox;
+
+import com.example.apipractice.usecase.port.NotificationClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 通知アウトボックスのディスパッチャ
+ * Infrastructure層: アウトボックスの送信待ちイベントを通知APIへ送る
+ *
+ * 方針:
+ * - 1バッチを3段階で処理する。DB接続と行ロックを持つのは前後の短いトランザクションだけ
+ *   1. 取得（トランザクション）: FOR UPDATE SKIP LOCKED で行を取得し、SENDING（lease の間は他ノードが取得しない）にしてコミット
+ *   2. 送信（トランザクション外）: 通知APIを呼ぶ（遅くてもDB接続を保持しない）
+ *   3. 反映（トランザクション）: 成功した行を削除し、失敗した行を再送予定・DEAD にする
+ * - 送信成功: 行を削除 / 失敗: 指数バックオフで再送予定 / 最大試行回数超過: DEAD（デッドレター）
+ * - 送信後・反映前に落ちた場合は lease の期限後に再送される（at-least-once）。受信側はtaskIdで重複を判定すること
+ * - lease はバッチ全体の送信時間（batchSize × 通知APIのタイムアウト）より長くすること
+ */
+public class NotificationOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    // last_error 列の長さ（VARCHAR2(1000)、バイト単位のため UTF-8 のバイト数で切り詰める）
+    private static final int MAX_ERROR_BYTES = 1000;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationClient notificationSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+
+    public NotificationOutboxDispatcher(
+            NotificationOutboxRepository outboxRepository,
+            NotificationClient notificationSender,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            int batchSize,
+            int maxBatchesPerRun,
+            int maxAttempts,
+            Duration lease,
+            Duration initialBackoff,
+            Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.notificationSender = notificationSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.sentCounter = outcomeCounter(meterRegistry, "sent");
+        this.retryCounter = outcomeCounter(meterRegistry, "retry");
+        this.deadCounter = outcomeCounter(meterRegistry, "dead");
+    }
+
+    /**
+     * 送信待ちイベントを送信する
+     * バッチが満杯の間は続けて処理する（1回の実行で最大 maxBatchesPerRun バッチ）。
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:1s}")
+    public void dispatchPending() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int dispatched = dispatchBatch();
+            if (dispatched < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int dispatchBatch() {
+        // 1. 取得
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        // 2. 送信（トランザクション外）
+        List<Long> sentIds = new ArrayList<>(events.size());
+        List<Failure> failures = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            try {
+                notificationSender.notifyTaskCreated(event.taskId(), event.title());
+                sentIds.add(event.id());
+            } catch (RuntimeException e) {
+                failures.add(new Failure(event, e));
+            }
+        }
+
+        // 3. 反映
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                outboxRepository.deleteAll(sentIds);
+            }
+            failures.forEach(failure -> recordFailure(failure.event(), failure.cause()));
+        });
+        sentCounter.increment(sentIds.size());
+        return events.size();
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        List<OutboxEvent> events = outboxRepository.lockDueEvents(batchSize);
+        if (!events.isEmpty()) {
+            outboxRepository.markSending(events.stream().map(OutboxEvent::id).toList(), lease.toSeconds());
+        }
+        return events;
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException e) {
+        int attempts = event.attempts() + 1;
+        String error = truncate(e.getCause() != null ? e.getCause().toString() : e.toString());
+        if (attempts >= maxAttempts) {
+            outboxRepository.markDead(event.id(), attempts, error);
+            deadCounter.increment();
+            log.warn("Notification dead-lettered: outboxId={}, taskId={}, attempts={}, error={}",
+                    event.id(), event.taskId(), attempts, error);
+            return;
+        }
+        outboxRepository.scheduleRetry(event.id(), attempts, backoff(attempts).toSeconds(), error);
+        retryCounter.increment();
+    }
+
+    /**
+     * 指数バックオフ（initialBackoff × 2^(attempts-1)、上限 maxBackoff）
+     */
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    /**
+     * UTF-8 で MAX_ERROR_BYTES 以下になるように切り詰める（サロゲートペアは分割しない）
+     * 超えると失敗の記録自体が ORA-12899 になり、送信済みのイベントまで再送されるため。
+     */
+    private static String truncate(String message) {
+        if (message.length() * 3 <= MAX_ERROR_BYTES) {
+            return message;
+        }
+        int bytes = 0;
+        for (int i = 0; i < message.length(); ) {
+            int codePoint = message.codePointAt(i);
+            bytes += codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (bytes > MAX_ERROR_BYTES) {
+                return message.substring(0, i);
+            }
+            i += Character.charCount(codePoint);
+        }
+        return message;
+    }
+
+    private record Failure(OutboxEvent event, RuntimeException cause) {
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notification.outbox.dispatched")
+                .description("Notification outbox events by dispatch outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
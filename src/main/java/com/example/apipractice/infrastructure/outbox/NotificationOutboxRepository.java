@@ -0,0 +1,139 @@
+package com.example.apipractice.infrastructure.outbox;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * 通知アウトボックス（notification_outbox）へのアクセス
+ * Infrastructure層: JDBCでの読み書き
+ *
+ * 状態遷移:
+ * - PENDING: 送信待ち（next_attempt_at 以降に送信）
+ * - SENDING: ディスパッチャが送信中（next_attempt_at はリースの期限。期限を過ぎたら再び送信対象になる）
+ * - 送信成功: 行を削除 / 送信失敗: PENDING に戻す
+ * - DEAD: 最大試行回数を超えた（自動では再送しない）
+ */
+@Repository
+public class NotificationOutboxRepository {
+
+    static final String EVENT_TASK_CREATED = "TASK_CREATED";
+
+    private static final RowMapper<OutboxEvent> EVENT_ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getLong("task_id"),
+            rs.getString("title"),
+            rs.getInt("attempts")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public NotificationOutboxRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * タスク作成イベントを書き込む（呼び出し元のトランザクションに参加）
+     * 件数分のINSERTを1回のJDBCバッチで送信する。
+     */
+    public void appendTaskCreated(List<OutboxEvent> events) {
+        SqlParameterSource[] params = events.stream()
+                .map(event -> new MapSqlParameterSource()
+                        .addValue("eventType", EVENT_TASK_CREATED)
+                        .addValue("taskId", event.taskId())
+                        .addValue("title", event.title()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO notification_outbox (event_type, task_id, title)
+                VALUES (:eventType, :taskId, :title)
+                """, params);
+    }
+
+    /**
+     * 送信時刻を過ぎたイベント（リース切れの SENDING を含む）を最大 batchSize 件ロックして取得する
+     * 他ノードがロック中の行は読み飛ばす（SKIP LOCKED）。
+     * OracleはSKIP LOCKEDとFETCH FIRSTを併用できないため、カーソルから batchSize 行だけフェッチする
+     * （SKIP LOCKEDの行ロックはフェッチ時に取得される）。
+     * 呼び出し元のトランザクション内で呼ぶこと。ロックはコミットまで保持される。
+     */
+    public List<OutboxEvent> lockDueEvents(int batchSize) {
+        return jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                    SELECT id, task_id, title, attempts
+                    FROM notification_outbox
+                    WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= SYSTIMESTAMP
+                    FOR UPDATE SKIP LOCKED
+                    """);
+            ps.setFetchSize(batchSize);
+            ps.setMaxRows(batchSize);
+            return ps;
+        }, EVENT_ROW_MAPPER);
+    }
+
+    /**
+     * ロックしたイベントを送信中にし、leaseSeconds 秒の間は他のディスパッチャが取得しないようにする
+     * lockDueEvents と同じトランザクションで呼ぶこと（コミットで行ロックを解放し、送信はその後に行う）
+     */
+    public void markSending(List<Long> ids, long leaseSeconds) {
+        jdbcTemplate.update("""
+                UPDATE notification_outbox
+                SET status = 'SENDING',
+                    next_attempt_at = SYSTIMESTAMP + NUMTODSINTERVAL(:leaseSeconds, 'SECOND'),
+                    updated_at = SYSTIMESTAMP
+                WHERE id IN (:ids)
+                """, new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("leaseSeconds", leaseSeconds));
+    }
+
+    /**
+     * 送信済みイベントを削除する
+     */
+    public void deleteAll(List<Long> ids) {
+        SqlParameterSource[] params = ids.stream()
+                .map(id -> new MapSqlParameterSource("id", id))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("DELETE FROM notification_outbox WHERE id = :id", params);
+    }
+
+    /**
+     * 送信失敗を記録し、delaySeconds 秒後に再送する
+     */
+    public void scheduleRetry(Long id, int attempts, long delaySeconds, String error) {
+        jdbcTemplate.update("""
+                UPDATE notification_outbox
+                SET status = 'PENDING',
+                    attempts = :attempts,
+                    next_attempt_at = SYSTIMESTAMP + NUMTODSINTERVAL(:delaySeconds, 'SECOND'),
+                    last_error = :error,
+                    updated_at = SYSTIMESTAMP
+                WHERE id = :id
+                """, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("attempts", attempts)
+                .addValue("delaySeconds", delaySeconds)
+                .addValue("error", error));
+    }
+
+    /**
+     * 送信失敗を記録し、再送を打ち切る（デッドレター）
+     */
+    public void markDead(Long id, int attempts, String error) {
+        jdbcTemplate.update("""
+                UPDATE notification_outbox
+                SET status = 'DEAD',
+                    attempts = :attempts,
+                    last_error = :error,
+                    updated_at = SYSTIMESTAMP
+                WHERE id = :id
+                """, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("attempts", attempts)
+                .addValue("error", error));
+    }
+}
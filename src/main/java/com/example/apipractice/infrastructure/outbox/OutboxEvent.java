@@ -0,0 +1,9 @@
+package com.example.apipractice.infrastructure.outbox;
+
+/**
+ * アウトボックスから取り出した送信待ちの通知イベント
+ *
+ * @param attempts これまでの送信失敗回数
+ */
+public record OutboxEvent(Long id, Long taskId, String title, int attempts) {
+}
@@ -0,0 +1,62 @@
+package com.example.apipractice.infrastructure.outbox;
+
+import com.example.apipractice.usecase.port.NotificationClient;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NotificationClientポートのアウトボックス実装
+ * Infrastructure層: 通知をその場で送らず、アウトボックスに書き込む
+ *
+ * 配置理由: 送信方式（同期HTTP / アウトボックス経由）はインフラの実装詳細。
+ * Usecaseは通知の依頼だけを行い、送信は NotificationOutboxDispatcher が行う。
+ *
+ * 方針:
+ * - トランザクション内では同じトランザクションのイベントをまとめ、コミット直前に1回のJDBCバッチで書き込む
+ *   （タスクのINSERTと同時にコミットされ、ロールバック時は通知も残らない）
+ * - タスク作成のレイテンシは通知APIに依存しない
+ */
+public class OutboxNotificationClient implements NotificationClient {
+
+    private final NotificationOutboxRepository outboxRepository;
+
+    public OutboxNotificationClient(NotificationOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    @Override
+    public void notifyTaskCreated(Long taskId, String title) {
+        OutboxEvent event = new OutboxEvent(null, taskId, title, 0);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxRepository.appendTaskCreated(List.of(event));
+            return;
+        }
+        pendingEvents().add(event);
+    }
+
+    // 現在のトランザクションで書き込み待ちのイベント（初回呼び出し時にコミット前の書き込みを登録）
+    @SuppressWarnings("unchecked")
+    private List<OutboxEvent> pendingEvents() {
+        List<OutboxEvent> events = (List<OutboxEvent>) TransactionSynchronizationManager.getResource(this);
+        if (events != null) {
+            return events;
+        }
+        List<OutboxEvent> newEvents = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, newEvents);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                outboxRepository.appendTaskCreated(newEvents);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OutboxNotificationClient.this);
+            }
+        });
+        return newEvents;
+    }
+}
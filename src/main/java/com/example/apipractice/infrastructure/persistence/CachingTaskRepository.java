@@ -0,0 +1,301 @@
+package com.example.apipractice.infrastructure.persistence;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.usecase.port.TaskListQuery;
+import com.example.apipractice.usecase.port.TaskRepository;
+import com.example.apipractice.usecase.port.TaskRevision;
+import com.example.apipractice.usecase.port.TaskSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * TaskRepositoryポートのキャッシュ付き実装（Decorator）
+ * Infrastructure層: findById の結果をプロセス内にキャッシュする
+ *
+ * 配置理由: キャッシュは永続化の実装詳細。Usecaseはキャッシュの有無を意識しない。
+ *
+ * 方針:
+ * - Caffeine（W-TinyLFU）で容量を「おおよそのバイト数」で制限する
+ * - 保存時はコミット後にキャッシュを更新する（ロールバックされた値は載せない）
+ * - キャッシュへの書き込みは version（更新ごとに+1）が大きい方を優先する
+ *   （古い値を読んだロードや、コミット順と逆順に届いた更新で新しい値を上書きしない。
+ *   updatedAt は同じ時刻の更新・ノード間の時計のずれ・一括更新での同じ日時の再利用で順序を表せないため使わない）
+ * - 一括完了は完了後の本文を持たないため、コミット後にエントリを破棄し「完了後のバージョン」を残す。
+ *   コミット前に読んだ古い値のロードが破棄の後に届いても、このバージョン未満の値は載せない
+ * - 他ノードでの更新は expireAfterWrite で反映される
+ * - キャッシュにはスナップショットを保持し、呼び出し元には毎回新しいTaskを返す
+ *   （呼び出し元がTaskを変更してもキャッシュは汚れない）
+ * - DBからのロードはキャッシュのロック外で行う。LoadingCache.get はConcurrentHashMapの
+ *   synchronized区間内でローダーを実行するため、仮想スレッドではDB I/Oの間キャリアスレッドを占有（pinning）する。
+ *   同じIDの同時ミスは重複してロードされうるが、書き込みは version が大きい方を優先するので結果は変わらない
+ */
+public class CachingTaskRepository implements TaskRepository {
+
+    static final String CACHE_NAME = "tasks";
+
+    private final TaskRepository delegate;
+    private final Cache<Long, Snapshot> cache;
+    // 一括完了後のバージョン（ID → これ未満のバージョンはキャッシュに載せない）。
+    // 実行中のロードより長く残ればよいので、期限はキャッシュと同じにする
+    private final Cache<Long, Long> minimumVersions;
+    // ロードはキャッシュの外で行うため、ロード時間・失敗は自前で記録する
+    private final StatsCounter statsCounter = new ConcurrentStatsCounter();
+
+    public CachingTaskRepository(
+            TaskRepository delegate,
+            long maximumWeightBytes,
+            Duration expireAfterWrite,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeightBytes)
+                .weigher((Long id, Snapshot snapshot) -> snapshot.weight())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats(() -> statsCounter)
+                .build();
+        this.minimumVersions = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Task save(Task task) {
+        Task saved = delegate.save(task);
+        cacheAfterCommit(Snapshot.of(saved));
+        return saved;
+    }
+
+    /**
+     * 条件付き完了
+     * 結果に関わらず既存エントリは破棄する（完了できなかった場合の再読み込みで、古いキャッシュではなくDBの状態を見る）。
+     * 完了した場合はコミット後に完了後の値を載せる。
+     */
+    @Override
+    public Optional<Task> complete(Long id, Set<TaskStatus> fromStatuses, Long expectedVersion, LocalDateTime completedAt) {
+        cache.invalidate(id);
+        Optional<Task> completed = delegate.complete(id, fromStatuses, expectedVersion, completedAt);
+        completed.ifPresent(task -> cacheAfterCommit(Snapshot.of(task)));
+        return completed;
+    }
+
+    /**
+     * 一括条件付き完了
+     * 対象IDのエントリを破棄する。更新前の値がコミットまでの間に再ロードされうるため、
+     * 完了したIDはコミット後に完了後のバージョンで締め出す（完了後の値は持っていないので載せない。次の findById でDBから読む）。
+     */
+    @Override
+    public Map<Long, TaskRevision> completeAll(Collection<Long> ids, Set<TaskStatus> fromStatuses, LocalDateTime completedAt) {
+        cache.invalidateAll(ids);
+        Map<Long, TaskRevision> previousRevisions = delegate.completeAll(ids, fromStatuses, completedAt);
+        Map<Long, Long> completedVersions = new HashMap<>(previousRevisions.size());
+        previousRevisions.values().stream()
+                .filter(previous -> fromStatuses.contains(previous.status()))
+                .forEach(previous -> completedVersions.put(previous.id(), previous.version() + 1));
+        fenceAfterCommit(completedVersions);
+        return previousRevisions;
+    }
+
+    /**
+     * 条件指定の一括完了
+     * 対象IDは完了するまでわからないので、完了したIDのエントリを直後に破棄し、コミット後に完了後のバージョンで締め出す。
+     */
+    @Override
+    public List<TaskRevision> completeMatching(
+            Set<TaskStatus> fromStatuses, LocalDateTime createdAfter, LocalDateTime completedAt, int limit) {
+        List<TaskRevision> completed = delegate.completeMatching(fromStatuses, createdAfter, completedAt, limit);
+        Map<Long, Long> completedVersions = new HashMap<>(completed.size());
+        for (TaskRevision revision : completed) {
+            cache.invalidate(revision.id());
+            completedVersions.put(revision.id(), revision.version());
+        }
+        fenceAfterCommit(completedVersions);
+        return completed;
+    }
+
+    /**
+     * 一括作成されたタスクはキャッシュしない（読まれたものだけ載せる）
+     */
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        return delegate.saveAll(tasks);
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        Snapshot cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached.toTask());
+        }
+        Optional<Task> loaded = load(() -> delegate.findById(id));
+        loaded.ifPresent(task -> putIfNewer(Snapshot.of(task)));
+        return loaded;
+    }
+
+    /**
+     * キャッシュにあればスナップショットから返す。無い場合はDBから取得するがキャッシュには載せない（本文を持たないため）
+     */
+    @Override
+    public Optional<TaskRevision> findRevisionById(Long id) {
+        Snapshot cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached.toRevision());
+        }
+        return delegate.findRevisionById(id);
+    }
+
+    /**
+     * キャッシュにあるものはキャッシュから、無いものだけをまとめてDBから取得する
+     */
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        Map<Long, Snapshot> cached = cache.getAllPresent(ids);
+        List<Task> tasks = new ArrayList<>(ids.size());
+        cached.values().forEach(snapshot -> tasks.add(snapshot.toTask()));
+
+        List<Long> missingIds = ids.stream()
+                .filter(id -> !cached.containsKey(id))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            for (Task loaded : load(() -> delegate.findAllById(missingIds))) {
+                putIfNewer(Snapshot.of(loaded));
+                tasks.add(loaded);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<TaskSummary> findSummaries(TaskListQuery query) {
+        return delegate.findSummaries(query);
+    }
+
+    @Override
+    public void streamAll(TaskStatus status, LocalDateTime createdAfter, Consumer<Task> consumer) {
+        delegate.streamAll(status, createdAfter, consumer);
+    }
+
+    private void cacheAfterCommit(Snapshot snapshot) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            putIfNewer(snapshot);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                putIfNewer(snapshot);
+            }
+        });
+    }
+
+    private void fenceAfterCommit(Map<Long, Long> completedVersions) {
+        if (completedVersions.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            completedVersions.forEach(this::fence);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                completedVersions.forEach(CachingTaskRepository.this::fence);
+            }
+        });
+    }
+
+    // 指定バージョン未満のエントリを破棄し、以降も載せないようにする。
+    // putIfNewer と同じキーの compute 内で行うので、ロードの書き込みと入れ違いにならない
+    private void fence(Long id, Long minimumVersion) {
+        cache.asMap().compute(id, (key, existing) -> {
+            minimumVersions.asMap().merge(key, minimumVersion, Math::max);
+            return existing != null && !existing.isOlderThan(minimumVersion) ? existing : null;
+        });
+    }
+
+    private <T> T load(Supplier<T> loader) {
+        long startNanos = System.nanoTime();
+        try {
+            T loaded = loader.get();
+            statsCounter.recordLoadSuccess(System.nanoTime() - startNanos);
+            return loaded;
+        } catch (RuntimeException e) {
+            statsCounter.recordLoadFailure(System.nanoTime() - startNanos);
+            throw e;
+        }
+    }
+
+    // 既存エントリ・一括完了後のバージョンより古い（version が小さい）値では上書きしない
+    private void putIfNewer(Snapshot candidate) {
+        cache.asMap().compute(candidate.id(), (id, existing) -> {
+            Long minimumVersion = minimumVersions.getIfPresent(id);
+            if (minimumVersion != null && candidate.isOlderThan(minimumVersion)) {
+                return existing;
+            }
+            return existing == null || !candidate.isOlderThan(existing) ? candidate : existing;
+        });
+    }
+
+    /**
+     * キャッシュに保持する不変のスナップショット
+     */
+    private record Snapshot(
+            Long id,
+            String title,
+            String description,
+            TaskStatus status,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            Long version) {
+
+        // オブジェクトヘッダ・フィールド分の概算
+        private static final int BASE_WEIGHT = 128;
+
+        static Snapshot of(Task task) {
+            return new Snapshot(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                    task.getCreatedAt(), task.getUpdatedAt(), task.getVersion());
+        }
+
+        Task toTask() {
+            return Task.restore(id, title, description, status, createdAt, updatedAt, version);
+        }
+
+        // バージョンが不明な場合は新しいものとして扱う
+        boolean isOlderThan(Snapshot other) {
+            return isOlderThan(other.version);
+        }
+
+        boolean isOlderThan(Long otherVersion) {
+            return version != null && otherVersion != null && version < otherVersion;
+        }
+
+        TaskRevision toRevision() {
+            return new TaskRevision(id, status, version, updatedAt);
+        }
+
+        // おおよそのバイト数（文字列は1文字2バイトで概算）
+        int weight() {
+            long chars = (title == null ? 0 : title.length()) + (description == null ? 0 : description.length());
+            return (int) Math.min(Integer.MAX_VALUE, BASE_WEIGHT + chars * 2);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.example.apipractice.infrastructure.persistence;
 
 import com.example.apipractice.core.domain.TaskStatus;
 import jakarta.persistence.*;
+
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 /**
@@ -15,15 +17,38 @@ import java.time.LocalDateTime;
 @Table(name = "tasks")
 public class TaskEntity {
 
+    static final int ID_ALLOCATION_SIZE = 1000;
+
+    // description_text（VARCHAR2(4000 BYTE)）に格納できる最大バイト数（DBの文字コードは AL32UTF8）
+    static final int INLINE_DESCRIPTION_MAX_BYTES = 4000;
+
+    /**
+     * シーケンス採番（V2__create_task_id_sequence.sql, V3__task_id_sequence_block_allocation.sql）
+     * IDENTITYだとHibernateのINSERTバッチが無効になるため、シーケンスでIDを事前確保する。
+     *
+     * pooled-lo: NEXTVALの値を先頭に allocationSize 件のIDをJVM内に予約する。
+     * 予約済みブロックを使い切るまではDBへの問い合わせなしでIDが決まる。
+     * allocationSizeはシーケンスのINCREMENT BYと一致させること。
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_id_seq")
+    @SequenceGenerator(name = "task_id_seq", sequenceName = "task_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
-    @Column(columnDefinition = "TEXT")
-    private String description;
+    /**
+     * 説明（V7__inline_task_description.sql）
+     * 4000バイト以下は行内の VARCHAR2（description_text）、超える場合のみ CLOB（description）に格納する。
+     * 短い説明では CLOB 列が NULL になるため、読み込み時に LOB の読み出し（追加の往復・一時LOB）が発生しない。
+     */
+    @Column(name = "description_text", length = INLINE_DESCRIPTION_MAX_BYTES)
+    private String descriptionText;
+
+    @Lob
+    @Column(name = "description")
+    private String descriptionOverflow;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 50)
@@ -35,13 +60,21 @@ public class TaskEntity {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * 楽観的ロック（V6__add_task_version.sql）
+     * persist 時に 0 が設定される。更新は TaskRepositoryAdapter が WHERE version = 読み込み時の値 付きのUPDATEで行う。
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // JPA用デフォルトコンストラクタ
     protected TaskEntity() {
     }
 
     public TaskEntity(String title, String description, TaskStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.title = title;
-        this.description = description;
+        setDescription(description);
         this.status = status;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
@@ -65,11 +98,28 @@ public class TaskEntity {
     }
 
     public String getDescription() {
-        return description;
+        return descriptionText != null ? descriptionText : descriptionOverflow;
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        boolean inline = description == null || fitsInline(description);
+        this.descriptionText = inline ? description : null;
+        this.descriptionOverflow = inline ? null : description;
+    }
+
+    /**
+     * description_text に格納できるか（UTF-8で4000バイト以下）
+     * UTF-16の1文字はUTF-8で1〜3バイト（サロゲートペアは2文字で4バイト）なので、
+     * 文字数で判定できない範囲だけバイト数を数える。
+     */
+    static boolean fitsInline(String description) {
+        if (description.length() > INLINE_DESCRIPTION_MAX_BYTES) {
+            return false;
+        }
+        if (description.length() * 3 <= INLINE_DESCRIPTION_MAX_BYTES) {
+            return true;
+        }
+        return description.getBytes(StandardCharsets.UTF_8).length <= INLINE_DESCRIPTION_MAX_BYTES;
     }
 
     public TaskStatus getStatus() {
@@ -95,4 +145,12 @@ public class TaskEntity {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -1,10 +1,37 @@
 package com.example.apipractice.infrastructure.persistence;
 
 import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.usecase.port.TaskListQuery;
 import com.example.apipractice.usecase.port.TaskRepository;
+import com.example.apipractice.usecase.port.TaskRevision;
+import com.example.apipractice.usecase.port.TaskSummary;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.CallableStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * TaskRepositoryポートの実装（Adapter）
@@ -16,47 +43,396 @@ import java.util.Optional;
 @Repository
 public class TaskRepositoryAdapter implements TaskRepository {
 
+    // OracleのIN句に指定できる要素数の上限（ORA-01795）
+    static final int IN_CLAUSE_LIMIT = 1000;
+
+    // エクスポート時の1回のフェッチ行数（往復回数とドライバのバッファサイズのバランス）
+    static final int EXPORT_FETCH_SIZE = 1000;
+
+    // 条件付き完了: UPDATE と更新後の値の取得（RETURNING）を1回の往復で行う
+    private static final String COMPLETE_SQL = """
+            BEGIN
+              UPDATE tasks SET status = ?, updated_at = ?, version = version + 1
+              WHERE id = ? AND status IN (%s)%s
+              RETURNING title, description_text, description, created_at, version INTO ?, ?, ?, ?, ?;
+              ? := SQL%%ROWCOUNT;
+            END;""";
+
+    // 一括完了: 判定用に対象行をロックして現在のステータスとバージョンを読む
+    private static final String LOCK_STATUSES_SQL = """
+            SELECT id, status, version, updated_at FROM tasks
+            WHERE id IN (:ids)
+            FOR UPDATE""";
+
+    // 一括完了: 完了可能なものをまとめて更新する
+    private static final String COMPLETE_ALL_SQL = """
+            UPDATE tasks SET status = :done, updated_at = :completedAt, version = version + 1
+            WHERE id IN (:ids) AND status IN (:fromStatuses)""";
+
+    // 条件指定の一括完了: 一致する完了可能な行を指定件数までロックする（%s: 作成日時の下限）
+    private static final String LOCK_MATCHING_SQL = """
+            SELECT id, version FROM tasks
+            WHERE status IN (:fromStatuses)%s AND created_at <= :completedAt AND ROWNUM <= :limit
+            FOR UPDATE""";
+
+    private static final String REVISION_SQL = """
+            SELECT id, status, version, updated_at
+            FROM tasks
+            WHERE id = :id""";
+
+    private static final RowMapper<TaskRevision> REVISION_ROW_MAPPER = (rs, rowNum) -> new TaskRevision(
+            rs.getLong("id"),
+            TaskStatus.valueOf(rs.getString("status")),
+            rs.getLong("version"),
+            rs.getObject("updated_at", LocalDateTime.class)
+    );
+
+    private static final RowMapper<TaskSummary> SUMMARY_ROW_MAPPER = (rs, rowNum) -> new TaskSummary(
+            rs.getLong("id"),
+            rs.getString("title"),
+            TaskStatus.valueOf(rs.getString("status")),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class)
+    );
+
     private final TaskJpaRepository jpaRepository;
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
 
-    public TaskRepositoryAdapter(TaskJpaRepository jpaRepository) {
+    public TaskRepositoryAdapter(
+            TaskJpaRepository jpaRepository,
+            EntityManager entityManager,
+            NamedParameterJdbcTemplate jdbcTemplate) {
         this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
+    /**
+     * 保存（新規作成）
+     * persist + flush。採番されたIDとバージョンを引数のタスクに設定して返す
+     * （INSERTをこのメソッド内で送るので、save の処理時間（task.repository{operation=save}）にINSERTが含まれる。
+     * 複数件をまとめて送る場合は saveAll を使う）。
+     * 既存タスクの変更は完了（条件付きUPDATE）だけなので、IDのあるタスクは受け付けない。
+     */
     @Override
+    @Transactional
+    @Timed(value = "task.repository", extraTags = {"operation", "save"}, histogram = true)
     public Task save(Task task) {
+        if (task.getId() != null) {
+            throw new IllegalArgumentException("Only new tasks can be saved: id=" + task.getId());
+        }
         TaskEntity entity = toEntity(task);
-        TaskEntity saved = jpaRepository.save(entity);
-        return toDomain(saved);
+        entityManager.persist(entity);
+        entityManager.flush();
+        task.setId(entity.getId());
+        task.setVersion(entity.getVersion());
+        return task;
     }
 
     @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "find_by_id"}, histogram = true)
     public Optional<Task> findById(Long id) {
         return jpaRepository.findById(id)
                 .map(this::toDomain);
     }
 
-    // ドメインモデル → JPAエンティティ
+    /**
+     * 状態とバージョンだけの取得（主キー検索、説明の列は読まない）
+     */
+    @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "find_revision_by_id"}, histogram = true)
+    public Optional<TaskRevision> findRevisionById(Long id) {
+        return jdbcTemplate.query(REVISION_SQL, new MapSqlParameterSource("id", id), REVISION_ROW_MAPPER)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * 条件付き完了
+     * 読み込み → 変更 → merge（SELECT 2回 + UPDATE）ではなく、WHERE句に完了可能なステータスを含めた
+     * 1回のUPDATEで判定と更新を行う。同時に完了しようとした場合も更新されるのは1件だけ。
+     */
+    @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "complete"}, histogram = true)
+    public Optional<Task> complete(Long id, Set<TaskStatus> fromStatuses, Long expectedVersion, LocalDateTime completedAt) {
+        if (fromStatuses.isEmpty()) {
+            return Optional.empty();
+        }
+        List<TaskStatus> statuses = List.copyOf(fromStatuses);
+        String sql = COMPLETE_SQL.formatted(
+                String.join(", ", Collections.nCopies(statuses.size(), "?")),
+                expectedVersion != null ? " AND version = ?" : "");
+        int outIndex = 4 + statuses.size() + (expectedVersion != null ? 1 : 0);
+
+        return jdbcTemplate.getJdbcOperations().execute((CallableStatementCreator) connection -> {
+            CallableStatement cs = connection.prepareCall(sql);
+            cs.setString(1, TaskStatus.DONE.name());
+            cs.setObject(2, completedAt);
+            cs.setLong(3, id);
+            for (int i = 0; i < statuses.size(); i++) {
+                cs.setString(4 + i, statuses.get(i).name());
+            }
+            if (expectedVersion != null) {
+                cs.setLong(4 + statuses.size(), expectedVersion);
+            }
+            cs.registerOutParameter(outIndex, Types.VARCHAR);
+            cs.registerOutParameter(outIndex + 1, Types.VARCHAR);
+            cs.registerOutParameter(outIndex + 2, Types.CLOB);
+            cs.registerOutParameter(outIndex + 3, Types.TIMESTAMP);
+            cs.registerOutParameter(outIndex + 4, Types.BIGINT);
+            cs.registerOutParameter(outIndex + 5, Types.INTEGER);
+            return cs;
+        }, (CallableStatement cs) -> {
+            cs.execute();
+            if (cs.getInt(outIndex + 5) == 0) {
+                return Optional.<Task>empty();
+            }
+            // 行内の説明があればCLOBは読まない
+            String description = cs.getString(outIndex + 1);
+            if (description == null) {
+                description = readAndFree(cs.getClob(outIndex + 2));
+            }
+            return Optional.of(Task.restore(
+                    id,
+                    cs.getString(outIndex),
+                    description,
+                    TaskStatus.DONE,
+                    cs.getTimestamp(outIndex + 3).toLocalDateTime(),
+                    completedAt,
+                    cs.getLong(outIndex + 4)));
+        });
+    }
+
+    /**
+     * OUTパラメータのCLOBを読み、一時LOBを解放する
+     * （解放しないとセッションの一時表領域に残り、接続がプールに返った後も解放されない）
+     */
+    private static String readAndFree(Clob clob) throws SQLException {
+        if (clob == null) {
+            return null;
+        }
+        try {
+            return clob.getSubString(1, (int) clob.length());
+        } finally {
+            clob.free();
+        }
+    }
+
+    /**
+     * 一括条件付き完了
+     * IN句の上限ごとに、対象行のロック付きSELECT（id, status のみ）と set-based UPDATE の2文で処理する。
+     * ロックにより、読んだステータスと UPDATE の判定が食い違わない（更新前の状態とバージョンで結果を判定できる）。
+     */
+    @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "complete_all"}, histogram = true)
+    public Map<Long, TaskRevision> completeAll(Collection<Long> ids, Set<TaskStatus> fromStatuses, LocalDateTime completedAt) {
+        // ロックの取得順をそろえてデッドロックを起こしにくくする
+        List<Long> idList = ids.stream().distinct().sorted().toList();
+        List<String> statusNames = fromStatuses.stream().map(TaskStatus::name).toList();
+        Map<Long, TaskRevision> previousRevisions = new HashMap<>(idList.size());
+        for (int from = 0; from < idList.size(); from += IN_CLAUSE_LIMIT) {
+            List<Long> chunk = idList.subList(from, Math.min(from + IN_CLAUSE_LIMIT, idList.size()));
+
+            List<Long> completableIds = new ArrayList<>(chunk.size());
+            jdbcTemplate.query(LOCK_STATUSES_SQL, new MapSqlParameterSource("ids", chunk), (RowCallbackHandler) rs -> {
+                TaskRevision revision = REVISION_ROW_MAPPER.mapRow(rs, 0);
+                previousRevisions.put(revision.id(), revision);
+                if (fromStatuses.contains(revision.status())) {
+                    completableIds.add(revision.id());
+                }
+            });
+
+            if (!completableIds.isEmpty()) {
+                jdbcTemplate.update(COMPLETE_ALL_SQL, new MapSqlParameterSource()
+                        .addValue("done", TaskStatus.DONE.name())
+                        .addValue("completedAt", completedAt)
+                        .addValue("ids", completableIds)
+                        .addValue("fromStatuses", statusNames));
+            }
+        }
+        return previousRevisions;
+    }
+
+    /**
+     * 条件指定の一括完了
+     * 一致する完了可能な行を IN_CLAUSE_LIMIT 件ずつ（limit 件まで）ロックして、IDの指定と同じ set-based UPDATE で完了させる。
+     * 完了した行は条件に一致しなくなるので、続きは同じSELECTを繰り返せばよい（OFFSETは不要）。
+     */
+    @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "complete_matching"}, histogram = true)
+    public List<TaskRevision> completeMatching(
+            Set<TaskStatus> fromStatuses, LocalDateTime createdAfter, LocalDateTime completedAt, int limit) {
+        if (fromStatuses.isEmpty()) {
+            return List.of();
+        }
+        List<String> statusNames = fromStatuses.stream().map(TaskStatus::name).toList();
+        String lockSql = LOCK_MATCHING_SQL.formatted(createdAfter != null ? " AND created_at > :createdAfter" : "");
+        MapSqlParameterSource lockParams = new MapSqlParameterSource()
+                .addValue("fromStatuses", statusNames)
+                .addValue("createdAfter", createdAfter)
+                .addValue("completedAt", completedAt);
+
+        List<TaskRevision> completed = new ArrayList<>(Math.min(limit, IN_CLAUSE_LIMIT));
+        while (completed.size() < limit) {
+            lockParams.addValue("limit", Math.min(IN_CLAUSE_LIMIT, limit - completed.size()));
+            // ロック済みの行は他から変更されないので、完了後のバージョンは読んだバージョンの+1
+            List<TaskRevision> chunk = jdbcTemplate.query(lockSql, lockParams, (rs, rowNum) -> new TaskRevision(
+                    rs.getLong("id"), TaskStatus.DONE, rs.getLong("version") + 1, completedAt));
+            if (chunk.isEmpty()) {
+                return completed;
+            }
+            int updated = jdbcTemplate.update(COMPLETE_ALL_SQL, new MapSqlParameterSource()
+                    .addValue("done", TaskStatus.DONE.name())
+                    .addValue("completedAt", completedAt)
+                    .addValue("ids", chunk.stream().map(TaskRevision::id).toList())
+                    .addValue("fromStatuses", statusNames));
+            completed.addAll(chunk);
+            // ロック済みの行は必ず更新される。されなかった場合に同じ行を読み続けないようにする
+            if (updated < chunk.size()) {
+                return completed;
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * 一括保存
+     * シーケンス採番 + hibernate.jdbc.batch_size により、INSERTはJDBCバッチで送信される。
+     */
+    @Override
+    @Transactional
+    @Timed(value = "task.repository", extraTags = {"operation", "save_all"}, histogram = true)
+    public List<Task> saveAll(List<Task> tasks) {
+        for (Task task : tasks) {
+            TaskEntity entity = toEntity(task);
+            entityManager.persist(entity);
+            task.setId(entity.getId());
+            task.setVersion(entity.getVersion());
+        }
+        return tasks;
+    }
+
+    /**
+     * 複数IDの一括取得
+     * IN句の上限（1000件）ごとに分割し、1チャンク1回のSELECTで取得する。
+     */
+    @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "find_all_by_id"}, histogram = true)
+    public List<Task> findAllById(Collection<Long> ids) {
+        List<Long> idList = List.copyOf(ids);
+        List<Task> tasks = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += IN_CLAUSE_LIMIT) {
+            List<Long> chunk = idList.subList(from, Math.min(from + IN_CLAUSE_LIMIT, idList.size()));
+            jpaRepository.findAllById(chunk).forEach(entity -> tasks.add(toDomain(entity)));
+        }
+        return tasks;
+    }
+
+    /**
+     * タスク一覧（キーセットページング）
+     * OFFSETを使わず「直前ページ最終行の (created_at, id) より後ろ」を検索するため、
+     * 深いページでも先頭ページと同じコスト（V4のカバリングインデックスを範囲スキャン）。
+     * 条件は指定されたものだけをSQLに含める（OR :x IS NULL はインデックスを使えなくするため）。
+     */
+    @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "find_summaries"}, histogram = true)
+    public List<TaskSummary> findSummaries(TaskListQuery query) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, title, status, created_at, updated_at
+                FROM tasks
+                WHERE 1 = 1
+                """);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (query.status() != null) {
+            sql.append(" AND status = :status");
+            params.addValue("status", query.status().name());
+        }
+        if (query.createdAfter() != null) {
+            sql.append(" AND created_at > :createdAfter");
+            params.addValue("createdAfter", query.createdAfter());
+        }
+        if (query.after() != null) {
+            // (created_at, id) > (:cursorCreatedAt, :cursorId) をOracleで書いたもの
+            sql.append(" AND created_at >= :cursorCreatedAt")
+                    .append(" AND (created_at > :cursorCreatedAt OR id > :cursorId)");
+            params.addValue("cursorCreatedAt", query.after().createdAt());
+            params.addValue("cursorId", query.after().id());
+        }
+
+        sql.append(" ORDER BY created_at, id FETCH FIRST :limit ROWS ONLY");
+        params.addValue("limit", query.limit());
+
+        return jdbcTemplate.query(sql.toString(), params, SUMMARY_ROW_MAPPER);
+    }
+
+    /**
+     * 全件ストリーミング読み出し（エクスポート用）
+     * JPAを通さずJDBCで読むため、永続化コンテキストにエンティティが溜まらない。
+     * 前方向のみ・読み取り専用のカーソルをフェッチサイズ単位で読み進めるので、
+     * 件数に関わらずメモリ使用量は一定。
+     */
+    @Override
+    @Timed(value = "task.repository", extraTags = {"operation", "stream_all"}, histogram = true)
+    public void streamAll(TaskStatus status, LocalDateTime createdAfter, Consumer<Task> consumer) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, title, description_text, description, status, created_at, updated_at, version
+                FROM tasks
+                WHERE 1 = 1
+                """);
+        List<Object> args = new ArrayList<>();
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        if (createdAfter != null) {
+            sql.append(" AND created_at > ?");
+            args.add(createdAfter);
+        }
+
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    // ドメインモデル（新規） → JPAエンティティ
     private TaskEntity toEntity(Task task) {
-        TaskEntity entity = new TaskEntity(
+        return new TaskEntity(
                 task.getTitle(),
                 task.getDescription(),
                 task.getStatus(),
                 task.getCreatedAt(),
                 task.getUpdatedAt()
         );
-        if (task.getId() != null) {
-            entity.setId(task.getId());
+    }
+
+    // JDBC結果行 → ドメインモデル
+    private Task mapRow(ResultSet rs) throws SQLException {
+        String description = rs.getString("description_text");
+        if (description == null) {
+            description = rs.getString("description");
         }
-        return entity;
+        return Task.restore(
+                rs.getLong("id"),
+                rs.getString("title"),
+                description,
+                TaskStatus.valueOf(rs.getString("status")),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                rs.getLong("version"));
     }
 
-    // JPAエンティティ → ドメインモデル
+    // JPAエンティティ → ドメインモデル（エンティティは永続化コンテキストから切り離す）
     private Task toDomain(TaskEntity entity) {
-        Task task = Task.create(entity.getTitle(), entity.getDescription());
-        task.setId(entity.getId());
-        task.setStatus(entity.getStatus());
-        task.setCreatedAt(entity.getCreatedAt());
-        task.setUpdatedAt(entity.getUpdatedAt());
-        return task;
+        entityManager.detach(entity);
+        return Task.restore(entity.getId(), entity.getTitle(), entity.getDescription(), entity.getStatus(),
+                entity.getCreatedAt(), entity.getUpdatedAt(), entity.getVersion());
     }
 }
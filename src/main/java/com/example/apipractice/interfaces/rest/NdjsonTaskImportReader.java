@@ -0,0 +1,71 @@
+package com.example.apipractice.interfaces.rest;
+
+import com.example.apipractice.interfaces.rest.dto.CreateTaskRequest;
+import com.example.apipractice.usecase.service.CreateTaskCommand;
+import com.example.apipractice.usecase.service.TaskImportRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * NDJSON（1行1JSON）の入力を1行ずつ CreateTaskCommand に変換するIterator
+ * Interface層: リクエストボディを先読みせず、呼ばれた分だけ読み進める
+ *
+ * 空行は読み飛ばす。JSONとして解析できない行は解析エラーとして返す（処理は継続）。
+ */
+class NdjsonTaskImportReader implements Iterator<TaskImportRecord> {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long lineNumber;
+    private String nextLine;
+
+    NdjsonTaskImportReader(BufferedReader reader, ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader.forType(CreateTaskRequest.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextLine != null) {
+            return true;
+        }
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    nextLine = line;
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public TaskImportRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        nextLine = null;
+        try {
+            CreateTaskRequest request = objectReader.readValue(line);
+            if (request == null) {
+                return TaskImportRecord.unparsable(lineNumber, "Invalid JSON: null");
+            }
+            return TaskImportRecord.parsed(lineNumber,
+                    new CreateTaskCommand(request.getUserId(), request.getTitle(), request.getDescription()));
+        } catch (JsonProcessingException e) {
+            return TaskImportRecord.unparsable(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+}
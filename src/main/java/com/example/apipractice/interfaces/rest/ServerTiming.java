@@ -0,0 +1,87 @@
+package com.example.apipractice.interfaces.rest;
+
+import com.example.apipractice.usecase.service.PhaseTimings;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Server-Timing レスポンスヘッダー
+ * Interface層: TaskService が記録したフェーズごとの処理時間（PhaseTimings）をヘッダーとして返す
+ *
+ * 例: Server-Timing: user;dur=12.345, construct;dur=0.004, db;dur=3.210, notify;dur=0.012, commit;dur=2.105, total;dur=18.020
+ * - 単位はミリ秒。記録されたフェーズだけを出力する
+ * - total は Controller での計測開始から終了まで（トランザクションのコミットを含む）
+ *
+ * 計測するかどうかは mode で決める:
+ * - OFF: 計測しない
+ * - ON_REQUEST: リクエストに X-Server-Timing ヘッダーがある場合だけ計測する
+ * - ALWAYS: 常に計測する
+ */
+public class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+
+    public enum Mode {
+        OFF, ON_REQUEST, ALWAYS
+    }
+
+    private static final PhaseTimings.Phase[] PHASES = PhaseTimings.Phase.values();
+
+    private final Mode mode;
+
+    public ServerTiming(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * 計測を開始する（計測しないリクエストでは PhaseTimings.disabled() を返す）
+     * 戻り値は必ず finish に渡すこと
+     */
+    public PhaseTimings start(HttpServletRequest request) {
+        boolean enabled = switch (mode) {
+            case OFF -> false;
+            case ON_REQUEST -> request.getHeader(REQUEST_HEADER) != null;
+            case ALWAYS -> true;
+        };
+        return enabled ? PhaseTimings.start() : PhaseTimings.disabled();
+    }
+
+    /**
+     * 計測を終了し、Server-Timing ヘッダーを設定する（例外で終わった場合も呼ぶ）
+     */
+    public void finish(PhaseTimings timings, HttpServletResponse response) {
+        timings.close();
+        if (timings.isEnabled() && !response.isCommitted()) {
+            response.setHeader(HEADER, format(timings, timings.elapsedNanos()));
+        }
+    }
+
+    static String format(PhaseTimings timings, long totalNanos) {
+        StringBuilder header = new StringBuilder(128);
+        for (PhaseTimings.Phase phase : PHASES) {
+            if (timings.isRecorded(phase)) {
+                appendMetric(header, phase.metricName(), timings.nanos(phase));
+            }
+        }
+        appendMetric(header, "total", totalNanos);
+        return header.toString();
+    }
+
+    // ミリ秒、小数3桁（String.format を使わない）
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        long micros = Math.max(0, nanos) / 1_000;
+        long fraction = micros % 1_000;
+        header.append(name).append(";dur=").append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            header.append('0');
+        }
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+}
@@ -1,12 +1,59 @@
 package com.example.apipractice.interfaces.rest;
 
 import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.interfaces.rest.dto.BatchCreateTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.BatchCreateTaskResponse;
+import com.example.apipractice.interfaces.rest.dto.BulkCompleteTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.BulkCompleteTaskResponse;
 import com.example.apipractice.interfaces.rest.dto.CreateTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.TaskImportEventResponse;
+import com.example.apipractice.interfaces.rest.dto.TaskLookupRequest;
+import com.example.apipractice.interfaces.rest.dto.TaskLookupResponse;
+import com.example.apipractice.interfaces.rest.dto.TaskPageResponse;
 import com.example.apipractice.interfaces.rest.dto.TaskResponse;
+import com.example.apipractice.interfaces.rest.dto.TaskSummaryResponse;
+import com.example.apipractice.usecase.port.IdempotencyKeyRepository;
+import com.example.apipractice.usecase.port.TaskRepository;
+import com.example.apipractice.usecase.port.TaskRevision;
+import com.example.apipractice.usecase.port.UserValidationClient;
+import com.example.apipractice.usecase.service.AsyncTaskService;
+import com.example.apipractice.usecase.service.CreateTaskCommand;
+import com.example.apipractice.usecase.service.CreateTaskResult;
+import com.example.apipractice.usecase.service.IdempotentTaskService;
+import com.example.apipractice.usecase.service.PhaseTimings;
+import com.example.apipractice.usecase.service.TaskCompletionBatch;
+import com.example.apipractice.usecase.service.TaskCompletionResult;
+import com.example.apipractice.usecase.service.TaskImportListener;
+import com.example.apipractice.usecase.service.TaskImportProgress;
+import com.example.apipractice.usecase.service.TaskImportService;
+import com.example.apipractice.usecase.service.TaskPage;
 import com.example.apipractice.usecase.service.TaskService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Task REST API Controller
@@ -19,42 +66,330 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/tasks")
 public class TaskController {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final TaskService taskService;
+    private final IdempotentTaskService idempotentTaskService;
+    private final AsyncTaskService asyncTaskService;
+    private final TaskImportService taskImportService;
+    private final ObjectMapper objectMapper;
+    private final TaskResponseCache responseCache;
+    private final TaskRateLimits rateLimits;
+    private final ServerTiming serverTiming;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(
+            TaskService taskService,
+            IdempotentTaskService idempotentTaskService,
+            AsyncTaskService asyncTaskService,
+            TaskImportService taskImportService,
+            ObjectMapper objectMapper,
+            TaskResponseCache responseCache,
+            TaskRateLimits rateLimits,
+            ServerTiming serverTiming) {
         this.taskService = taskService;
+        this.idempotentTaskService = idempotentTaskService;
+        this.asyncTaskService = asyncTaskService;
+        this.taskImportService = taskImportService;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
+        this.rateLimits = rateLimits;
+        this.serverTiming = serverTiming;
     }
 
     /**
      * POST /tasks - タスク作成
+     * Idempotency-Key を指定した場合、同じキーの再送（保持期間内）は最初のレスポンスを返し、作成・通知を繰り返さない。
+     * 同じキーのリクエストが処理中の場合は409（Retry-After付き）。同じキーで内容が異なる場合は422。
+     * userId ごとのレート制限を超えた場合は429（Retry-After付き）。保存済みの結果を返す再送は制限の前に判定する
+     * （再送はタスクを作成しないので、トークンを消費させない）。
+     * 計測対象のリクエスト（ServerTiming）には、フェーズごとの処理時間を Server-Timing ヘッダーで返す（エラー時も）。
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public TaskResponse createTask(@Valid @RequestBody CreateTaskRequest request) {
-        Task task = taskService.createTask(
+    public TaskResponse createTask(
+            @Valid @RequestBody CreateTaskRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > IdempotencyKeyRepository.MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException(
+                        IDEMPOTENCY_KEY + " must be 1 to " + IdempotencyKeyRepository.MAX_KEY_LENGTH + " characters");
+            }
+            Optional<Task> replay = idempotentTaskService.findReplay(
+                    idempotencyKey, request.getUserId(), request.getTitle(), request.getDescription());
+            if (replay.isPresent()) {
+                return TaskResponse.from(replay.get());
+            }
+        }
+        rateLimits.acquireCreate(request.getUserId());
+        PhaseTimings timings = serverTiming.start(httpRequest);
+        try {
+            Task task;
+            if (idempotencyKey == null) {
+                task = taskService.createTask(request.getUserId(), request.getTitle(), request.getDescription());
+            } else {
+                task = idempotentTaskService.createTask(
+                        idempotencyKey, request.getUserId(), request.getTitle(), request.getDescription());
+            }
+            responseCache.invalidate(task.getId());
+            return TaskResponse.from(task);
+        } finally {
+            serverTiming.finish(timings, httpResponse);
+        }
+    }
+
+    /**
+     * POST /tasks/async - タスク作成（非同期）
+     * POST /tasks と同じ結果を返すが、ユーザー確認・永続化の間はリクエストスレッドを解放する。
+     * 混雑している場合は 503、userId ごとのレート制限を超えた場合は 429（いずれも Retry-After付き）を返す。
+     */
+    @PostMapping("/async")
+    public CompletableFuture<ResponseEntity<TaskResponse>> createTaskAsync(@Valid @RequestBody CreateTaskRequest request) {
+        rateLimits.acquireCreateAsync(request.getUserId());
+        return asyncTaskService.createTask(
                 request.getUserId(),
                 request.getTitle(),
                 request.getDescription()
+        ).thenApply(task -> {
+            responseCache.invalidate(task.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(TaskResponse.from(task));
+        });
+    }
+
+    /**
+     * POST /tasks/batch - タスク一括作成
+     * 明細ごとの成功/失敗をリクエストと同じ順序で返す
+     */
+    @PostMapping("/batch")
+    public BatchCreateTaskResponse createTasks(@Valid @RequestBody BatchCreateTaskRequest request) {
+        List<CreateTaskCommand> commands = request.getTasks().stream()
+                .map(task -> new CreateTaskCommand(task.getUserId(), task.getTitle(), task.getDescription()))
+                .toList();
+        List<CreateTaskResult> results = taskService.createTasks(commands);
+        responseCache.invalidateAll(results.stream()
+                .filter(CreateTaskResult::isSuccess)
+                .map(result -> result.task().getId())
+                .toList());
+        return BatchCreateTaskResponse.from(results);
+    }
+
+    /**
+     * GET /tasks - タスク一覧（キーセットページング）
+     * 前ページの nextCursor を cursor に指定して次ページを取得する（filterは毎回同じ値を指定）。
+     */
+    @GetMapping
+    public TaskPageResponse listTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String cursor) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        TaskPage page = taskService.listTasks(status, createdAfter, TaskPageCursorCodec.decode(cursor), pageSize);
+        return TaskPageResponse.of(
+                page.items().stream().map(TaskSummaryResponse::from).toList(),
+                TaskPageCursorCodec.encode(page.nextCursor())
         );
-        return TaskResponse.from(task);
+    }
+
+    /**
+     * GET /tasks/export - タスクのエクスポート（NDJSON）
+     * DBから読み出した行を1行ずつJSONにしてそのままレスポンスに書き出す。
+     * 全件をメモリに載せないため、件数に関わらずヒープ使用量は一定。
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ObjectWriter writer = ndjsonWriter(TaskResponse.class);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            taskService.exportTasks(status, createdAfter,
+                    task -> writeLine(generator, writer, TaskResponse.from(task)));
+        }
+    }
+
+    /**
+     * POST /tasks/import - タスクの一括インポート（NDJSON）
+     * リクエストボディを1行ずつ読み、チャンク単位で作成する（チャンクごとにコミット）。
+     * レスポンスもNDJSONで、失敗した行（error）とチャンクごとの進捗（progress）を逐次返し、
+     * 最後に集計（summary）を返す。
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importTasks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ObjectWriter writer = ndjsonWriter(TaskImportEventResponse.class);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            TaskImportProgress summary = taskImportService.importTasks(
+                    new NdjsonTaskImportReader(reader, objectMapper.reader()),
+                    new TaskImportListener() {
+                        @Override
+                        public void onLineFailed(long lineNumber, String message) {
+                            writeLine(generator, writer, TaskImportEventResponse.error(lineNumber, message));
+                        }
+
+                        @Override
+                        public void onProgress(TaskImportProgress progress) {
+                            writeLine(generator, writer, TaskImportEventResponse.progress(progress));
+                            flush(generator);
+                        }
+                    });
+            writeLine(generator, writer, TaskImportEventResponse.summary(summary));
+        }
+    }
+
+    // 1行ごとのflushはしない（バッファが一杯になった時点で送信）
+    private ObjectWriter ndjsonWriter(Class<?> type) {
+        return objectMapper.writerFor(type)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private static void writeLine(JsonGenerator generator, ObjectWriter writer, Object value) {
+        try {
+            writer.writeValue(generator, value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void flush(JsonGenerator generator) {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
      * GET /tasks/{id} - タスク取得
+     * ETag にバージョン（完了時に If-Match に指定できる）、Last-Modified に更新日時を返す。
+     * If-None-Match / If-Modified-Since がある場合は、状態とバージョンだけを読み、現在の値と一致すれば
+     * 304（本文なし）を返す（タスク全体の読み込み・シリアライズをしない）。
+     * 条件付きでない場合はタスクを1回だけ読み、ETag / Last-Modified もそのタスクから求める。
+     * 本文は TaskResponseCache のシリアライズ済みJSONを、バージョンが現在の値と一致する場合にそのまま返す。
      */
     @GetMapping("/{id}")
-    public TaskResponse getTask(@PathVariable Long id) {
-        Task task = taskService.getTask(id);
-        return TaskResponse.from(task);
+    public ResponseEntity<TaskJsonPayload> getTask(@PathVariable Long id, WebRequest request) {
+        if (!isConditional(request)) {
+            Task task = taskService.getTask(id);
+            return okJson(responseCache.get(id, task.getVersion()).orElseGet(() -> serialize(task)));
+        }
+        TaskRevision revision = taskService.getTaskRevision(id);
+        if (request.checkNotModified(TaskETagCodec.encode(revision.version()), toEpochMilli(revision.updatedAt()))) {
+            return null;
+        }
+        return okJson(responseCache.get(id, revision.version())
+                .orElseGet(() -> serialize(taskService.getTask(id))));
+    }
+
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static ResponseEntity<TaskJsonPayload> okJson(TaskJsonPayload payload) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (payload.version() != null) {
+            builder.eTag(TaskETagCodec.encode(payload.version()));
+        }
+        return builder.lastModified(payload.lastModified()).body(payload);
+    }
+
+    // 読み込んだタスク自身のバージョンでキャッシュする（revision の取得後に更新されていても古い本文は残らない）
+    private TaskJsonPayload serialize(Task task) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(TaskResponse.from(task));
+            return responseCache.put(task.getId(), task.getVersion(), toEpochMilli(task.getUpdatedAt()), json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * POST /tasks/lookup - 複数タスクの一括取得
+     * リクエストしたIDの順序で返し、存在しないIDは missingIds に含める
+     */
+    @PostMapping("/lookup")
+    public TaskLookupResponse lookupTasks(@Valid @RequestBody TaskLookupRequest request) {
+        return TaskLookupResponse.from(taskService.getTasks(request.getIds()));
     }
 
     /**
      * POST /tasks/{id}/complete - タスク完了
+     * If-Match を指定した場合は、そのバージョンのときだけ完了する（異なる場合は412）。
+     * 計測対象のリクエストには Server-Timing ヘッダーを返す（POST /tasks と同じ）。
      */
     @PostMapping("/{id}/complete")
-    public TaskResponse completeTask(@PathVariable Long id) {
-        Task task = taskService.completeTask(id);
-        return TaskResponse.from(task);
+    public ResponseEntity<TaskResponse> completeTask(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
+        PhaseTimings timings = serverTiming.start(httpRequest);
+        try {
+            Task task = taskService.completeTask(id, TaskETagCodec.decodeIfMatch(ifMatch));
+            responseCache.invalidate(id);
+            return okWithETag(task);
+        } finally {
+            serverTiming.finish(timings, httpResponse);
+        }
+    }
+
+    /**
+     * POST /tasks/complete - タスク一括完了
+     * ids か条件（status / createdAfter）のどちらかを指定する。
+     * IDごとに completed / already done / not found を返す（完了済み・存在しないIDがあってもエラーにしない）。
+     * 条件の指定では1回に完了させる件数に上限があり、上限に達した場合は hasMore を true にする。
+     */
+    @PostMapping("/complete")
+    public BulkCompleteTaskResponse completeTasks(@Valid @RequestBody BulkCompleteTaskRequest request) {
+        if (request.getIds() != null && request.hasFilter()) {
+            throw new IllegalArgumentException("Specify either ids or a filter (status, createdAfter), not both");
+        }
+        List<TaskCompletionResult> results;
+        boolean hasMore = false;
+        if (request.getIds() != null) {
+            results = taskService.completeTasks(request.getIds());
+        } else if (request.hasFilter()) {
+            TaskCompletionBatch batch = taskService.completeTasks(request.getStatus(), request.getCreatedAfter());
+            results = batch.results();
+            hasMore = batch.hasMore();
+        } else {
+            throw new IllegalArgumentException("Either ids or a filter (status, createdAfter) is required");
+        }
+        responseCache.invalidateAll(results.stream()
+                .filter(result -> result.outcome() == TaskCompletionResult.Outcome.COMPLETED)
+                .map(TaskCompletionResult::id)
+                .toList());
+        return BulkCompleteTaskResponse.from(results, hasMore);
+    }
+
+    private static ResponseEntity<TaskResponse> okWithETag(Task task) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        String eTag = TaskETagCodec.encode(task);
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+        if (task.getUpdatedAt() != null) {
+            builder.lastModified(toEpochMilli(task.getUpdatedAt()));
+        }
+        return builder.body(TaskResponse.from(task));
+    }
+
+    // updatedAt はサーバーのタイムゾーンの日時（LocalDateTime.now()）
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
     /**
@@ -66,18 +401,82 @@ public class TaskController {
         return new ErrorResponse(ex.getMessage());
     }
 
+    @ExceptionHandler(TaskService.VersionMismatchException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ErrorResponse handleVersionMismatch(TaskService.VersionMismatchException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(TaskRepository.ConcurrentUpdateException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConcurrentUpdate(TaskRepository.ConcurrentUpdateException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyRepository.KeyReusedException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public ErrorResponse handleIdempotencyKeyReused(IdempotencyKeyRepository.KeyReusedException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    /**
+     * 同じ Idempotency-Key のリクエストが処理中
+     */
+    @ExceptionHandler(IdempotencyKeyRepository.KeyInFlightException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInFlight(IdempotencyKeyRepository.KeyInFlightException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
     @ExceptionHandler(TaskService.UserNotFoundException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleUserNotFound(TaskService.UserNotFoundException ex) {
         return new ErrorResponse(ex.getMessage());
     }
 
+    /**
+     * ユーザー検証APIの障害・拒否（サーキットブレーカー、同時呼び出し数の上限）
+     * 入力の問題ではないため 503 を返し、クライアントに時間をおいた再試行を促す。
+     */
+    @ExceptionHandler(UserValidationClient.UserValidationException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleUserValidationUnavailable(UserValidationClient.UserValidationException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    /**
+     * 非同期タスク作成の混雑（処理中の件数・永続化待ちの件数の上限）
+     */
+    @ExceptionHandler(AsyncTaskService.TaskCreationBusyException.class)
+    public ResponseEntity<ErrorResponse> handleBusy(AsyncTaskService.TaskCreationBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    /**
+     * ユーザー別のレート制限超過
+     */
+    @ExceptionHandler(UserRateLimiter.RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(UserRateLimiter.RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleBadRequest(IllegalStateException ex) {
         return new ErrorResponse(ex.getMessage());
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleIllegalArgument(IllegalArgumentException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
     // エラーレスポンス用DTO
     public static class ErrorResponse {
         private String message;
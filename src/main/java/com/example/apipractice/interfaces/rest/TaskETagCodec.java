@@ -0,0 +1,52 @@
+package com.example.apipractice.interfaces.rest;
+
+import com.example.apipractice.core.domain.Task;
+
+/**
+ * タスクのETagの文字列変換
+ * Interface層: ETag / If-Match / If-None-Match ヘッダとタスクのバージョン（楽観的ロック）を相互変換する
+ *
+ * 形式: "バージョン"（強いETag）
+ */
+final class TaskETagCodec {
+
+    private static final String ANY = "*";
+
+    private TaskETagCodec() {
+    }
+
+    static String encode(Task task) {
+        return encode(task.getVersion());
+    }
+
+    static String encode(Long version) {
+        if (version == null) {
+            return null;
+        }
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * If-Match を期待するバージョンに変換
+     *
+     * @return 期待するバージョン。指定なし・"*"（任意のバージョン）の場合はnull
+     * @throws IllegalArgumentException 形式が不正な場合（弱いETag、複数指定を含む）
+     */
+    static Long decodeIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (ANY.equals(value)) {
+            return null;
+        }
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid If-Match: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match: " + ifMatch, e);
+        }
+    }
+}
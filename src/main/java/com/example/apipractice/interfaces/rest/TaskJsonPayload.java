@@ -0,0 +1,47 @@
+package com.example.apipractice.interfaces.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * シリアライズ済みのタスクレスポンス（JSON）
+ * Interface層: TaskResponseCache に保持し、TaskJsonPayloadHttpMessageConverter がそのままレスポンスに書き出す
+ *
+ * 本文はヒープ外（direct ByteBuffer）に置く。読み出しは複製したビューで行うため、複数スレッドから同時に書き出せる。
+ */
+public final class TaskJsonPayload {
+
+    private final Long version;
+    private final long lastModified;
+    private final ByteBuffer json;
+
+    TaskJsonPayload(Long version, long lastModified, ByteBuffer json) {
+        this.version = version;
+        this.lastModified = lastModified;
+        this.json = json.asReadOnlyBuffer();
+    }
+
+    public Long version() {
+        return version;
+    }
+
+    // エポックミリ秒（Last-Modified）
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public int length() {
+        return json.remaining();
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        ByteBuffer source = json.duplicate();
+        WritableByteChannel channel = Channels.newChannel(out);
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.apipractice.interfaces.rest;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * シリアライズ済みのタスクレスポンスを、Jacksonを通さずにそのまま書き出すコンバーター
+ * Interface層: 書き出し専用（リクエストボディには使わない）
+ */
+public class TaskJsonPayloadHttpMessageConverter extends AbstractHttpMessageConverter<TaskJsonPayload> {
+
+    public TaskJsonPayloadHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TaskJsonPayload.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected TaskJsonPayload readInternal(Class<? extends TaskJsonPayload> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("TaskJsonPayload cannot be read", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(TaskJsonPayload payload, MediaType contentType) {
+        return (long) payload.length();
+    }
+
+    @Override
+    protected void writeInternal(TaskJsonPayload payload, HttpOutputMessage outputMessage) throws IOException {
+        payload.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.apipractice.interfaces.rest;
+
+import com.example.apipractice.usecase.port.TaskPageCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * ページングカーソルの文字列変換
+ * Interface層: クライアントには中身を意識させない不透明な文字列として渡す
+ *
+ * 形式: Base64URL("created_at|id")
+ */
+final class TaskPageCursorCodec {
+
+    private static final char SEPARATOR = '|';
+
+    private TaskPageCursorCodec() {
+    }
+
+    static String encode(TaskPageCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String raw = cursor.createdAt().toString() + SEPARATOR + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException カーソルが不正な場合
+     */
+    static TaskPageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new TaskPageCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.apipractice.interfaces.rest;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * タスク作成エンドポイントごとのユーザー別レート制限
+ * Interface層: TaskController がService呼び出しの前に userId ごとのトークンを消費する
+ *
+ * 制限を無効にした場合（task.rate-limit.enabled=false）は unlimited()（常に受け付ける）を使う。
+ */
+public class TaskRateLimits {
+
+    private final UserRateLimiter create;
+    private final UserRateLimiter createAsync;
+
+    public TaskRateLimits(UserRateLimiter create, UserRateLimiter createAsync) {
+        this.create = create;
+        this.createAsync = createAsync;
+    }
+
+    public static TaskRateLimits unlimited() {
+        return new TaskRateLimits(null, null);
+    }
+
+    /**
+     * POST /tasks
+     */
+    public void acquireCreate(String userId) {
+        if (create != null) {
+            create.acquire(userId);
+        }
+    }
+
+    /**
+     * POST /tasks/async
+     */
+    public void acquireCreateAsync(String userId) {
+        if (createAsync != null) {
+            createAsync.acquire(userId);
+        }
+    }
+
+    /**
+     * 満杯まで補充されたバケットを削除する
+     */
+    @Scheduled(fixedDelayString = "${task.rate-limit.idle-eviction-interval:30s}")
+    public void evictIdle() {
+        if (create != null) {
+            create.evictIdle();
+        }
+        if (createAsync != null) {
+            createAsync.evictIdle();
+        }
+    }
+}
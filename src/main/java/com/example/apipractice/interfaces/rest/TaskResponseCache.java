@@ -0,0 +1,100 @@
+package com.example.apipractice.interfaces.rest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * シリアライズ済みタスクレスポンスのキャッシュ
+ * Interface層: GET /tasks/{id} のJSONをバイト列のまま保持し、TaskResponse の生成・Jacksonのシリアライズを省く
+ *
+ * 方針:
+ * - 本文はヒープ外（direct ByteBuffer）に置く。ヒープに残るのはエントリごとの小さなオブジェクトだけなので、
+ *   キャッシュを大きくしてもGCの走査対象はほとんど増えない
+ * - 容量は本文の合計バイト数で制限する（Caffeine の weigher）。max-entry-bytes を超える本文はキャッシュしない
+ * - エントリはバージョン付きで、呼び出し元が確認した現在のバージョンと一致する場合だけ返す
+ *   （破棄が漏れても古い本文は返らない）。作成・完了時には明示的にも破棄する
+ * - エビクションされた本文のメモリは ByteBuffer がGCで回収された時点で解放される
+ *   （-XX:MaxDirectMemorySize は maximum-bytes より十分大きくすること）
+ *
+ * メトリクス: cache.*（cache=taskResponses、ヒット率・エビクション）、task.response.cache.bytes（使用バイト数）
+ */
+public class TaskResponseCache {
+
+    static final String CACHE_NAME = "taskResponses";
+
+    private final Cache<Long, TaskJsonPayload> cache;
+    private final int maxEntryBytes;
+    // バージョン不一致をミスとして数えるため、ヒット・ミスは自前で記録する
+    private final StatsCounter statsCounter = new ConcurrentStatsCounter();
+
+    public TaskResponseCache(long maximumBytes, int maxEntryBytes, MeterRegistry meterRegistry) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Long id, TaskJsonPayload payload) -> payload.length())
+                .recordStats(() -> statsCounter)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("task.response.cache.bytes", cache, TaskResponseCache::weightedSize)
+                .description("Off-heap bytes held by cached task response payloads")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("task.response.cache.max.bytes", () -> maximumBytes)
+                .description("Byte budget of the task response payload cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param version 現在のバージョン（これと一致するエントリだけを返す）
+     */
+    public Optional<TaskJsonPayload> get(Long id, Long version) {
+        TaskJsonPayload payload = cache.asMap().get(id);
+        if (payload == null || !payload.version().equals(version)) {
+            statsCounter.recordMisses(1);
+            return Optional.empty();
+        }
+        statsCounter.recordHits(1);
+        return Optional.of(payload);
+    }
+
+    /**
+     * 本文をヒープ外にコピーしてキャッシュする（既存エントリより新しいバージョンの場合のみ置き換える）
+     *
+     * @return キャッシュした（または大きすぎてキャッシュしなかった）本文
+     */
+    public TaskJsonPayload put(Long id, Long version, long lastModified, byte[] json) {
+        if (version == null || json.length > maxEntryBytes) {
+            return new TaskJsonPayload(version, lastModified, ByteBuffer.wrap(json));
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(json.length);
+        buffer.put(json).flip();
+        TaskJsonPayload payload = new TaskJsonPayload(version, lastModified, buffer);
+        cache.asMap().merge(id, payload, (existing, candidate) ->
+                candidate.version() >= existing.version() ? candidate : existing);
+        return payload;
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    private static double weightedSize(Cache<Long, TaskJsonPayload> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+}
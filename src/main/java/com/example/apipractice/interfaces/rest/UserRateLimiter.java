@@ -0,0 +1,220 @@
+package com.example.apipractice.interfaces.rest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * ユーザーごとのレート制限（トークンバケット）
+ * Interface層: 1つのエンドポイントについて、userId ごとに capacity 回までのバースト、
+ * 以降は毎秒 refillPerSecond 回までリクエストを受け付ける
+ *
+ * 方針:
+ * - バケットの状態は「満杯まで補充される時刻」（GCRA の theoretical arrival time）の long 1つ。
+ *   判定と消費は1回の CAS で行い、ロックを取らない（トークン数と最終補充時刻を別々に持つ実装と同じ結果になる）
+ * - バケットは userId のハッシュで stripes 個の ConcurrentHashMap に分散し、容量の上限もストライプごとに持つ
+ *   （全体のカウンタ・ロックを共有しない）
+ * - 満杯まで補充されたバケットは新規作成したものと区別できないため、idle とみなして evictIdle で削除する。
+ *   ストライプが上限に達した場合は、その場で idle なバケットを削除してから追加する。
+ *   idle なバケットが無ければ新しいユーザーを拒否する（消費中のバケットを削除すると、そのユーザーの制限がリセットされ
+ *   ユーザーIDを使い捨てるだけで制限を回避できてしまうため）
+ * - 時刻は System.nanoTime()（単調増加、時計の変更の影響を受けない）
+ *
+ * メトリクス: task.rate.limit.requests{endpoint, outcome=allowed|rejected|full}、task.rate.limit.buckets{endpoint}
+ * （full: バケット数の上限で新しいユーザーを拒否した）
+ * （userId はタグにしない）
+ */
+public class UserRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final String endpoint;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final ConcurrentHashMap<String, Bucket>[] stripes;
+    private final int stripeMask;
+    private final int maxBucketsPerStripe;
+    private final LongSupplier nanoTime;
+    private final Counter allowedCounter;
+    private final Counter rejectedCounter;
+    private final Counter fullCounter;
+
+    public UserRateLimiter(String endpoint, int capacity, double refillPerSecond, int maxUsers,
+                           MeterRegistry meterRegistry) {
+        this(endpoint, capacity, refillPerSecond, maxUsers, meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * @param nanoTime 現在時刻（ナノ秒、単調増加。テストで差し替える）
+     */
+    @SuppressWarnings("unchecked")
+    public UserRateLimiter(String endpoint, int capacity, double refillPerSecond, int maxUsers,
+                           MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        if (capacity < 1 || refillPerSecond <= 0 || maxUsers < 1) {
+            throw new IllegalArgumentException("capacity, refillPerSecond and maxUsers must be positive");
+        }
+        this.endpoint = endpoint;
+        this.emissionIntervalNanos = Math.max(1, Math.round(NANOS_PER_SECOND / refillPerSecond));
+        this.burstNanos = emissionIntervalNanos * capacity;
+        int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+        this.stripes = new ConcurrentHashMap[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.stripeMask = stripeCount - 1;
+        this.maxBucketsPerStripe = Math.max(1, (maxUsers + stripeCount - 1) / stripeCount);
+        this.nanoTime = nanoTime;
+        this.allowedCounter = requestCounter(meterRegistry, endpoint, "allowed");
+        this.rejectedCounter = requestCounter(meterRegistry, endpoint, "rejected");
+        this.fullCounter = requestCounter(meterRegistry, endpoint, "full");
+        Gauge.builder("task.rate.limit.buckets", this, UserRateLimiter::bucketCount)
+                .description("Per-user token buckets currently tracked")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    /**
+     * トークンを1つ消費する
+     * @throws RateLimitExceededException トークンが無い場合
+     */
+    public void acquire(String userId) {
+        long waitNanos = tryAcquire(userId);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+            throw new RateLimitExceededException(
+                    "Rate limit exceeded for user: endpoint=" + endpoint + ", userId=" + userId, retryAfterSeconds);
+        }
+    }
+
+    /**
+     * トークンを1つ消費する
+     * @return 0: 消費した / 正の値: トークンが1つ貯まるまで（バケット数の上限の場合は、いずれかのバケットが
+     *         idle になるまで）の時間（ナノ秒、消費しない）
+     */
+    public long tryAcquire(String userId) {
+        long now = nanoTime.getAsLong();
+        int hash = userId.hashCode();
+        ConcurrentHashMap<String, Bucket> stripe = stripes[(hash ^ (hash >>> 16)) & stripeMask];
+        Bucket bucket = stripe.get(userId);
+        if (bucket == null) {
+            long waitNanos = stripe.size() >= maxBucketsPerStripe ? makeRoom(stripe, now) : 0;
+            if (waitNanos > 0) {
+                fullCounter.increment();
+                return waitNanos;
+            }
+            bucket = stripe.computeIfAbsent(userId, key -> new Bucket(now));
+        }
+        long tat = bucket.tat;
+        while (true) {
+            long newTat = (tat - now > 0 ? tat : now) + emissionIntervalNanos;
+            long excess = newTat - now - burstNanos;
+            if (excess > 0) {
+                rejectedCounter.increment();
+                return excess;
+            }
+            long witness = (long) Bucket.TAT.compareAndExchange(bucket, tat, newTat);
+            if (witness == tat) {
+                allowedCounter.increment();
+                return 0;
+            }
+            tat = witness;
+        }
+    }
+
+    /**
+     * 満杯まで補充されたバケットを削除する（定期実行）
+     * 削除と同時に消費されたバケットは、そのリクエストだけ記録が失われる（満杯だったため判定には影響しない）
+     */
+    public void evictIdle() {
+        long now = nanoTime.getAsLong();
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            stripe.values().removeIf(bucket -> bucket.isIdle(now));
+        }
+    }
+
+    int bucketCount() {
+        int count = 0;
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    /**
+     * idle なバケットだけを削除する（消費中のバケットは削除しない）
+     * @return 0: 空きができた / 正の値: 最初にバケットが idle になるまでの時間（ナノ秒）
+     */
+    private long makeRoom(ConcurrentHashMap<String, Bucket> stripe, long now) {
+        long minWaitNanos = Long.MAX_VALUE;
+        Iterator<Bucket> iterator = stripe.values().iterator();
+        while (iterator.hasNext()) {
+            long waitNanos = iterator.next().tat - now;
+            if (waitNanos <= 0) {
+                iterator.remove();
+            } else {
+                minWaitNanos = Math.min(minWaitNanos, waitNanos);
+            }
+        }
+        if (stripe.size() < maxBucketsPerStripe) {
+            return 0;
+        }
+        // 同時に追加されたバケットだけで埋まった場合
+        return minWaitNanos != Long.MAX_VALUE ? minWaitNanos : emissionIntervalNanos;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String endpoint, String outcome) {
+        return Counter.builder("task.rate.limit.requests")
+                .description("Requests checked by the per-user rate limiter")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // theoretical arrival time（この時刻以降は満杯）
+    static final class Bucket {
+
+        static final VarHandle TAT;
+
+        static {
+            try {
+                TAT = MethodHandles.lookup().findVarHandle(Bucket.class, "tat", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        volatile long tat;
+
+        Bucket(long now) {
+            this.tat = now;
+        }
+
+        boolean isIdle(long now) {
+            return tat - now <= 0;
+        }
+    }
+
+    /**
+     * レート制限超過（retryAfterSeconds 秒後に1回分のトークンが貯まる）
+     */
+    public static class RateLimitExceededException extends RuntimeException {
+
+        private final long retryAfterSeconds;
+
+        public RateLimitExceededException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
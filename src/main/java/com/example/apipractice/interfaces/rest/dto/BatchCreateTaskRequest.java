@@ -0,0 +1,32 @@
+package com.example.apipractice.interfaces.rest.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * タスク一括作成リクエストDTO
+ * Interface層: 外部からの入力データ
+ *
+ * 明細（CreateTaskRequest）の入力チェックはServiceで明細ごとに行う。
+ * ここで@Validを付けると1件の不備でバッチ全体が400になるため付けない。
+ */
+public class BatchCreateTaskRequest {
+
+    public static final int MAX_SIZE = 1000;
+
+    @NotEmpty(message = "Tasks are required")
+    @Size(max = MAX_SIZE, message = "Too many tasks (max " + MAX_SIZE + ")")
+    private List<@NotNull CreateTaskRequest> tasks;
+
+    // Getters and Setters
+    public List<CreateTaskRequest> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<CreateTaskRequest> tasks) {
+        this.tasks = tasks;
+    }
+}
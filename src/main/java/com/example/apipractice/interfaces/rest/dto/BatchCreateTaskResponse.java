@@ -0,0 +1,80 @@
+package com.example.apipractice.interfaces.rest.dto;
+
+import com.example.apipractice.usecase.service.CreateTaskResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * タスク一括作成レスポンスDTO
+ * Interface層: 外部への出力データ
+ *
+ * 明細はリクエストと同じ順序で、成功時はtask、失敗時はerrorを持つ。
+ */
+public class BatchCreateTaskResponse {
+
+    private int succeeded;
+    private int failed;
+    private List<Item> results;
+
+    // ユースケースの結果からDTOへの変換
+    public static BatchCreateTaskResponse from(List<CreateTaskResult> createResults) {
+        BatchCreateTaskResponse response = new BatchCreateTaskResponse();
+        response.results = new ArrayList<>(createResults.size());
+        for (int i = 0; i < createResults.size(); i++) {
+            CreateTaskResult result = createResults.get(i);
+            Item item = new Item();
+            item.index = i;
+            item.success = result.isSuccess();
+            if (result.isSuccess()) {
+                item.task = TaskResponse.from(result.task());
+                response.succeeded++;
+            } else {
+                item.error = result.errorMessage();
+                response.failed++;
+            }
+            response.results.add(item);
+        }
+        return response;
+    }
+
+    // Getters
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    /**
+     * 明細ごとの結果
+     */
+    public static class Item {
+        private int index;
+        private boolean success;
+        private TaskResponse task;
+        private String error;
+
+        // Getters
+        public int getIndex() {
+            return index;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public TaskResponse getTask() {
+            return task;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.apipractice.interfaces.rest.dto;
+
+import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.usecase.service.TaskService;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * タスク一括完了リクエストDTO
+ * Interface層: 外部からの入力データ
+ *
+ * ids（IDの指定）か、status / createdAfter（条件の指定）のどちらか一方を指定する。
+ */
+public class BulkCompleteTaskRequest {
+
+    public static final int MAX_SIZE = TaskService.MAX_BULK_COMPLETION_SIZE;
+
+    @Size(min = 1, max = MAX_SIZE, message = "IDs must contain 1 to " + MAX_SIZE + " elements")
+    private List<@NotNull Long> ids;
+
+    private TaskStatus status;
+
+    private LocalDateTime createdAfter;
+
+    public boolean hasFilter() {
+        return status != null || createdAfter != null;
+    }
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAfter() {
+        return createdAfter;
+    }
+
+    public void setCreatedAfter(LocalDateTime createdAfter) {
+        this.createdAfter = createdAfter;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.apipractice.interfaces.rest.dto;
+
+import com.example.apipractice.usecase.service.TaskCompletionResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * タスク一括完了レスポンスDTO
+ * Interface層: 外部への出力データ
+ *
+ * 明細はIDごとに1件（IDの指定ではリクエストの順序、重複は1件にまとめる）。
+ * 条件の指定で hasMore が true の場合は、同じ条件で再度リクエストすると続きを完了できる。
+ */
+public class BulkCompleteTaskResponse {
+
+    private int completed;
+    private int alreadyDone;
+    private int notFound;
+    private List<Item> results;
+    private boolean hasMore;
+
+    // ユースケースの結果からDTOへの変換
+    public static BulkCompleteTaskResponse from(List<TaskCompletionResult> completionResults, boolean hasMore) {
+        BulkCompleteTaskResponse response = new BulkCompleteTaskResponse();
+        response.hasMore = hasMore;
+        response.results = new ArrayList<>(completionResults.size());
+        for (TaskCompletionResult result : completionResults) {
+            switch (result.outcome()) {
+                case COMPLETED -> response.completed++;
+                case ALREADY_DONE -> response.alreadyDone++;
+                case NOT_FOUND -> response.notFound++;
+            }
+            Item item = new Item();
+            item.id = result.id();
+            item.outcome = result.outcome();
+            response.results.add(item);
+        }
+        return response;
+    }
+
+    // Getters
+    public int getCompleted() {
+        return completed;
+    }
+
+    public int getAlreadyDone() {
+        return alreadyDone;
+    }
+
+    public int getNotFound() {
+        return notFound;
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    /**
+     * IDごとの結果
+     */
+    public static class Item {
+        private Long id;
+        private TaskCompletionResult.Outcome outcome;
+
+        // Getters
+        public Long getId() {
+            return id;
+        }
+
+        public TaskCompletionResult.Outcome getOutcome() {
+            return outcome;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.apipractice.interfaces.rest.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 /**
  * タスク作成リクエストDTO
@@ -10,7 +11,9 @@ import jakarta.validation.constraints.NotBlank;
  */
 public class CreateTaskRequest {
 
+    // tasks.title VARCHAR2(255)。マルチバイト文字を含む場合のバイト数は Service で確認する
     @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must be at most 255 characters")
     private String title;
 
     private String description;
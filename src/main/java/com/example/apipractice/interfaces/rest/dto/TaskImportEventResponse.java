@@ -0,0 +1,74 @@
+package com.example.apipractice.interfaces.rest.dto;
+
+import com.example.apipractice.usecase.service.TaskImportProgress;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * タスクインポートの経過レスポンス（NDJSONの1行）
+ * Interface層: 外部への出力データ
+ *
+ * type:
+ * - error:    行の作成に失敗（line, message）
+ * - progress: チャンク完了時点の累計（processed, succeeded, failed）
+ * - summary:  最終結果（processed, succeeded, failed）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskImportEventResponse {
+
+    private String type;
+    private Long line;
+    private String message;
+    private Long processed;
+    private Long succeeded;
+    private Long failed;
+
+    public static TaskImportEventResponse error(long line, String message) {
+        TaskImportEventResponse response = new TaskImportEventResponse();
+        response.type = "error";
+        response.line = line;
+        response.message = message;
+        return response;
+    }
+
+    public static TaskImportEventResponse progress(TaskImportProgress progress) {
+        return counts("progress", progress);
+    }
+
+    public static TaskImportEventResponse summary(TaskImportProgress progress) {
+        return counts("summary", progress);
+    }
+
+    private static TaskImportEventResponse counts(String type, TaskImportProgress progress) {
+        TaskImportEventResponse response = new TaskImportEventResponse();
+        response.type = type;
+        response.processed = progress.processed();
+        response.succeeded = progress.succeeded();
+        response.failed = progress.failed();
+        return response;
+    }
+
+    // Getters
+    public String getType() {
+        return type;
+    }
+
+    public Long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Long getProcessed() {
+        return processed;
+    }
+
+    public Long getSucceeded() {
+        return succeeded;
+    }
+
+    public Long getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.apipractice.interfaces.rest.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * タスク一括取得リクエストDTO
+ * Interface層: 外部からの入力データ
+ */
+public class TaskLookupRequest {
+
+    public static final int MAX_SIZE = 1000;
+
+    @NotEmpty(message = "IDs are required")
+    @Size(max = MAX_SIZE, message = "Too many IDs (max " + MAX_SIZE + ")")
+    private List<@NotNull Long> ids;
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.apipractice.interfaces.rest.dto;
+
+import com.example.apipractice.usecase.service.TaskLookupResult;
+
+import java.util.List;
+
+/**
+ * タスク一括取得レスポンスDTO
+ * Interface層: 外部への出力データ
+ *
+ * itemsはリクエストされたIDの順序。存在しないIDはmissingIdsで返す。
+ */
+public class TaskLookupResponse {
+
+    private List<TaskResponse> items;
+    private List<Long> missingIds;
+
+    // ユースケースの結果からDTOへの変換
+    public static TaskLookupResponse from(TaskLookupResult result) {
+        TaskLookupResponse response = new TaskLookupResponse();
+        response.items = result.tasks().stream()
+                .map(TaskResponse::from)
+                .toList();
+        response.missingIds = result.missingIds();
+        return response;
+    }
+
+    // Getters
+    public List<TaskResponse> getItems() {
+        return items;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+}
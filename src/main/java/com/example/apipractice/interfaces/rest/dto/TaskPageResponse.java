@@ -0,0 +1,31 @@
+package com.example.apipractice.interfaces.rest.dto;
+
+import java.util.List;
+
+/**
+ * タスク一覧レスポンスDTO
+ * Interface層: 外部への出力データ
+ *
+ * nextCursorを次のリクエストの cursor に指定すると次ページを取得できる（最終ページはnull）。
+ */
+public class TaskPageResponse {
+
+    private List<TaskSummaryResponse> items;
+    private String nextCursor;
+
+    public static TaskPageResponse of(List<TaskSummaryResponse> items, String nextCursor) {
+        TaskPageResponse response = new TaskPageResponse();
+        response.items = items;
+        response.nextCursor = nextCursor;
+        return response;
+    }
+
+    // Getters
+    public List<TaskSummaryResponse> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
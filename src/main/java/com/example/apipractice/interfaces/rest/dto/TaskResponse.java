@@ -19,6 +19,7 @@ public class TaskResponse {
     private TaskStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     // ドメインモデルからDTOへの変換
     public static TaskResponse from(Task task) {
@@ -29,6 +30,7 @@ public class TaskResponse {
         response.status = task.getStatus();
         response.createdAt = task.getCreatedAt();
         response.updatedAt = task.getUpdatedAt();
+        response.version = task.getVersion();
         return response;
     }
 
@@ -56,4 +58,11 @@ public class TaskResponse {
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
+
+    /**
+     * 楽観的ロック用バージョン（ETag と同じ値。If-Match に指定して条件付き更新を行う）
+     */
+    public Long getVersion() {
+        return version;
+    }
 }
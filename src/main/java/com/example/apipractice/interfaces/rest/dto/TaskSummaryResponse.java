@@ -0,0 +1,53 @@
+package com.example.apipractice.interfaces.rest.dto;
+
+import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.usecase.port.TaskSummary;
+
+import java.time.LocalDateTime;
+
+/**
+ * タスク一覧の明細DTO
+ * Interface層: 外部への出力データ
+ *
+ * 一覧ではdescriptionを返さない（詳細は GET /tasks/{id} で取得）。
+ */
+public class TaskSummaryResponse {
+
+    private Long id;
+    private String title;
+    private TaskStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // 読み取りモデルからDTOへの変換
+    public static TaskSummaryResponse from(TaskSummary summary) {
+        TaskSummaryResponse response = new TaskSummaryResponse();
+        response.id = summary.id();
+        response.title = summary.title();
+        response.status = summary.status();
+        response.createdAt = summary.createdAt();
+        response.updatedAt = summary.updatedAt();
+        return response;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
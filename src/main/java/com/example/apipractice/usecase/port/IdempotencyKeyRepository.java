@@ -0,0 +1,72 @@
+package com.example.apipractice.usecase.port;
+
+import com.example.apipractice.core.domain.Task;
+
+import java.util.Optional;
+
+/**
+ * 冪等キー（Idempotency-Key）ストアのポート（インターフェース）
+ * Usecase層: 同じキーのリクエストを1回だけ実行し、2回目以降は最初の結果を返すための永続化
+ *
+ * キーの登録（処理中 + リース）は独立した短いトランザクションでコミットし、結果の保存はタスク作成と同じトランザクションで行う。
+ * タスク作成が失敗した場合は release でキーを削除し、同じキーで再試行できる。
+ * 処理中のまま残ったキー（ノードの停止など）は、リースの期限を過ぎると次のリクエストが引き継ぐ。
+ */
+public interface IdempotencyKeyRepository {
+
+    /**
+     * キーの最大長
+     */
+    int MAX_KEY_LENGTH = 255;
+
+    /**
+     * キーを処理中として登録する（独立したトランザクションで、戻る前にコミットする）
+     * 同じキーが処理中の場合は待たずに KeyInFlightException で失敗する（DB接続を持ったまま待たない）。
+     * @param fingerprint リクエスト内容のハッシュ（同じキーで内容が異なるリクエストの検出用）
+     * @param claimToken  このリクエストの識別子（リクエストごとに一意な値。complete・release に同じ値を渡す）
+     * @return 保存済みの結果（2回目以降のリクエスト）。空の場合はキーを登録した
+     *         （呼び出し元が処理し、成功したら complete、失敗したら release を呼ぶ）
+     * @throws KeyReusedException 同じキーで内容の異なるリクエストが登録済みの場合
+     * @throws KeyInFlightException 同じキーのリクエストが処理中（リースの期限内）の場合
+     */
+    Optional<Task> claim(String key, String fingerprint, String claimToken);
+
+    /**
+     * 保存済みの結果を読む（登録はしない）
+     * @return 保存済みの結果。未登録・処理中・期限切れの場合は空
+     * @throws KeyReusedException 同じキーで内容の異なるリクエストが登録済みの場合
+     */
+    Optional<Task> findCompleted(String key, String fingerprint);
+
+    /**
+     * 登録したキーに結果（作成したタスク）を保存する（呼び出し元のトランザクションに参加）
+     * @param claimToken claim に渡した識別子
+     * @throws KeyInFlightException キーをこのリクエストが持っていなかった場合（リースの期限切れ後に削除・引き継がれた）
+     */
+    void complete(String key, String claimToken, Task task);
+
+    /**
+     * 処理中のキーを削除する（独立したトランザクション。処理が失敗した場合に呼ぶ）
+     * 他のリクエストが引き継いだキーは削除しない。
+     * @param claimToken claim に渡した識別子
+     */
+    void release(String key, String claimToken);
+
+    /**
+     * 同じキーで内容の異なるリクエスト
+     */
+    class KeyReusedException extends RuntimeException {
+        public KeyReusedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 同じキーのリクエストが処理中
+     */
+    class KeyInFlightException extends RuntimeException {
+        public KeyInFlightException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
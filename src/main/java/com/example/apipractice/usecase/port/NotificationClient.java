@@ -10,8 +10,19 @@ package com.example.apipractice.usecase.port;
 public interface NotificationClient {
     /**
      * タスク作成通知を送信
+     * 実装によっては送信を予約するだけで、実際の送信は非同期に行われる（アウトボックス）。
      * @param taskId 作成されたタスクID
      * @param title タスクタイトル
+     * @throws NotificationException 送信に失敗した場合
      */
     void notifyTaskCreated(Long taskId, String title);
+
+    /**
+     * 通知送信例外
+     */
+    class NotificationException extends RuntimeException {
+        public NotificationException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
 }
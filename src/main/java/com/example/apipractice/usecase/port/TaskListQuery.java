@@ -0,0 +1,21 @@
+package com.example.apipractice.usecase.port;
+
+import com.example.apipractice.core.domain.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * タスク一覧の検索条件
+ * Usecase層: (created_at, id) 昇順のキーセットページング
+ *
+ * @param status       ステータス（null: 条件なし）
+ * @param createdAfter 作成日時の下限（この日時より後、null: 条件なし）
+ * @param after        直前ページの最終位置（null: 先頭ページ）
+ * @param limit        取得件数
+ */
+public record TaskListQuery(
+        TaskStatus status,
+        LocalDateTime createdAfter,
+        TaskPageCursor after,
+        int limit) {
+}
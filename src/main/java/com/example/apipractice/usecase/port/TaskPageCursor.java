@@ -0,0 +1,14 @@
+package com.example.apipractice.usecase.port;
+
+import java.time.LocalDateTime;
+
+/**
+ * キーセットページングの位置（直前ページ最終行の (created_at, id)）
+ * Usecase層: 次ページは「この位置より後ろ」を検索する
+ */
+public record TaskPageCursor(LocalDateTime createdAt, Long id) {
+
+    public static TaskPageCursor of(TaskSummary last) {
+        return new TaskPageCursor(last.createdAt(), last.id());
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.apipractice.usecase.port;
 
 import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.core.domain.TaskStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Taskリポジトリのポート（インターフェース）
@@ -12,6 +19,88 @@ import java.util.Optional;
  * テスト時にMockで差し替え可能。
  */
 public interface TaskRepository {
+    /**
+     * 保存（新規作成。既存タスクの変更は complete 等の条件付き更新で行う）
+     * @return 引数のタスク（採番されたID・バージョンを設定したもの）
+     * @throws IllegalArgumentException IDのあるタスクを指定した場合
+     */
     Task save(Task task);
     Optional<Task> findById(Long id);
+
+    /**
+     * 状態とバージョンだけを取得する（title, description は読み込まない）
+     */
+    Optional<TaskRevision> findRevisionById(Long id);
+
+    /**
+     * 複数タスクを一括保存（JDBCバッチ）
+     * @param tasks 保存対象（新規タスク）
+     * @return 引数のタスク（採番されたID・バージョンを設定したもの、引数と同じ順序）
+     */
+    List<Task> saveAll(List<Task> tasks);
+
+    /**
+     * 条件付き完了（1回の更新で判定と更新を行う）
+     * ステータスが fromStatuses のいずれかで、expectedVersion が指定された場合はバージョンも一致する場合のみ
+     * DONE にしてバージョンを+1する。同じタスクへの同時完了は1件だけが成功する。
+     * @param fromStatuses    完了可能なステータス（Task.completableStatuses）
+     * @param expectedVersion 期待するバージョン（null: 確認しない）
+     * @param completedAt     更新日時
+     * @return 完了後のタスク。存在しない・完了できない状態・バージョン不一致の場合は空
+     */
+    Optional<Task> complete(Long id, Set<TaskStatus> fromStatuses, Long expectedVersion, LocalDateTime completedAt);
+
+    /**
+     * 一括条件付き完了（IN句の上限ごとの set-based UPDATE）
+     * 指定IDのうちステータスが fromStatuses のいずれかのものを DONE にしてバージョンを+1する。
+     * 判定から更新までの間、対象行は他のトランザクションから変更されない。
+     * @param fromStatuses 完了可能なステータス（Task.completableStatuses）
+     * @param completedAt  更新日時
+     * @return 存在したIDごとの更新前の状態とバージョン（存在しないIDは含まない。
+     *         ステータスが fromStatuses のいずれかのものは完了し、バージョンはこの値の+1になっている）
+     */
+    Map<Long, TaskRevision> completeAll(Collection<Long> ids, Set<TaskStatus> fromStatuses, LocalDateTime completedAt);
+
+    /**
+     * 条件に一致するタスクの一括完了（set-based UPDATE）
+     * ステータスが fromStatuses のいずれかで、作成日時が createdAfter より後のものを limit 件まで DONE にしてバージョンを+1する。
+     * 処理中に作成されたタスク（作成日時が completedAt より後）は対象にしない。
+     * @param fromStatuses 完了可能なステータス（Task.completableStatuses、またはそのうちの1つ）
+     * @param createdAfter 作成日時の下限（null: 条件なし）
+     * @param completedAt  更新日時
+     * @param limit        完了させる件数の上限（一致する行が残っていても、この件数で止める）
+     * @return 完了したタスクの完了後の状態とバージョン（完了した順、最大 limit 件）
+     */
+    List<TaskRevision> completeMatching(
+            Set<TaskStatus> fromStatuses, LocalDateTime createdAfter, LocalDateTime completedAt, int limit);
+
+    /**
+     * 複数IDの一括取得
+     * @return 見つかったタスク（順序は保証しない、存在しないIDは含まない）
+     */
+    List<Task> findAllById(Collection<Long> ids);
+
+    /**
+     * タスク一覧（キーセットページング）
+     * description（CLOB）は読み込まない。
+     * @return (created_at, id) 昇順で最大 query.limit() 件
+     */
+    List<TaskSummary> findSummaries(TaskListQuery query);
+
+    /**
+     * 条件に一致する全タスクを1件ずつ読み出す（エクスポート用）
+     * 結果をメモリに溜めず、読み出した行から順に consumer に渡す。順序は保証しない。
+     * @param status       ステータス（null: 条件なし）
+     * @param createdAfter 作成日時の下限（null: 条件なし）
+     */
+    void streamAll(TaskStatus status, LocalDateTime createdAfter, Consumer<Task> consumer);
+
+    /**
+     * 同時更新の競合（楽観的ロック）
+     */
+    class ConcurrentUpdateException extends RuntimeException {
+        public ConcurrentUpdateException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package com.example.apipractice.usecase.port;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.core.domain.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * タスクの状態とバージョンだけの読み取りモデル
+ * Usecase層: 完了できなかった理由の判定など、本文（title, description）が不要な参照用
+ *
+ * 配置理由: description（CLOB）を読み込まないことをポートの型で保証する。
+ */
+public record TaskRevision(
+        Long id,
+        TaskStatus status,
+        Long version,
+        LocalDateTime updatedAt) {
+
+    // 完了可否は Task.canComplete から導出したステータスで判定する
+    public boolean canComplete() {
+        return Task.completableStatuses().contains(status);
+    }
+}
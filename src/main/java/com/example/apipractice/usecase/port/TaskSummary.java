@@ -0,0 +1,19 @@
+package com.example.apipractice.usecase.port;
+
+import com.example.apipractice.core.domain.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * タスク一覧用の読み取りモデル
+ * Usecase層: 一覧表示に必要な項目のみ（description（CLOB）は含まない）
+ *
+ * 配置理由: 一覧ではCLOBを読み込まないことをポートの型で保証する。
+ */
+public record TaskSummary(
+        Long id,
+        String title,
+        TaskStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
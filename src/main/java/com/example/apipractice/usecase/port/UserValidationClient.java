@@ -1,5 +1,11 @@
 package com.example.apipractice.usecase.port;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * ユーザー存在確認APIクライアントのポート
  * Usecase層: 外部ユーザー管理システムへの依存を抽象化
@@ -18,6 +24,36 @@ public interface UserValidationClient {
      */
     boolean existsUser(String userId);
 
+    /**
+     * ユーザーの存在を非同期に確認
+     * 実装は呼び出し中にスレッドを占有しない（非同期HTTPクライアント等を使う）。
+     *
+     * @param userId ユーザーID
+     * @return 存在有無。外部API呼び出しに失敗した場合は UserValidationException で異常終了する
+     */
+    CompletableFuture<Boolean> existsUserAsync(String userId);
+
+    /**
+     * 複数ユーザーの存在をまとめて確認
+     * デフォルト実装は existsUser を1ユーザーずつ順に呼び出す。
+     * 一括確認APIを持つ実装・並列に問い合わせる実装はオーバーライドする。
+     *
+     * @param userIds ユーザーID（重複は1回にまとめる）
+     * @return ユーザーIDごとの存在有無。確認に失敗したユーザーは含まれない
+     * @throws UserValidationException 一括確認そのものに失敗した場合
+     */
+    default Map<String, Boolean> existsUsers(Collection<String> userIds) {
+        Map<String, Boolean> results = new HashMap<>();
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            try {
+                results.put(userId, existsUser(userId));
+            } catch (UserValidationException e) {
+                // 確認に失敗したユーザーは結果に含めない
+            }
+        }
+        return results;
+    }
+
     /**
      * ユーザー検証例外
      */
@@ -26,4 +62,14 @@ public interface UserValidationClient {
             super(message, cause);
         }
     }
+
+    /**
+     * ユーザー検証APIを呼び出さずに拒否した場合の例外
+     * （サーキットブレーカーが開いている、同時呼び出し数の上限に達している等）
+     */
+    class UserValidationUnavailableException extends UserValidationException {
+        public UserValidationUnavailableException(String message) {
+            super(message, null);
+        }
+    }
 }
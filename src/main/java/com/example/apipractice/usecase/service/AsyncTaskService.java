@@ -0,0 +1,102 @@
+package com.example.apipractice.usecase.service;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.usecase.port.UserValidationClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * タスク作成の非同期ユースケース実装
+ * Usecase層: リクエストスレッドを占有せずにタスクを作成する
+ *
+ * 処理方針:
+ * - ユーザー存在確認は UserValidationClient.existsUserAsync（応答待ちの間スレッドを使わない）
+ * - 永続化は永続化用Executor（スレッド数 = DB接続数）で TaskService.registerTask（1トランザクション）
+ * - 通知はアウトボックス経由でレスポンス後に送信される（TaskService.registerTask と同じ）
+ * - 処理中の件数が max-in-flight に達している、または永続化用Executorのキューが満杯の場合は
+ *   TaskCreationBusyException で即座に失敗させる（待ち行列を無制限に伸ばさない）
+ *
+ * トランザクションはregisterTaskの中だけで張るため、このクラスは @Transactional にしない。
+ */
+@Service
+public class AsyncTaskService {
+
+    private final TaskService taskService;
+    private final UserValidationClient userValidationClient;
+    private final Executor persistenceExecutor;
+    private final Semaphore inFlight;
+
+    public AsyncTaskService(
+            TaskService taskService,
+            UserValidationClient userValidationClient,
+            @Qualifier("taskPersistenceExecutor") Executor persistenceExecutor,
+            @Value("${task.create.async.max-in-flight:1000}") int maxInFlight) {
+        this.taskService = taskService;
+        this.userValidationClient = userValidationClient;
+        this.persistenceExecutor = persistenceExecutor;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * タスク作成（非同期）
+     * ビジネスルールは TaskService.createTask と同じ。
+     *
+     * @return 作成したタスク。タイトルのバイト数超過の場合は IllegalArgumentException、ユーザー不在の場合は UserNotFoundException、
+     *         混雑している場合は TaskCreationBusyException で異常終了する
+     */
+    public CompletableFuture<Task> createTask(String userId, String title, String description) {
+        // ユーザー確認（外部API）の前に判定する（TaskService.createTask と同じ）
+        try {
+            TaskService.requireTitleWithinLimit(title);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new TaskCreationBusyException("Too many task creations in flight"));
+        }
+
+        CompletableFuture<Task> result;
+        try {
+            // 1. ユーザー存在確認（外部API、非同期）
+            result = userValidationClient.existsUserAsync(userId)
+                    .thenCompose(exists -> {
+                        if (!exists) {
+                            return CompletableFuture.failedFuture(
+                                    new TaskService.UserNotFoundException("User not found: userId=" + userId));
+                        }
+                        // 2. 永続化・通知（永続化用スレッド）
+                        return register(title, description);
+                    });
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((task, e) -> inFlight.release());
+    }
+
+    private CompletableFuture<Task> register(String title, String description) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> taskService.registerTask(title, description), persistenceExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new TaskCreationBusyException("Task persistence queue is full"));
+        }
+    }
+
+    /**
+     * 混雑による拒否
+     * 処理中の件数・永続化待ちの件数が上限に達している場合。
+     */
+    public static class TaskCreationBusyException extends RuntimeException {
+        public TaskCreationBusyException(String message) {
+            super(message);
+        }
+    }
+}
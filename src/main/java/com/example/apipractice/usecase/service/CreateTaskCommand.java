@@ -0,0 +1,10 @@
+package com.example.apipractice.usecase.service;
+
+/**
+ * タスク作成コマンド（一括作成の1明細）
+ * Usecase層: ユースケースへの入力値
+ *
+ * 配置理由: HTTPのDTOに依存せず、Serviceが受け取る入力を表現する。
+ */
+public record CreateTaskCommand(String userId, String title, String description) {
+}
@@ -0,0 +1,24 @@
+package com.example.apipractice.usecase.service;
+
+import com.example.apipractice.core.domain.Task;
+
+/**
+ * タスク作成結果（一括作成の1明細）
+ * Usecase層: 明細ごとの成功/失敗を表現
+ *
+ * 成功時は作成されたタスク、失敗時はエラーメッセージを保持する。
+ */
+public record CreateTaskResult(Task task, String errorMessage) {
+
+    public static CreateTaskResult success(Task task) {
+        return new CreateTaskResult(task, null);
+    }
+
+    public static CreateTaskResult failure(String errorMessage) {
+        return new CreateTaskResult(null, errorMessage);
+    }
+
+    public boolean isSuccess() {
+        return task != null;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.apipractice.usecase.service;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.usecase.port.IdempotencyKeyRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * タスク作成（冪等キー付き）のユースケース実装
+ * Usecase層: 同じ Idempotency-Key のリクエストを1回だけ実行する
+ *
+ * 処理方針:
+ * - キーの登録（IdempotencyKeyRepository.claim）は独立した短いトランザクションでコミットする
+ * - タスクの作成と結果の保存は TaskService.createClaimedTask（1トランザクション）
+ * - 作成が失敗した場合はキーを解放する（同じキーで再試行すると再実行される）
+ * - 同じキーのリクエストが処理中の場合は、in-flight-wait（リースより長くはしない）まで claim を間隔を空けて繰り返し、
+ *   先行リクエストの結果を返す。待ちきれなかった場合だけ KeyInFlightException（409）
+ *
+ * キーの登録中・処理中のキーを待つ間にトランザクション（DB接続）を持たないよう、このクラスは @Transactional にしない。
+ */
+@Service
+public class IdempotentTaskService {
+
+    // 処理中のキーを確認する間隔（倍々に延ばす）
+    static final long INITIAL_POLL_INTERVAL_MILLIS = 20;
+    static final long MAX_POLL_INTERVAL_MILLIS = 500;
+
+    private final TaskService taskService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration inFlightWait;
+    private final Counter executions;
+    private final Counter replays;
+    private final Counter inFlightRejections;
+
+    public IdempotentTaskService(
+            TaskService taskService,
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            MeterRegistry meterRegistry,
+            @Value("${task.idempotency.in-flight-wait:5s}") Duration inFlightWait,
+            @Value("${task.idempotency.lease:30s}") Duration lease) {
+        this.taskService = taskService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        // リースの期限を過ぎれば引き継げるので、それ以上は待たない
+        this.inFlightWait = inFlightWait.compareTo(lease) < 0 ? inFlightWait : lease;
+        this.executions = idempotencyCounter(meterRegistry, "executed");
+        this.replays = idempotencyCounter(meterRegistry, "replayed");
+        this.inFlightRejections = idempotencyCounter(meterRegistry, "in_flight");
+    }
+
+    /**
+     * タスク作成（冪等キー付き）
+     * ビジネスルール:
+     * - 同じキーの2回目以降は最初に作成したタスクを返し、ユーザー確認・登録・通知を行わない
+     * - 同じキーのリクエストが処理中の場合は、完了すればその結果を返し、解放・リースの期限切れなら引き継いで作成する。
+     *   in-flight-wait 以内にどちらにもならなければ KeyInFlightException
+     * - 同じキーで内容（userId, title, description）が異なる場合は KeyReusedException
+     * - 失敗した場合はキーも残らない（同じキーで再試行すると再実行される）
+     */
+    @Timed(value = "task.usecase", extraTags = {"usecase", "create_idempotent"}, histogram = true)
+    public Task createTask(String idempotencyKey, String userId, String title, String description) {
+        // キーの登録（処理中のキーを待つ時間を含む）は永続化の時間に含める
+        PhaseTimings timings = PhaseTimings.current();
+        long began = timings.begin();
+        // 結果の保存・解放は、このリクエストが登録（または引き継ぎ）したキーだけを対象にする
+        String claimToken = UUID.randomUUID().toString();
+        Optional<Task> original = claimOrWait(idempotencyKey, fingerprint(userId, title, description), claimToken);
+        timings.end(PhaseTimings.Phase.PERSISTENCE, began);
+        if (original.isPresent()) {
+            replays.increment();
+            return original.get();
+        }
+
+        Task task;
+        try {
+            task = taskService.createClaimedTask(idempotencyKey, claimToken, userId, title, description);
+        } catch (IdempotencyKeyRepository.KeyInFlightException e) {
+            // リースの期限切れ後に他のリクエストが引き継いだキーは解放しない
+            throw e;
+        } catch (RuntimeException e) {
+            release(idempotencyKey, claimToken, e);
+            throw e;
+        }
+        executions.increment();
+        return task;
+    }
+
+    /**
+     * 保存済みの結果（再送）を返す（キーの登録・作成はしない）
+     * 呼び出し元がレート制限などの前に再送を判定するために使う。空の場合は createTask を呼ぶ
+     *
+     * @throws IdempotencyKeyRepository.KeyReusedException 同じキーで内容が異なる場合
+     */
+    public Optional<Task> findReplay(String idempotencyKey, String userId, String title, String description) {
+        Optional<Task> original = idempotencyKeyRepository.findCompleted(
+                idempotencyKey, fingerprint(userId, title, description));
+        if (original.isPresent()) {
+            replays.increment();
+        }
+        return original;
+    }
+
+    /**
+     * キーを登録する。同じキーが処理中の場合は inFlightWait まで間隔を空けて登録をやり直す
+     * （claim は毎回独立した短いトランザクションで、待つ間はDB接続を持たない）。
+     */
+    private Optional<Task> claimOrWait(String idempotencyKey, String fingerprint, String claimToken) {
+        long deadline = System.nanoTime() + inFlightWait.toNanos();
+        long intervalMillis = INITIAL_POLL_INTERVAL_MILLIS;
+        while (true) {
+            try {
+                return idempotencyKeyRepository.claim(idempotencyKey, fingerprint, claimToken);
+            } catch (IdempotencyKeyRepository.KeyInFlightException e) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0 || !sleep(Math.min(intervalMillis, remainingMillis))) {
+                    inFlightRejections.increment();
+                    throw e;
+                }
+                intervalMillis = Math.min(intervalMillis * 2, MAX_POLL_INTERVAL_MILLIS);
+            }
+        }
+    }
+
+    // 割り込まれた場合は待つのをやめる（割り込み状態は戻す）
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 解放に失敗してもリースの期限後に引き継がれるので、作成時の例外を優先する
+    private void release(String idempotencyKey, String claimToken, RuntimeException cause) {
+        try {
+            idempotencyKeyRepository.release(idempotencyKey, claimToken);
+        } catch (RuntimeException releaseFailure) {
+            cause.addSuppressed(releaseFailure);
+        }
+    }
+
+    /**
+     * リクエスト内容のハッシュ（SHA-256、16進）
+     * 値ごとにUTF-8のバイト数（null は -1）を前置するので、null と "null"、区切り位置だけが異なる値も区別できる
+     */
+    private static String fingerprint(String userId, String title, String description) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            for (String value : new String[]{userId, title, description}) {
+                byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+                length.clear();
+                digest.update(length.putInt(bytes != null ? bytes.length : -1).array());
+                if (bytes != null) {
+                    digest.update(bytes);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter idempotencyCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("task.idempotency.requests")
+                .description("Task creations with an Idempotency-Key by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.apipractice.usecase.service;
+
+/**
+ * ユースケース内のフェーズごとの処理時間
+ * Usecase層: TaskService が区間を記録し、呼び出し元（Controller）が Server-Timing として返す
+ *
+ * 方針:
+ * - 計測は start() で現在のスレッドに結び付けたリクエストだけ行う。
+ *   それ以外（無効・別スレッド）では current() が共有の無効インスタンスを返し、時刻も読まない
+ * - 時刻は System.nanoTime()（単調増加）。end() は終了時刻を返すので、続くフェーズの開始時刻として使える
+ *   （フェーズの境界ごとに nanoTime は1回）
+ * - 記録はフェーズごとの long の加算だけで、割り当てはリクエストごとのこのオブジェクト1つ
+ * - 同じフェーズを複数回記録した場合（完了のリトライなど）は合計する
+ */
+public final class PhaseTimings implements AutoCloseable {
+
+    /**
+     * フェーズ（name は Server-Timing のメトリクス名）
+     */
+    public enum Phase {
+        USER_VALIDATION("user"),
+        CONSTRUCTION("construct"),
+        PERSISTENCE("db"),
+        NOTIFICATION("notify"),
+        COMMIT("commit");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<PhaseTimings> CURRENT = new ThreadLocal<>();
+    private static final PhaseTimings DISABLED = new PhaseTimings(false);
+
+    private final boolean enabled;
+    private final long startNanos;
+    private final long[] phaseNanos;
+    private int recordedPhases;
+
+    private PhaseTimings(boolean enabled) {
+        this.enabled = enabled;
+        this.startNanos = enabled ? System.nanoTime() : 0L;
+        this.phaseNanos = enabled ? new long[PHASES.length] : null;
+    }
+
+    /**
+     * 計測を開始し、現在のスレッドに結び付ける（close() で解除する）
+     */
+    public static PhaseTimings start() {
+        PhaseTimings timings = new PhaseTimings(true);
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * 何も記録しないインスタンス
+     */
+    public static PhaseTimings disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * 現在のスレッドで計測中のインスタンス（無ければ disabled()）
+     */
+    public static PhaseTimings current() {
+        PhaseTimings timings = CURRENT.get();
+        return timings != null ? timings : DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return 区間の開始時刻（無効な場合は 0）
+     */
+    public long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * begin() からの経過時間を phase に加算する
+     *
+     * @return 区間の終了時刻（次の区間の開始時刻として使える。無効な場合は 0）
+     */
+    public long end(Phase phase, long beganAt) {
+        if (!enabled) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - beganAt;
+        recordedPhases |= 1 << phase.ordinal();
+        return now;
+    }
+
+    public boolean isRecorded(Phase phase) {
+        return (recordedPhases & (1 << phase.ordinal())) != 0;
+    }
+
+    public long nanos(Phase phase) {
+        return enabled ? phaseNanos[phase.ordinal()] : 0L;
+    }
+
+    /**
+     * start() からの経過時間
+     */
+    public long elapsedNanos() {
+        return enabled ? System.nanoTime() - startNanos : 0L;
+    }
+
+    /**
+     * 現在のスレッドとの結び付けを解除する（記録した値はそのまま読める）
+     */
+    @Override
+    public void close() {
+        if (enabled && CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.apipractice.usecase.service;
+
+import java.util.List;
+
+/**
+ * 条件指定の一括完了の結果
+ * Usecase層: 1回の呼び出しで完了させる件数には上限があるため、残りの有無を合わせて返す
+ *
+ * @param results 完了したタスクごとの結果（完了した順）
+ * @param hasMore 上限件数まで完了した（一致するタスクが残っている可能性がある。同じ条件で再度呼び出す）
+ */
+public record TaskCompletionBatch(List<TaskCompletionResult> results, boolean hasMore) {
+}
@@ -0,0 +1,17 @@
+package com.example.apipractice.usecase.service;
+
+/**
+ * タスク完了結果（一括完了の1件）
+ * Usecase層: IDごとの結果を表現
+ *
+ * @param id      タスクID
+ * @param outcome 完了した・完了済みだった・存在しなかった
+ */
+public record TaskCompletionResult(Long id, Outcome outcome) {
+
+    public enum Outcome {
+        COMPLETED,
+        ALREADY_DONE,
+        NOT_FOUND
+    }
+}
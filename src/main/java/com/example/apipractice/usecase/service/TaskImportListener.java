@@ -0,0 +1,20 @@
+package com.example.apipractice.usecase.service;
+
+/**
+ * インポート結果の通知先
+ * Usecase層: 行ごとのエラーと進捗を呼び出し元へ逐次渡す（結果をメモリに溜めない）
+ *
+ * 通知は importTasks を呼び出したスレッドで行われる。
+ */
+public interface TaskImportListener {
+
+    /**
+     * 行の作成に失敗した
+     */
+    void onLineFailed(long lineNumber, String message);
+
+    /**
+     * チャンクの処理が完了した（累計の進捗）
+     */
+    void onProgress(TaskImportProgress progress);
+}
@@ -0,0 +1,20 @@
+package com.example.apipractice.usecase.service;
+
+/**
+ * インポートの進捗（累計）
+ * Usecase層: チャンク完了ごとに通知する
+ *
+ * @param processed 処理済み行数
+ * @param succeeded 作成できた行数
+ * @param failed    失敗した行数
+ */
+public record TaskImportProgress(long processed, long succeeded, long failed) {
+
+    TaskImportProgress plus(long succeeded, long failed) {
+        return new TaskImportProgress(
+                this.processed + succeeded + failed,
+                this.succeeded + succeeded,
+                this.failed + failed
+        );
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.apipractice.usecase.service;
+
+/**
+ * インポート入力の1行
+ * Usecase層: 解析済みのコマンド、または解析エラーのどちらかを持つ
+ *
+ * @param lineNumber 入力の行番号（1始まり）
+ * @param command    解析できた場合のコマンド
+ * @param parseError 解析できなかった場合のエラーメッセージ
+ */
+public record TaskImportRecord(long lineNumber, CreateTaskCommand command, String parseError) {
+
+    public static TaskImportRecord parsed(long lineNumber, CreateTaskCommand command) {
+        return new TaskImportRecord(lineNumber, command, null);
+    }
+
+    public static TaskImportRecord unparsable(long lineNumber, String parseError) {
+        return new TaskImportRecord(lineNumber, null, parseError);
+    }
+
+    public boolean isParsed() {
+        return command != null;
+    }
+}
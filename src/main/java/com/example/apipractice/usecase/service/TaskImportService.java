@@ -0,0 +1,132 @@
+package com.example.apipractice.usecase.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * タスク一括インポートのユースケース実装
+ * Usecase層: 大量入力をチャンクに分けて作成する
+ *
+ * 処理方針:
+ * - 入力はチャンク単位で読み進め、全件をメモリに載せない（最大2チャンク分）
+ * - チャンクNの登録（別スレッド）と並行して、チャンクN+1を解析する
+ * - チャンクごとに TaskService.createTasks（1トランザクション）で登録するため、
+ *   不正な行や失敗したチャンクがあっても他のチャンクはロールバックされない
+ */
+@Service
+public class TaskImportService {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private final TaskService taskService;
+    private final Executor importExecutor;
+
+    public TaskImportService(TaskService taskService, @Qualifier("taskImportExecutor") Executor importExecutor) {
+        this.taskService = taskService;
+        this.importExecutor = importExecutor;
+    }
+
+    /**
+     * タスクのインポート
+     *
+     * @param records  入力（呼び出し元スレッドで逐次読み出す）
+     * @param listener 行エラー・進捗の通知先（呼び出し元スレッドで呼ばれる）
+     * @return 最終的な進捗（累計）
+     */
+    public TaskImportProgress importTasks(Iterator<TaskImportRecord> records, TaskImportListener listener) {
+        TaskImportProgress progress = new TaskImportProgress(0, 0, 0);
+        CompletableFuture<ChunkResult> inFlight = null;
+
+        while (records.hasNext()) {
+            // 1. 解析（前のチャンクの登録と並行）
+            List<TaskImportRecord> chunk = nextChunk(records);
+
+            // 2. 前のチャンクの登録完了を待って結果を通知
+            if (inFlight != null) {
+                progress = report(inFlight, progress, listener);
+            }
+
+            // 3. このチャンクの登録を開始
+            inFlight = CompletableFuture.supplyAsync(() -> insertChunk(chunk), importExecutor);
+        }
+
+        if (inFlight != null) {
+            progress = report(inFlight, progress, listener);
+        }
+        return progress;
+    }
+
+    private List<TaskImportRecord> nextChunk(Iterator<TaskImportRecord> records) {
+        List<TaskImportRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (records.hasNext() && chunk.size() < CHUNK_SIZE) {
+            chunk.add(records.next());
+        }
+        return chunk;
+    }
+
+    private ChunkResult insertChunk(List<TaskImportRecord> chunk) {
+        List<LineFailure> failures = new ArrayList<>();
+        List<TaskImportRecord> parsed = new ArrayList<>(chunk.size());
+        for (TaskImportRecord record : chunk) {
+            if (record.isParsed()) {
+                parsed.add(record);
+            } else {
+                failures.add(new LineFailure(record.lineNumber(), record.parseError()));
+            }
+        }
+        if (parsed.isEmpty()) {
+            return new ChunkResult(0, failures);
+        }
+
+        try {
+            List<CreateTaskResult> results = taskService.createTasks(
+                    parsed.stream().map(TaskImportRecord::command).toList());
+            int succeeded = 0;
+            for (int i = 0; i < results.size(); i++) {
+                CreateTaskResult result = results.get(i);
+                if (result.isSuccess()) {
+                    succeeded++;
+                } else {
+                    failures.add(new LineFailure(parsed.get(i).lineNumber(), result.errorMessage()));
+                }
+            }
+            return new ChunkResult(succeeded, failures);
+        } catch (RuntimeException e) {
+            // チャンク全体がロールバックされた（他のチャンクには影響しない）
+            for (TaskImportRecord record : parsed) {
+                failures.add(new LineFailure(record.lineNumber(), "Chunk failed: " + e.getMessage()));
+            }
+            return new ChunkResult(0, failures);
+        }
+    }
+
+    private TaskImportProgress report(
+            CompletableFuture<ChunkResult> inFlight, TaskImportProgress progress, TaskImportListener listener) {
+        ChunkResult result;
+        try {
+            result = inFlight.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        result.failures().stream()
+                .sorted((a, b) -> Long.compare(a.lineNumber(), b.lineNumber()))
+                .forEach(failure -> listener.onLineFailed(failure.lineNumber(), failure.message()));
+        TaskImportProgress updated = progress.plus(result.succeeded(), result.failures().size());
+        listener.onProgress(updated);
+        return updated;
+    }
+
+    private record LineFailure(long lineNumber, String message) {
+    }
+
+    private record ChunkResult(int succeeded, List<LineFailure> failures) {
+    }
+}
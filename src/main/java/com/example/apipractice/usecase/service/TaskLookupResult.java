@@ -0,0 +1,15 @@
+package com.example.apipractice.usecase.service;
+
+import com.example.apipractice.core.domain.Task;
+
+import java.util.List;
+
+/**
+ * 複数ID一括取得の結果
+ * Usecase層: 一括取得ユースケースの出力
+ *
+ * @param tasks      見つかったタスク（リクエストされたIDの順序）
+ * @param missingIds 存在しなかったID（リクエストされた順序）
+ */
+public record TaskLookupResult(List<Task> tasks, List<Long> missingIds) {
+}
@@ -0,0 +1,20 @@
+package com.example.apipractice.usecase.service;
+
+import com.example.apipractice.usecase.port.TaskPageCursor;
+import com.example.apipractice.usecase.port.TaskSummary;
+
+import java.util.List;
+
+/**
+ * タスク一覧の1ページ
+ * Usecase層: 一覧ユースケースの出力
+ *
+ * @param items      ページ内のタスク
+ * @param nextCursor 次ページの位置（最終ページの場合null）
+ */
+public record TaskPage(List<TaskSummary> items, TaskPageCursor nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -1,11 +1,38 @@
 package com.example.apipractice.usecase.service;
 
 import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.usecase.port.IdempotencyKeyRepository;
 import com.example.apipractice.usecase.port.NotificationClient;
+import com.example.apipractice.usecase.port.TaskListQuery;
+import com.example.apipractice.usecase.port.TaskPageCursor;
 import com.example.apipractice.usecase.port.TaskRepository;
+import com.example.apipractice.usecase.port.TaskRevision;
+import com.example.apipractice.usecase.port.TaskSummary;
 import com.example.apipractice.usecase.port.UserValidationClient;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Taskのユースケース実装
@@ -18,17 +45,37 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class TaskService {
 
+    /**
+     * 一括完了（IDの指定）で1回に指定できる件数の上限
+     */
+    public static final int MAX_BULK_COMPLETION_SIZE = 1000;
+
+    /**
+     * タイトルの最大長（tasks.title VARCHAR2(255)、バイト単位のため UTF-8 のバイト数で判定する）
+     */
+    public static final int MAX_TITLE_BYTES = 255;
+
+    private static final String TITLE_TOO_LONG_MESSAGE = "Title is too long (max " + MAX_TITLE_BYTES + " bytes in UTF-8)";
+
     private final TaskRepository taskRepository;
     private final NotificationClient notificationClient;
     private final UserValidationClient userValidationClient;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Counter updatesApplied;
+    private final Counter conflictRejections;
 
     public TaskService(
             TaskRepository taskRepository,
             NotificationClient notificationClient,
-            UserValidationClient userValidationClient) {
+            UserValidationClient userValidationClient,
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            MeterRegistry meterRegistry) {
         this.taskRepository = taskRepository;
         this.notificationClient = notificationClient;
         this.userValidationClient = userValidationClient;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.updatesApplied = updateCounter(meterRegistry, "applied");
+        this.conflictRejections = updateCounter(meterRegistry, "conflict_rejected");
     }
 
     /**
@@ -36,45 +83,422 @@ public class TaskService {
      * ビジネスルール:
      * - タスク作成前にユーザーの存在を確認
      * - 作成後に外部通知を送信
+     *
+     * フェーズごとの処理時間（ユーザー確認・生成・永続化・通知・コミット）を PhaseTimings に記録する。
      */
+    @Timed(value = "task.usecase", extraTags = {"usecase", "create"}, histogram = true)
     public Task createTask(String userId, String title, String description) {
+        // ユーザー確認（外部API）の前に判定する
+        requireTitleWithinLimit(title);
+
         // 1. ユーザー存在確認（外部API）
-        if (!userValidationClient.existsUser(userId)) {
+        PhaseTimings timings = PhaseTimings.current();
+        long began = timings.begin();
+        boolean userExists = userValidationClient.existsUser(userId);
+        timings.end(PhaseTimings.Phase.USER_VALIDATION, began);
+        if (!userExists) {
             throw new UserNotFoundException("User not found: userId=" + userId);
         }
 
-        // 2. ドメインモデル生成
+        return registerTask(title, description);
+    }
+
+    /**
+     * タスク作成（冪等キーを登録済み）
+     * IdempotentTaskService が claim したキーについて、タスクの作成と結果の保存を1トランザクションで行う
+     * （タスクとキーの結果は一緒にコミットされる）。
+     *
+     * @param claimToken claim に渡した識別子（キーを他のリクエストに引き継がれていた場合は KeyInFlightException でロールバック）
+     */
+    @Timed(value = "task.usecase", extraTags = {"usecase", "create_claimed"}, histogram = true)
+    public Task createClaimedTask(String idempotencyKey, String claimToken, String userId, String title, String description) {
+        Task task = createTask(userId, title, description);
+
+        // 結果の保存は永続化の時間に含める
+        PhaseTimings timings = PhaseTimings.current();
+        long began = timings.begin();
+        idempotencyKeyRepository.complete(idempotencyKey, claimToken, task);
+        timings.end(PhaseTimings.Phase.PERSISTENCE, began);
+        return task;
+    }
+
+    /**
+     * タスク登録（ユーザー存在確認済み）
+     * 非同期のタスク作成（AsyncTaskService）では、ユーザー確認後に永続化用スレッドから呼ばれる。
+     *
+     * 永続化のフェーズには TaskRepository.save 内で送るINSERTを含む。
+     * 通知はコミット直前に書き込まれる場合がある（アウトボックス）ため、通知のフェーズは依頼までとし、
+     * コミット直前からコミット完了まで（アウトボックスの書き込みとCOMMIT）をコミットのフェーズとして記録する。
+     */
+    @Timed(value = "task.usecase", extraTags = {"usecase", "register"}, histogram = true)
+    public Task registerTask(String title, String description) {
+        // どの入口から呼ばれても、INSERT（ORA-12899）ではなく入力エラーにする
+        requireTitleWithinLimit(title);
+
+        PhaseTimings timings = PhaseTimings.current();
+        long began = timings.begin();
+
+        // 1. ドメインモデル生成
         Task task = Task.create(title, description);
+        began = timings.end(PhaseTimings.Phase.CONSTRUCTION, began);
 
-        // 3. 永続化
+        // 2. 永続化
         Task savedTask = taskRepository.save(task);
+        began = timings.end(PhaseTimings.Phase.PERSISTENCE, began);
 
-        // 4. 外部通知（例: Slack, メール等）
+        // 3. 外部通知（例: Slack, メール等）
+        recordCommit(timings);
         notificationClient.notifyTaskCreated(savedTask.getId(), savedTask.getTitle());
+        timings.end(PhaseTimings.Phase.NOTIFICATION, began);
 
         return savedTask;
     }
 
+    // コミット直前の処理（他の同期処理より先に開始する）からコミット完了までをコミットのフェーズに記録する
+    private static void recordCommit(PhaseTimings timings) {
+        if (!timings.isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long began;
+
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                began = timings.begin();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (began != 0L) {
+                    timings.end(PhaseTimings.Phase.COMMIT, began);
+                }
+            }
+        });
+    }
+
+    /**
+     * タスク一括作成
+     * ビジネスルール:
+     * - 明細ごとに入力チェック・ユーザー存在確認を行い、失敗した明細のみ失敗として返す
+     * - ユーザー存在確認は全明細のユーザーをまとめて1回で行う（existsUsers）
+     * - 永続化は1回のsaveAllで行う（JDBCバッチ）
+     *
+     * @return 明細ごとの結果（引数と同じ順序）
+     */
+    @Timed(value = "task.usecase", extraTags = {"usecase", "create_batch"}, histogram = true)
+    public List<CreateTaskResult> createTasks(List<CreateTaskCommand> commands) {
+        CreateTaskResult[] results = new CreateTaskResult[commands.size()];
+
+        // 1. 入力チェック
+        LinkedHashSet<String> userIds = new LinkedHashSet<>();
+        for (int i = 0; i < commands.size(); i++) {
+            Optional<String> error = validate(commands.get(i));
+            if (error.isPresent()) {
+                results[i] = CreateTaskResult.failure(error.get());
+            } else {
+                userIds.add(commands.get(i).userId());
+            }
+        }
+
+        // 2. ユーザー存在確認（外部API、全ユーザーまとめて）
+        Map<String, Optional<String>> userErrors = checkUsers(userIds);
+
+        List<Task> tasksToSave = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            CreateTaskCommand command = commands.get(i);
+            Optional<String> userError = userErrors.get(command.userId());
+            if (userError.isPresent()) {
+                results[i] = CreateTaskResult.failure(userError.get());
+                continue;
+            }
+
+            // 3. ドメインモデル生成
+            tasksToSave.add(Task.create(command.title(), command.description()));
+            positions.add(i);
+        }
+
+        // 4. 永続化（一括）
+        List<Task> savedTasks = tasksToSave.isEmpty() ? List.of() : taskRepository.saveAll(tasksToSave);
+
+        // 5. 外部通知
+        for (int j = 0; j < savedTasks.size(); j++) {
+            Task savedTask = savedTasks.get(j);
+            notificationClient.notifyTaskCreated(savedTask.getId(), savedTask.getTitle());
+            results[positions.get(j)] = CreateTaskResult.success(savedTask);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 文字数（@Size）では判定できない、マルチバイト文字を含むタイトルのバイト数超過を入力エラーにする
+     *
+     * @throws IllegalArgumentException タイトルが UTF-8 で MAX_TITLE_BYTES を超える場合
+     */
+    public static void requireTitleWithinLimit(String title) {
+        if (isTitleTooLong(title)) {
+            throw new IllegalArgumentException(TITLE_TOO_LONG_MESSAGE);
+        }
+    }
+
+    private static boolean isTitleTooLong(String title) {
+        // 1文字は UTF-8 で最大4バイト
+        return title != null && title.length() * 4 > MAX_TITLE_BYTES
+                && title.getBytes(StandardCharsets.UTF_8).length > MAX_TITLE_BYTES;
+    }
+
+    private Optional<String> validate(CreateTaskCommand command) {
+        if (command.title() == null || command.title().isBlank()) {
+            return Optional.of("Title is required");
+        }
+        if (isTitleTooLong(command.title())) {
+            return Optional.of(TITLE_TOO_LONG_MESSAGE);
+        }
+        if (command.userId() == null || command.userId().isBlank()) {
+            return Optional.of("User ID is required");
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * ユーザーごとのエラー（存在する場合は空）
+     * 一括確認自体が失敗した場合は全ユーザーを同じエラーとする。
+     */
+    private Map<String, Optional<String>> checkUsers(Collection<String> userIds) {
+        Map<String, Optional<String>> userErrors = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return userErrors;
+        }
+        try {
+            Map<String, Boolean> exists = userValidationClient.existsUsers(userIds);
+            for (String userId : userIds) {
+                Boolean found = exists.get(userId);
+                if (found == null) {
+                    userErrors.put(userId, Optional.of("Failed to validate user: " + userId));
+                } else if (!found) {
+                    userErrors.put(userId, Optional.of("User not found: userId=" + userId));
+                } else {
+                    userErrors.put(userId, Optional.empty());
+                }
+            }
+        } catch (UserValidationClient.UserValidationException e) {
+            userIds.forEach(userId -> userErrors.put(userId, Optional.of(e.getMessage())));
+        }
+        return userErrors;
+    }
+
     /**
      * タスク取得
      */
     @Transactional(readOnly = true)
+    @Timed(value = "task.usecase", extraTags = {"usecase", "get"}, histogram = true)
     public Task getTask(Long id) {
         return taskRepository.findById(id)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found: id=" + id));
     }
 
+    /**
+     * タスクの状態とバージョンの取得（条件付きGETの判定用、説明は読まない）
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "task.usecase", extraTags = {"usecase", "get_revision"}, histogram = true)
+    public TaskRevision getTaskRevision(Long id) {
+        return taskRepository.findRevisionById(id)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found: id=" + id));
+    }
+
+    /**
+     * 複数タスクの一括取得
+     * リポジトリへの問い合わせは1回（IN句の上限ごとに分割される）。
+     *
+     * @param ids 取得するID（重複は1件にまとめる）
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "task.usecase", extraTags = {"usecase", "lookup"}, histogram = true)
+    public TaskLookupResult getTasks(List<Long> ids) {
+        LinkedHashSet<Long> requestedIds = new LinkedHashSet<>(ids);
+        Map<Long, Task> found = taskRepository.findAllById(requestedIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<Task> tasks = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Task task = found.get(id);
+            if (task != null) {
+                tasks.add(task);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new TaskLookupResult(tasks, missingIds);
+    }
+
+    /**
+     * タスク一覧（キーセットページング）
+     * 1件多く取得して次ページの有無を判定する（COUNTクエリ不要）。
+     *
+     * @param after 直前ページの最終位置（null: 先頭ページ）
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "task.usecase", extraTags = {"usecase", "list"}, histogram = true)
+    public TaskPage listTasks(TaskStatus status, LocalDateTime createdAfter, TaskPageCursor after, int limit) {
+        List<TaskSummary> rows = taskRepository.findSummaries(
+                new TaskListQuery(status, createdAfter, after, limit + 1));
+        if (rows.size() <= limit) {
+            return new TaskPage(rows, null);
+        }
+        List<TaskSummary> items = rows.subList(0, limit);
+        return new TaskPage(items, TaskPageCursor.of(items.get(limit - 1)));
+    }
+
+    /**
+     * タスクのエクスポート
+     * 条件に一致するタスクを読み出した順に consumer に渡す（全件をメモリに載せない）。
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "task.usecase", extraTags = {"usecase", "export"}, histogram = true)
+    public void exportTasks(TaskStatus status, LocalDateTime createdAfter, Consumer<Task> consumer) {
+        taskRepository.streamAll(status, createdAfter, consumer);
+    }
+
     /**
      * タスク完了
-     * ビジネスルール: ドメインモデルの完了ロジックを使用
      */
+    @Timed(value = "task.usecase", extraTags = {"usecase", "complete"}, histogram = true)
     public Task completeTask(Long id) {
-        Task task = getTask(id);
+        return completeTask(id, null);
+    }
 
-        // ドメインロジック呼び出し（完了可否判定含む）
-        task.complete();
+    /**
+     * タスク完了（条件付き）
+     * ビジネスルール: ドメインモデルの完了可否判定（Task.canComplete）を使用
+     *
+     * 完了可否の判定と更新は1回の条件付きUPDATEで行う（同時に完了しても成功するのは1件だけ）。
+     * 更新できなかった場合のみタスクの状態とバージョン（TaskRevision、説明は読まない）を読み、理由を判定する:
+     * - 存在しない: TaskNotFoundException
+     * - expectedVersion と現在のバージョンが異なる: VersionMismatchException
+     * - 完了済み: ドメインロジックの例外
+     * 完了は1文で判定と更新を行うため、読み込み → 変更 → 保存の競合によるやり直しはない。
+     *
+     * UPDATE・読み込みの処理時間は PhaseTimings の永続化に記録する。
+     *
+     * @param expectedVersion クライアントが読み込んだバージョン（null: 確認しない）
+     */
+    @Timed(value = "task.usecase", extraTags = {"usecase", "complete"}, histogram = true)
+    public Task completeTask(Long id, Long expectedVersion) {
+        PhaseTimings timings = PhaseTimings.current();
+        long began = timings.begin();
+        Optional<Task> completed = taskRepository.complete(
+                id, Task.completableStatuses(), expectedVersion, LocalDateTime.now());
+        began = timings.end(PhaseTimings.Phase.PERSISTENCE, began);
+        if (completed.isPresent()) {
+            updatesApplied.increment();
+            return completed.get();
+        }
+
+        Optional<TaskRevision> revision = taskRepository.findRevisionById(id);
+        timings.end(PhaseTimings.Phase.PERSISTENCE, began);
+        TaskRevision current = revision
+                .orElseThrow(() -> new TaskNotFoundException("Task not found: id=" + id));
+        if (expectedVersion != null && !expectedVersion.equals(current.version())) {
+            conflictRejections.increment();
+            throw new VersionMismatchException(
+                    "Task version mismatch: id=" + id + ", expected=" + expectedVersion + ", actual=" + current.version());
+        }
+        if (!current.canComplete()) {
+            throw new IllegalStateException("Task is already completed: id=" + id);
+        }
+        // 完了済みのタスクが完了可能なステータスに戻ることはないため、通常は到達しない
+        conflictRejections.increment();
+        throw new TaskRepository.ConcurrentUpdateException(
+                "Task could not be completed due to a concurrent update: id=" + id, null);
+    }
+
+    /**
+     * タスク一括完了（IDの指定）
+     * ビジネスルール: 完了可否は completeTask と同じ（Task.completableStatuses）
+     *
+     * 1件ずつの読み込み → 変更 → 保存ではなく、IN句の上限ごとの set-based UPDATE で完了させる。
+     * 完了できない状態のタスクは ALREADY_DONE として返し、エラーにはしない。
+     *
+     * @param ids 完了するID（重複は1件にまとめる）
+     * @return IDごとの結果（リクエストされたIDの順序）
+     */
+    @Timed(value = "task.usecase", extraTags = {"usecase", "complete_bulk"}, histogram = true)
+    public List<TaskCompletionResult> completeTasks(List<Long> ids) {
+        LinkedHashSet<Long> requestedIds = new LinkedHashSet<>(ids);
+        Set<TaskStatus> completableStatuses = Task.completableStatuses();
+        Map<Long, TaskRevision> previousRevisions = requestedIds.isEmpty()
+                ? Map.of()
+                : taskRepository.completeAll(requestedIds, completableStatuses, LocalDateTime.now());
 
-        return taskRepository.save(task);
+        List<TaskCompletionResult> results = new ArrayList<>(requestedIds.size());
+        int completed = 0;
+        for (Long id : requestedIds) {
+            TaskRevision previous = previousRevisions.get(id);
+            TaskCompletionResult.Outcome outcome;
+            if (previous == null) {
+                outcome = TaskCompletionResult.Outcome.NOT_FOUND;
+            } else if (completableStatuses.contains(previous.status())) {
+                outcome = TaskCompletionResult.Outcome.COMPLETED;
+                completed++;
+            } else {
+                outcome = TaskCompletionResult.Outcome.ALREADY_DONE;
+            }
+            results.add(new TaskCompletionResult(id, outcome));
+        }
+        updatesApplied.increment(completed);
+        return results;
+    }
+
+    /**
+     * タスク一括完了（条件の指定）
+     * 条件に一致するタスクのうち完了可能なもの（Task.completableStatuses）だけを対象にし、
+     * set-based UPDATE で完了させる。1回で完了させるのは MAX_BULK_COMPLETION_SIZE 件まで
+     * （ロックする行数・トランザクションの長さ・レスポンスの大きさを一致する件数によらず抑える）。
+     * 完了できない状態のタスクは対象にしないので、結果はすべて COMPLETED になる。
+     *
+     * @param status       ステータス（null: 条件なし。完了できないステータスの場合は何も更新しない）
+     * @param createdAfter 作成日時の下限（null: 条件なし）
+     * @return 完了したタスクごとの結果（完了した順）と、上限件数に達したか
+     */
+    @Timed(value = "task.usecase", extraTags = {"usecase", "complete_filtered"}, histogram = true)
+    public TaskCompletionBatch completeTasks(TaskStatus status, LocalDateTime createdAfter) {
+        Set<TaskStatus> completableStatuses = Task.completableStatuses();
+        Set<TaskStatus> fromStatuses;
+        if (status == null) {
+            fromStatuses = completableStatuses;
+        } else if (completableStatuses.contains(status)) {
+            fromStatuses = Set.of(status);
+        } else {
+            return new TaskCompletionBatch(List.of(), false);
+        }
+
+        List<TaskRevision> completed = taskRepository.completeMatching(
+                fromStatuses, createdAfter, LocalDateTime.now(), MAX_BULK_COMPLETION_SIZE);
+        List<TaskCompletionResult> results = new ArrayList<>(completed.size());
+        for (TaskRevision revision : completed) {
+            results.add(new TaskCompletionResult(revision.id(), TaskCompletionResult.Outcome.COMPLETED));
+        }
+        updatesApplied.increment(completed.size());
+        return new TaskCompletionBatch(results, completed.size() >= MAX_BULK_COMPLETION_SIZE);
+    }
+
+    // 競合率 = outcome=conflict_* / 全体
+    private static Counter updateCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("task.updates")
+                .description("Task update attempts by outcome of the optimistic concurrency check")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     /**
@@ -86,6 +510,15 @@ public class TaskService {
         }
     }
 
+    /**
+     * バージョン不一致例外（If-Match で指定されたバージョンが現在のバージョンと異なる）
+     */
+    public static class VersionMismatchException extends RuntimeException {
+        public VersionMismatchException(String message) {
+            super(message);
+        }
+    }
+
     /**
      * ユーザー不在例外
      */
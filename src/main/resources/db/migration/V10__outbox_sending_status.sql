@@ -0,0 +1,8 @@
+-- 通知アウトボックスに送信中（SENDING）の状態を追加（Oracle用）
+--
+-- ディスパッチャは行を SENDING にしてコミットしてから通知APIを呼ぶ（送信中はDB接続・行ロックを持たない）。
+-- SENDING の next_attempt_at はリースの期限で、期限を過ぎた行は再び送信対象になる。
+-- 列の追加はなく、status の値が増えるだけ（検索は既存の idx_outbox_status_next を使う）。
+
+COMMENT ON COLUMN notification_outbox.status IS '状態（PENDING/SENDING/DEAD）';
+COMMENT ON COLUMN notification_outbox.next_attempt_at IS '次回送信日時（SENDING の場合はリースの期限）';
@@ -0,0 +1,15 @@
+-- 冪等キーに処理中の状態とリースを追加（Oracle用）
+--
+-- キーは処理中（IN_PROGRESS）として独立したトランザクションで先にコミットし、
+-- 結果（response_body）はタスク作成と同じトランザクションで COMPLETED と一緒に書き込む。
+-- 同じキーのリクエストは先行リクエストの終了を待たず、処理中であれば 409 を返す。
+-- lease_expires_at を過ぎた処理中のキー（処理したノードの停止など）は次のリクエストが引き継ぐ。
+-- 既存の行はすべて結果を持つ（コミット済み = 完了）ため、state の既定値は COMPLETED とする。
+ALTER TABLE idempotency_keys ADD (
+    state VARCHAR2(20) DEFAULT 'COMPLETED' NOT NULL,
+    lease_expires_at TIMESTAMP
+);
+
+-- コメント
+COMMENT ON COLUMN idempotency_keys.state IS '状態（IN_PROGRESS/COMPLETED）';
+COMMENT ON COLUMN idempotency_keys.lease_expires_at IS '処理中のリースの期限（COMPLETED の場合は NULL）';
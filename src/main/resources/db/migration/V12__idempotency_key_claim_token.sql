@@ -0,0 +1,11 @@
+-- 冪等キーに処理中のリクエストの識別子（claim_token）を追加（Oracle用）
+--
+-- claim のたびにランダムな値を書き込み（リースの期限切れで引き継いだ場合も新しい値にする）、
+-- 結果の保存（COMPLETED への更新）と解放（削除）は自分の値と一致する行だけを対象にする。
+-- リースの期限後に他のリクエストが引き継いだキーを、元のリクエストが完了・削除することはない。
+ALTER TABLE idempotency_keys ADD (
+    claim_token VARCHAR2(36)
+);
+
+-- コメント
+COMMENT ON COLUMN idempotency_keys.claim_token IS '処理中のリクエストの識別子（COMPLETED の場合は NULL）';
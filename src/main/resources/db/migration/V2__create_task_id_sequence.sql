@@ -0,0 +1,13 @@
+-- タスクID採番用シーケンス作成（Oracle用）
+-- IDENTITY列だとINSERTごとに採番結果を待つ必要があり、HibernateのJDBCバッチが無効になる。
+-- シーケンス採番に切り替えることで、IDを先に確保してINSERTをまとめて送信できる。
+--
+-- 既存データのIDは変更しない。シーケンスは既存の最大ID + 1 から開始する。
+-- INCREMENT BY は TaskEntity の allocationSize と一致させること（不一致だと起動時エラー）。
+DECLARE
+    start_id NUMBER(19);
+BEGIN
+    SELECT NVL(MAX(id), 0) + 1 INTO start_id FROM tasks;
+    EXECUTE IMMEDIATE 'CREATE SEQUENCE task_id_seq START WITH ' || start_id || ' INCREMENT BY 50 NOCACHE NOCYCLE';
+END;
+/
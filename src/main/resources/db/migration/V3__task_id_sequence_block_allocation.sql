@@ -0,0 +1,15 @@
+-- タスクID採番をシーケンスのブロック予約に一本化（Oracle用）
+--
+-- 1. INCREMENT BY を大きくし、アプリ（Hibernate pooled-lo）が1回のNEXTVALで
+--    1000件分のIDをJVM内に予約できるようにする。
+--    各ノードは異なるNEXTVAL値を受け取るため、複数ノードで共有しても予約ブロックは重ならない。
+--    INCREMENT BY は TaskEntity の allocationSize と一致させること。
+ALTER SEQUENCE task_id_seq INCREMENT BY 1000;
+
+-- 2. IDENTITY列を解除し、DBへの直接INSERTも同じシーケンスから採番する。
+--    IDENTITYの内部シーケンスが残ると、アプリ採番のIDと衝突するため。
+--    既存行のIDはそのまま。
+ALTER TABLE tasks MODIFY id DROP IDENTITY;
+ALTER TABLE tasks MODIFY id DEFAULT task_id_seq.NEXTVAL;
+
+COMMENT ON COLUMN tasks.id IS 'タスクID（task_id_seqで採番）';
@@ -0,0 +1,11 @@
+-- タスク一覧（キーセットページング）用のカバリングインデックス（Oracle用）
+--
+-- 一覧クエリは (created_at, id) 昇順で「直前ページ最終行より後ろ」を検索する。
+-- 一覧で返す列（id, title, status, created_at, updated_at）をすべて含めることで、
+-- 表本体（description CLOB を含む行）にアクセスせずインデックスだけで結果を返せる。
+
+-- status 指定あり: status = ? で絞った範囲を (created_at, id) 順に読む
+CREATE INDEX idx_tasks_status_created_id ON tasks(status, created_at, id, title, updated_at);
+
+-- status 指定なし: (created_at, id) 順に読む
+CREATE INDEX idx_tasks_created_id ON tasks(created_at, id, status, title, updated_at);
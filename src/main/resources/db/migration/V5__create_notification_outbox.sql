@@ -0,0 +1,36 @@
+-- タスク作成通知のアウトボックス（Oracle用）
+--
+-- タスクのINSERTと同じトランザクションで通知イベントを書き込み、
+-- バックグラウンドのディスパッチャが通知APIへ送信する（送信成功した行は削除）。
+-- 複数ノードのディスパッチャは SELECT ... FOR UPDATE SKIP LOCKED で行を分け合う。
+--
+-- tasks への外部キーは張らない（タスクのINSERTはコミット時にフラッシュされるため、
+-- アウトボックス行の方が先にINSERTされることがある）。
+CREATE TABLE notification_outbox (
+    id NUMBER(19) GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type VARCHAR2(50) NOT NULL,
+    task_id NUMBER(19) NOT NULL,
+    title VARCHAR2(255) NOT NULL,
+    status VARCHAR2(20) DEFAULT 'PENDING' NOT NULL,
+    attempts NUMBER(10) DEFAULT 0 NOT NULL,
+    next_attempt_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    last_error VARCHAR2(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- ディスパッチャの検索条件（status = 'PENDING' AND next_attempt_at <= 現在時刻）
+CREATE INDEX idx_outbox_status_next ON notification_outbox(status, next_attempt_at);
+
+-- コメント
+COMMENT ON TABLE notification_outbox IS '通知アウトボックス';
+COMMENT ON COLUMN notification_outbox.id IS 'イベントID（自動採番）';
+COMMENT ON COLUMN notification_outbox.event_type IS 'イベント種別（TASK_CREATED）';
+COMMENT ON COLUMN notification_outbox.task_id IS 'タスクID';
+COMMENT ON COLUMN notification_outbox.title IS 'タスクタイトル';
+COMMENT ON COLUMN notification_outbox.status IS '状態（PENDING/DEAD）';
+COMMENT ON COLUMN notification_outbox.attempts IS '送信失敗回数';
+COMMENT ON COLUMN notification_outbox.next_attempt_at IS '次回送信日時';
+COMMENT ON COLUMN notification_outbox.last_error IS '最後の送信エラー';
+COMMENT ON COLUMN notification_outbox.created_at IS '作成日時';
+COMMENT ON COLUMN notification_outbox.updated_at IS '更新日時';
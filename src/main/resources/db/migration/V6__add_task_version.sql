@@ -0,0 +1,8 @@
+-- 楽観的ロック用のバージョン列（Oracle用）
+--
+-- 更新のたびに +1 し、UPDATE の WHERE 句で読み込み時の値と比較する。
+-- 一致しない（他のノード・リクエストが先に更新した）場合は0件更新となり、更新の消失を防ぐ。
+-- 既存行は 0 から始める。
+ALTER TABLE tasks ADD (version NUMBER(19) DEFAULT 0 NOT NULL);
+
+COMMENT ON COLUMN tasks.version IS '楽観的ロック用バージョン（更新ごとに+1）';
@@ -0,0 +1,16 @@
+-- 短い description を行内の VARCHAR2 に格納する（Oracle用）
+--
+-- CLOB は値が短くても LOB ロケータとして返るため、読み込みのたびに LOB 読み出しの往復と
+-- 一時LOBが発生する。4000バイト以下の説明は description_text（VARCHAR2）に、
+-- それを超えるものだけを従来の description（CLOB）に格納する（どちらか一方のみ値を持つ）。
+ALTER TABLE tasks ADD (description_text VARCHAR2(4000 BYTE));
+
+-- 既存データ: 1000文字以下（AL32UTF8 で必ず4000バイト以下）を description_text へ移す
+UPDATE tasks
+SET description_text = DBMS_LOB.SUBSTR(description, 1000, 1),
+    description = NULL
+WHERE description IS NOT NULL
+  AND DBMS_LOB.GETLENGTH(description) <= 1000;
+
+COMMENT ON COLUMN tasks.description_text IS 'タスク詳細説明（4000バイト以下、行内格納）';
+COMMENT ON COLUMN tasks.description IS 'タスク詳細説明（4000バイト超のみ、CLOB）';
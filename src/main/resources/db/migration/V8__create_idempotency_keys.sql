@@ -0,0 +1,26 @@
+-- POST /tasks の冪等キー（Oracle用）
+--
+-- キーのINSERTはタスク作成と同じトランザクションで行い、結果（response_body）もコミット前に書き込む。
+-- 同じキーの同時リクエストは主キーのINSERTで先行トランザクションの終了を待つため、
+-- コミット済みの行は必ず結果を持つ（ロールバックした場合は行も残らない）。
+-- expires_at を過ぎた行はバックグラウンドで少しずつ削除する。
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR2(255) PRIMARY KEY,
+    fingerprint VARCHAR2(64) NOT NULL,
+    task_id NUMBER(19),
+    response_body CLOB,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- 期限切れの削除（expires_at < 現在時刻）
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys(expires_at);
+
+-- コメント
+COMMENT ON TABLE idempotency_keys IS '冪等キー（POST /tasks）';
+COMMENT ON COLUMN idempotency_keys.idempotency_key IS 'Idempotency-Key ヘッダーの値';
+COMMENT ON COLUMN idempotency_keys.fingerprint IS 'リクエスト内容のハッシュ（SHA-256）';
+COMMENT ON COLUMN idempotency_keys.task_id IS '作成したタスクID';
+COMMENT ON COLUMN idempotency_keys.response_body IS '作成時のタスク（JSON）';
+COMMENT ON COLUMN idempotency_keys.created_at IS '作成日時';
+COMMENT ON COLUMN idempotency_keys.expires_at IS '保持期限';
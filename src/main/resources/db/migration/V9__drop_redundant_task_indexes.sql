@@ -0,0 +1,9 @@
+-- V1 の単一列インデックスを削除（Oracle用）
+--
+-- V4 の一覧用インデックスが同じ列を先頭に持つため、検索には使われない:
+-- - idx_tasks_status     (status)     → idx_tasks_status_created_id (status, created_at, ...)
+-- - idx_tasks_created_at (created_at) → idx_tasks_created_id (created_at, id, ...)
+-- 残しておくと INSERT・更新のたびに維持するインデックスが4つになる（一括作成のスループットが下がる）。
+
+DROP INDEX idx_tasks_status;
+DROP INDEX idx_tasks_created_at;
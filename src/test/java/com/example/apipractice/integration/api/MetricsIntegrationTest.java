@@ -0,0 +1,99 @@
+package com.example.apipractice.integration.api;
+
+import com.example.apipractice.integration.config.TestcontainersConfig;
+import com.example.apipractice.interfaces.rest.dto.CreateTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.TaskResponse;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Prometheus エンドポイントの統合テスト
+ * IT: Spring起動 + Testcontainers（Oracle XE） + WireMock（ユーザー検証API）
+ *
+ * テスト方針:
+ * - タスク作成後に /actuator/prometheus を取得し、ユースケース・DB操作・外部API呼び出しの
+ *   ヒストグラムと接続プールのゲージが公開されていることを確認する
+ * - ユーザーIDがタグ（時系列）に含まれないことを確認する
+ * - テストでは既定でメトリクスの公開が無効になるため @AutoConfigureObservability で有効にする
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@Tag("integration")
+class MetricsIntegrationTest extends TestcontainersConfig {
+
+    private static final String USER_ID = "metrics-user-4711";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private static WireMockServer userValidationWireMock;
+
+    @BeforeAll
+    static void startWireMock() {
+        userValidationWireMock = new WireMockServer(8082);
+        userValidationWireMock.start();
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        userValidationWireMock.stop();
+    }
+
+    @BeforeEach
+    void setupWireMock() {
+        userValidationWireMock.resetAll();
+        WireMock.configureFor("localhost", 8082);
+        stubFor(get(urlMatching("/api/users/.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"userId\":\"test-user\",\"username\":\"Test User\",\"active\":true}")));
+    }
+
+    @DynamicPropertySource
+    static void setWireMockUrl(DynamicPropertyRegistry registry) {
+        registry.add("user.validation.api.url", () -> "http://localhost:8082/api/users");
+        registry.add("user.validation.cache.enabled", () -> "false");
+    }
+
+    @Test
+    void タスク作成後の処理時間がヒストグラムとして公開されユーザーIDはタグにならない() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId(USER_ID);
+        request.setTitle("Metrics Task");
+        ResponseEntity<TaskResponse> created = restTemplate.postForEntity("/tasks", request, TaskResponse.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        // when
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        // then
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String body = scrape.getBody();
+        assertThat(body)
+                .containsPattern("task_usecase_seconds_bucket\\{[^}]*usecase=\"create\"")
+                .containsPattern("task_repository_seconds_bucket\\{[^}]*operation=\"save\"")
+                .containsPattern("task_client_seconds_bucket\\{[^}]*client=\"user_validation\"[^}]*operation=\"exists_user\"")
+                .containsPattern("task_usecase_seconds_count\\{[^}]*exception=\"none\"")
+                .containsPattern("http_server_requests_seconds_bucket\\{[^}]*uri=\"/tasks\"")
+                .contains("hikaricp_connections_active")
+                .contains("httpcomponents_httpclient_pool_total_connections")
+                .doesNotContain(USER_ID)
+                .doesNotContain("taskId=");
+    }
+}
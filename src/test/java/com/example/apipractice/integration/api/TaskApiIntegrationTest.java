@@ -1,20 +1,46 @@
 package com.example.apipractice.integration.api;
 
+import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.infrastructure.outbox.NotificationOutboxDispatcher;
 import com.example.apipractice.integration.config.TestcontainersConfig;
+import com.example.apipractice.interfaces.rest.dto.BatchCreateTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.BatchCreateTaskResponse;
+import com.example.apipractice.interfaces.rest.dto.BulkCompleteTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.BulkCompleteTaskResponse;
 import com.example.apipractice.interfaces.rest.dto.CreateTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.TaskLookupRequest;
+import com.example.apipractice.interfaces.rest.dto.TaskLookupResponse;
+import com.example.apipractice.interfaces.rest.dto.TaskPageResponse;
 import com.example.apipractice.interfaces.rest.dto.TaskResponse;
+import com.example.apipractice.interfaces.rest.dto.TaskSummaryResponse;
+import com.example.apipractice.usecase.service.TaskCompletionResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.*;
 
@@ -35,6 +61,12 @@ class TaskApiIntegrationTest extends TestcontainersConfig {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private NotificationOutboxDispatcher notificationOutboxDispatcher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private static WireMockServer notificationWireMock;
     private static WireMockServer userValidationWireMock;
 
@@ -68,6 +100,9 @@ class TaskApiIntegrationTest extends TestcontainersConfig {
         notificationWireMock.resetAll();
         userValidationWireMock.resetAll();
 
+        // 他のテストで作成された送信待ちの通知を残さない
+        jdbcTemplate.update("DELETE FROM notification_outbox");
+
         // 通知API のモック設定
         WireMock.configureFor("localhost", 8081);
         stubFor(post(urlEqualTo("/notifications"))
@@ -92,6 +127,8 @@ class TaskApiIntegrationTest extends TestcontainersConfig {
     static void setWireMockUrl(DynamicPropertyRegistry registry) {
         registry.add("notification.api.url", () -> "http://localhost:8081/notifications");
         registry.add("user.validation.api.url", () -> "http://localhost:8082/api/users");
+        // テストごとにスタブを差し替え、呼び出し回数を検証するためキャッシュしない
+        registry.add("user.validation.cache.enabled", () -> "false");
     }
 
     @Test
@@ -120,8 +157,13 @@ class TaskApiIntegrationTest extends TestcontainersConfig {
         WireMock.configureFor("localhost", 8082);
         verify(1, getRequestedFor(urlEqualTo("/api/users/user123")));
 
+        // 通知はアウトボックス経由（ディスパッチャの実行で送信される）
         WireMock.configureFor("localhost", 8081);
-        verify(1, postRequestedFor(urlEqualTo("/notifications")));
+        verify(0, postRequestedFor(urlEqualTo("/notifications")));
+        notificationOutboxDispatcher.dispatchPending();
+        verify(1, postRequestedFor(urlEqualTo("/notifications"))
+                .withRequestBody(matchingJsonPath("$.taskId", equalTo(String.valueOf(taskId)))));
+        assertThat(outboxCount("PENDING")).isZero();
 
         // 2. GET /tasks/{id} - タスク取得
         ResponseEntity<TaskResponse> getResponse = restTemplate.getForEntity(
@@ -186,6 +228,244 @@ class TaskApiIntegrationTest extends TestcontainersConfig {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
 
+    @Test
+    void 同じタスクを同時に完了しても成功するのは1件だけ() throws Exception {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user789");
+        request.setTitle("Concurrent Task");
+        Long taskId = restTemplate.postForEntity("/tasks", request, TaskResponse.class).getBody().getId();
+
+        // when
+        List<HttpStatus> statuses;
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<ResponseEntity<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() ->
+                        restTemplate.postForEntity("/tasks/" + taskId + "/complete", null, String.class)));
+            }
+            statuses = new ArrayList<>();
+            for (Future<ResponseEntity<String>> future : futures) {
+                statuses.add(HttpStatus.valueOf(future.get().getStatusCode().value()));
+            }
+        }
+
+        // then
+        assertThat(statuses).containsOnlyOnce(HttpStatus.OK);
+        assertThat(statuses).filteredOn(status -> status == HttpStatus.BAD_REQUEST).hasSize(3);
+    }
+
+    @Test
+    void 同じIdempotencyKeyの再送は最初のレスポンスを返しタスクと通知は1件だけ() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user789");
+        request.setTitle("Idempotent Task");
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        ResponseEntity<TaskResponse> first = restTemplate.postForEntity(
+                "/tasks", new HttpEntity<>(request, headers), TaskResponse.class);
+        Long taskId = first.getBody().getId();
+        restTemplate.postForEntity("/tasks/" + taskId + "/complete", null, TaskResponse.class);
+
+        // when: 完了後に再送
+        ResponseEntity<TaskResponse> replay = restTemplate.postForEntity(
+                "/tasks", new HttpEntity<>(request, headers), TaskResponse.class);
+
+        // then: 作成時のレスポンスと同じ内容
+        assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replay.getBody().getId()).isEqualTo(taskId);
+        assertThat(replay.getBody().getStatus()).isEqualTo(TaskStatus.TODO);
+        assertThat(replay.getBody().getVersion()).isEqualTo(first.getBody().getVersion());
+        userValidationWireMock.verify(1, getRequestedFor(urlEqualTo("/api/users/user789")));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tasks WHERE title = 'Idempotent Task'", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification_outbox WHERE task_id = ?", Integer.class, taskId)).isEqualTo(1);
+    }
+
+    @Test
+    void 同じIdempotencyKeyの同時リクエストは処理中なら先行リクエストの完了を待って同じタスクを返す() throws Exception {
+        // given: ユーザー確認が遅く、先行リクエストの処理中に後続が届く
+        WireMock.configureFor("localhost", 8082);
+        stubFor(get(urlEqualTo("/api/users/user-slow"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(500)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"userId\":\"user-slow\",\"username\":\"Slow User\",\"active\":true}")));
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user-slow");
+        request.setTitle("Concurrent Idempotent Task");
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+
+        // when
+        List<ResponseEntity<TaskResponse>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<ResponseEntity<TaskResponse>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> restTemplate.postForEntity(
+                        "/tasks", new HttpEntity<>(request, headers), TaskResponse.class)));
+            }
+            for (Future<ResponseEntity<TaskResponse>> future : futures) {
+                responses.add(future.get());
+            }
+        }
+        ResponseEntity<TaskResponse> retry = restTemplate.postForEntity(
+                "/tasks", new HttpEntity<>(request, headers), TaskResponse.class);
+
+        // then: 作成は1回だけ。処理中に届いたリクエストは in-flight-wait（5秒）以内に完了を待ち、同じタスクを返す
+        assertThat(responses).extracting(ResponseEntity::getStatusCode).containsOnly(HttpStatus.CREATED);
+        Long taskId = responses.get(0).getBody().getId();
+        assertThat(responses).extracting(response -> response.getBody().getId()).containsOnly(taskId);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getBody().getId()).isEqualTo(taskId);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tasks WHERE title = 'Concurrent Idempotent Task'", Integer.class)).isEqualTo(1);
+        userValidationWireMock.verify(1, getRequestedFor(urlEqualTo("/api/users/user-slow")));
+    }
+
+    @Test
+    void 同じIdempotencyKeyで内容の異なるリクエストは422が返る() {
+        // given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user789");
+        request.setTitle("Original Task");
+        restTemplate.postForEntity("/tasks", new HttpEntity<>(request, headers), TaskResponse.class);
+        request.setTitle("Different Task");
+
+        // when
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/tasks", new HttpEntity<>(request, headers), String.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    void ETagのバージョンをIfMatchに指定して完了でき古いバージョンでは412が返る() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user789");
+        request.setTitle("Versioned Task");
+        Long taskId = restTemplate.postForEntity("/tasks", request, TaskResponse.class).getBody().getId();
+        ResponseEntity<TaskResponse> getResponse = restTemplate.getForEntity("/tasks/" + taskId, TaskResponse.class);
+        String eTag = getResponse.getHeaders().getETag();
+        assertThat(eTag).isEqualTo("\"" + getResponse.getBody().getVersion() + "\"");
+
+        // when: 古いバージョンを指定
+        HttpHeaders staleHeaders = new HttpHeaders();
+        staleHeaders.setIfMatch("\"" + (getResponse.getBody().getVersion() + 1) + "\"");
+        ResponseEntity<String> staleResponse = restTemplate.postForEntity(
+                "/tasks/" + taskId + "/complete", new HttpEntity<>(null, staleHeaders), String.class);
+
+        // then
+        assertThat(staleResponse.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        // when: 読み込んだバージョンを指定
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(eTag);
+        ResponseEntity<TaskResponse> completeResponse = restTemplate.postForEntity(
+                "/tasks/" + taskId + "/complete", new HttpEntity<>(null, headers), TaskResponse.class);
+
+        // then: 完了後のバージョンがETagで返る
+        assertThat(completeResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(completeResponse.getBody().getStatus().toString()).isEqualTo("DONE");
+        assertThat(completeResponse.getHeaders().getETag())
+                .isEqualTo("\"" + (getResponse.getBody().getVersion() + 1) + "\"");
+    }
+
+    @Test
+    void 変更が無ければIfNoneMatchで304が返り完了後は新しいETagで200が返る() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user789");
+        request.setTitle("Polled Task");
+        Long taskId = restTemplate.postForEntity("/tasks", request, TaskResponse.class).getBody().getId();
+        ResponseEntity<TaskResponse> first = restTemplate.getForEntity("/tasks/" + taskId, TaskResponse.class);
+        String eTag = first.getHeaders().getETag();
+        assertThat(first.getHeaders().getLastModified()).isPositive();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+
+        // when: 変更なし
+        ResponseEntity<String> notModified = restTemplate.exchange(
+                "/tasks/" + taskId, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // then
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+        assertThat(notModified.getHeaders().getETag()).isEqualTo(eTag);
+
+        // when: 完了後
+        restTemplate.postForEntity("/tasks/" + taskId + "/complete", null, TaskResponse.class);
+        ResponseEntity<TaskResponse> modified = restTemplate.exchange(
+                "/tasks/" + taskId, HttpMethod.GET, new HttpEntity<>(headers), TaskResponse.class);
+
+        // then
+        assertThat(modified.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(modified.getBody().getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(modified.getHeaders().getETag()).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void 繰り返しのGETはキャッシュした本文をJSONとして返し完了後は新しい本文になる() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user789");
+        request.setTitle("Hot Task");
+        Long taskId = restTemplate.postForEntity("/tasks", request, TaskResponse.class).getBody().getId();
+        ResponseEntity<String> first = restTemplate.getForEntity("/tasks/" + taskId, String.class);
+
+        // when
+        ResponseEntity<String> second = restTemplate.getForEntity("/tasks/" + taskId, String.class);
+
+        // then
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(second.getHeaders().getContentLength()).isEqualTo(second.getBody().getBytes(StandardCharsets.UTF_8).length);
+        assertThat(second.getBody()).isEqualTo(first.getBody());
+        assertThat(second.getHeaders().getETag()).isEqualTo(first.getHeaders().getETag());
+
+        // when: 完了後
+        restTemplate.postForEntity("/tasks/" + taskId + "/complete", null, TaskResponse.class);
+        ResponseEntity<TaskResponse> completed = restTemplate.getForEntity("/tasks/" + taskId, TaskResponse.class);
+
+        // then
+        assertThat(completed.getBody().getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(completed.getHeaders().getETag()).isNotEqualTo(first.getHeaders().getETag());
+    }
+
+    @Test
+    void XServerTimingヘッダー付きの作成と完了にはフェーズごとの処理時間が返る() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user789");
+        request.setTitle("Timed Task");
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Server-Timing", "1");
+
+        // when
+        ResponseEntity<TaskResponse> created = restTemplate.exchange(
+                "/tasks", HttpMethod.POST, new HttpEntity<>(request, headers), TaskResponse.class);
+        ResponseEntity<TaskResponse> completed = restTemplate.exchange(
+                "/tasks/" + created.getBody().getId() + "/complete", HttpMethod.POST,
+                new HttpEntity<>(null, headers), TaskResponse.class);
+        ResponseEntity<TaskResponse> untimed = restTemplate.postForEntity("/tasks", request, TaskResponse.class);
+
+        // then
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(created.getHeaders().getFirst("Server-Timing"))
+                .matches("user;dur=[\\d.]+, construct;dur=[\\d.]+, db;dur=[\\d.]+, notify;dur=[\\d.]+, commit;dur=[\\d.]+, total;dur=[\\d.]+");
+        assertThat(completed.getHeaders().getFirst("Server-Timing"))
+                .matches("db;dur=[\\d.]+, total;dur=[\\d.]+");
+        assertThat(untimed.getHeaders().containsKey("Server-Timing")).isFalse();
+    }
+
     @Test
     void POSTで作成したタスクがGETで取得できる() {
         // given
@@ -339,7 +619,321 @@ class TaskApiIntegrationTest extends TestcontainersConfig {
         verify(1, getRequestedFor(urlEqualTo("/api/users/unknown-user")));
 
         // 通知APIは呼ばれないことを確認
+        notificationOutboxDispatcher.dispatchPending();
         WireMock.configureFor("localhost", 8081);
         verify(0, postRequestedFor(urlEqualTo("/notifications")));
     }
+
+    @Test
+    void 非同期APIで作成したタスクがGETで取得でき通知はアウトボックスに積まれる() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("async-user");
+        request.setTitle("Async Task");
+        request.setDescription("Created via async pipeline");
+
+        // when
+        ResponseEntity<TaskResponse> createResponse = restTemplate.postForEntity(
+                "/tasks/async",
+                request,
+                TaskResponse.class
+        );
+
+        // then
+        assertThat(createResponse.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(createResponse.getBody()).isNotNull();
+        Long taskId = createResponse.getBody().getId();
+        assertThat(taskId).isNotNull();
+
+        WireMock.configureFor("localhost", 8082);
+        verify(1, getRequestedFor(urlEqualTo("/api/users/async-user")));
+        assertThat(outboxCount("PENDING")).isEqualTo(1);
+
+        ResponseEntity<TaskResponse> getResponse = restTemplate.getForEntity("/tasks/" + taskId, TaskResponse.class);
+        assertThat(getResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(getResponse.getBody().getTitle()).isEqualTo("Async Task");
+    }
+
+    @Test
+    void 非同期APIで存在しないユーザーを指定すると400が返る() {
+        // given
+        WireMock.configureFor("localhost", 8082);
+        stubFor(get(urlEqualTo("/api/users/unknown-user"))
+                .willReturn(aResponse()
+                        .withStatus(404)));
+
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("unknown-user");
+        request.setTitle("Test Task");
+
+        // when
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/tasks/async",
+                request,
+                String.class
+        );
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(outboxCount("PENDING")).isZero();
+    }
+
+    @Test
+    void 通知APIが失敗してもタスク作成は成功し通知は再送予定として残る() {
+        // given: 通知APIが障害中
+        WireMock.configureFor("localhost", 8081);
+        stubFor(post(urlEqualTo("/notifications"))
+                .willReturn(aResponse().withStatus(503)));
+
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user123");
+        request.setTitle("Outbox Retry Task");
+
+        // when
+        ResponseEntity<TaskResponse> response = restTemplate.postForEntity("/tasks", request, TaskResponse.class);
+        notificationOutboxDispatcher.dispatchPending();
+
+        // then: タスクは作成済み、通知は1回失敗してバックオフ中
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        verify(1, postRequestedFor(urlEqualTo("/notifications")));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT attempts FROM notification_outbox WHERE task_id = ? AND status = 'PENDING'"
+                        + " AND next_attempt_at > SYSTIMESTAMP AND last_error IS NOT NULL",
+                Integer.class, response.getBody().getId())).isEqualTo(1);
+
+        // バックオフ中は再送しない
+        notificationOutboxDispatcher.dispatchPending();
+        verify(1, postRequestedFor(urlEqualTo("/notifications")));
+    }
+
+    @Test
+    void 一括作成で明細ごとの結果が返りDBに保存される() {
+        // given: 2件目のユーザーだけ存在しない
+        WireMock.configureFor("localhost", 8082);
+        stubFor(get(urlEqualTo("/api/users/unknown-batch-user"))
+                .willReturn(aResponse()
+                        .withStatus(404)));
+
+        CreateTaskRequest item1 = new CreateTaskRequest();
+        item1.setUserId("batch-user");
+        item1.setTitle("Batch Task 1");
+        item1.setDescription("First");
+
+        CreateTaskRequest item2 = new CreateTaskRequest();
+        item2.setUserId("unknown-batch-user");
+        item2.setTitle("Batch Task 2");
+
+        CreateTaskRequest item3 = new CreateTaskRequest();
+        item3.setUserId("batch-user");
+        item3.setTitle("Batch Task 3");
+
+        BatchCreateTaskRequest request = new BatchCreateTaskRequest();
+        request.setTasks(List.of(item1, item2, item3));
+
+        // when
+        ResponseEntity<BatchCreateTaskResponse> response = restTemplate.postForEntity(
+                "/tasks/batch",
+                request,
+                BatchCreateTaskResponse.class
+        );
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getSucceeded()).isEqualTo(2);
+        assertThat(response.getBody().getFailed()).isEqualTo(1);
+        assertThat(response.getBody().getResults().get(1).getError()).contains("unknown-batch-user");
+
+        // 同一ユーザーの検証は1回のみ
+        WireMock.configureFor("localhost", 8082);
+        verify(1, getRequestedFor(urlEqualTo("/api/users/batch-user")));
+
+        // 作成されたタスクはGETで取得できる
+        Long taskId = response.getBody().getResults().get(2).getTask().getId();
+        ResponseEntity<TaskResponse> getResponse = restTemplate.getForEntity("/tasks/" + taskId, TaskResponse.class);
+        assertThat(getResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(getResponse.getBody().getTitle()).isEqualTo("Batch Task 3");
+    }
+
+    @Test
+    void 一覧をカーソルでページングして全件を重複なく取得できる() {
+        // given: 5件作成（この時刻より後に作成されたものだけを対象にする）
+        LocalDateTime createdAfter = LocalDateTime.now().minusSeconds(1);
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setUserId("user-page");
+            request.setTitle("Page Task " + i);
+            request.setDescription("一覧には含まれない説明");
+            createdIds.add(restTemplate.postForEntity("/tasks", request, TaskResponse.class).getBody().getId());
+        }
+
+        // when: 2件ずつ取得
+        List<Long> listedIds = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String url = "/tasks?createdAfter={createdAfter}&limit=2" + (cursor == null ? "" : "&cursor=" + cursor);
+            ResponseEntity<TaskPageResponse> response = restTemplate.getForEntity(
+                    url, TaskPageResponse.class, createdAfter.toString());
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            response.getBody().getItems().stream()
+                    .filter(item -> item.getTitle().startsWith("Page Task"))
+                    .map(TaskSummaryResponse::getId)
+                    .forEach(listedIds::add);
+            cursor = response.getBody().getNextCursor();
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        // then: 作成順に全件取得できる
+        assertThat(listedIds).containsExactlyElementsOf(createdIds);
+    }
+
+    @Test
+    void 不正なカーソルで一覧を取得すると400が返る() {
+        // when
+        ResponseEntity<String> response = restTemplate.getForEntity("/tasks?cursor=broken", String.class);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void 一括完了でIDごとに完了済み存在しないが報告されGETにも反映される() {
+        // given: 2件作成し、1件は先に完了しておく
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setUserId("user-bulk");
+            request.setTitle("Bulk Complete Task " + i);
+            createdIds.add(restTemplate.postForEntity("/tasks", request, TaskResponse.class).getBody().getId());
+        }
+        restTemplate.getForEntity("/tasks/" + createdIds.get(0), TaskResponse.class);  // キャッシュに載せる
+        restTemplate.postForEntity("/tasks/" + createdIds.get(1) + "/complete", null, TaskResponse.class);
+
+        BulkCompleteTaskRequest bulkRequest = new BulkCompleteTaskRequest();
+        bulkRequest.setIds(List.of(createdIds.get(0), createdIds.get(1), -1L));
+
+        // when
+        ResponseEntity<BulkCompleteTaskResponse> response = restTemplate.postForEntity(
+                "/tasks/complete",
+                bulkRequest,
+                BulkCompleteTaskResponse.class
+        );
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getResults())
+                .extracting(BulkCompleteTaskResponse.Item::getOutcome)
+                .containsExactly(
+                        TaskCompletionResult.Outcome.COMPLETED,
+                        TaskCompletionResult.Outcome.ALREADY_DONE,
+                        TaskCompletionResult.Outcome.NOT_FOUND);
+        TaskResponse completed = restTemplate.getForEntity("/tasks/" + createdIds.get(0), TaskResponse.class).getBody();
+        assertThat(completed.getStatus()).isEqualTo(TaskStatus.DONE);
+    }
+
+    @Test
+    void 複数IDを一括取得するとリクエスト順で返り存在しないIDが報告される() {
+        // given
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setUserId("user-lookup");
+            request.setTitle("Lookup Task " + i);
+            createdIds.add(restTemplate.postForEntity("/tasks", request, TaskResponse.class).getBody().getId());
+        }
+
+        TaskLookupRequest lookupRequest = new TaskLookupRequest();
+        lookupRequest.setIds(List.of(createdIds.get(2), -1L, createdIds.get(0), createdIds.get(1)));
+
+        // when
+        ResponseEntity<TaskLookupResponse> response = restTemplate.postForEntity(
+                "/tasks/lookup",
+                lookupRequest,
+                TaskLookupResponse.class
+        );
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getItems())
+                .extracting(TaskResponse::getTitle)
+                .containsExactly("Lookup Task 3", "Lookup Task 1", "Lookup Task 2");
+        assertThat(response.getBody().getMissingIds()).containsExactly(-1L);
+    }
+
+    @Test
+    void エクスポートで条件に一致するタスクがNDJSONで返る() throws Exception {
+        // given: 2件作成し、1件を完了にする
+        LocalDateTime createdAfter = LocalDateTime.now().minusSeconds(1);
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user-export");
+        request.setTitle("Export Task TODO");
+        request.setDescription("エクスポート対象外");
+        restTemplate.postForEntity("/tasks", request, TaskResponse.class);
+
+        request.setTitle("Export Task DONE");
+        request.setDescription("エクスポート対象");
+        Long doneId = restTemplate.postForEntity("/tasks", request, TaskResponse.class).getBody().getId();
+        restTemplate.postForEntity("/tasks/" + doneId + "/complete", null, TaskResponse.class);
+
+        // when
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "/tasks/export?status=DONE&createdAfter={createdAfter}",
+                String.class,
+                createdAfter.toString()
+        );
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> titles = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) {
+            titles.add(objectMapper.readTree(line).get("title").asText());
+        }
+        assertThat(titles).containsExactly("Export Task DONE");
+        assertThat(response.getBody()).contains("エクスポート対象");
+    }
+
+    @Test
+    void NDJSONをインポートすると不正な行だけが失敗として報告される() throws Exception {
+        // given: 2行目は不正なJSON、3行目はタイトルなし
+        String body = """
+                {"userId":"user-import","title":"Import Task 1","description":"インポート"}
+                {broken
+                {"userId":"user-import"}
+                {"userId":"user-import","title":"Import Task 4"}
+                """;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+
+        // when
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                "/tasks/import",
+                new HttpEntity<>(body, headers),
+                String.class
+        );
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ObjectMapper objectMapper = new ObjectMapper();
+        String[] lines = response.getBody().split("\n");
+        var summary = objectMapper.readTree(lines[lines.length - 1]);
+        assertThat(summary.get("type").asText()).isEqualTo("summary");
+        assertThat(summary.get("succeeded").asLong()).isEqualTo(2L);
+        assertThat(summary.get("failed").asLong()).isEqualTo(2L);
+        assertThat(response.getBody()).contains("\"line\":2", "\"line\":3", "Title is required");
+
+        // 同一ユーザーの検証は1回のみ（チャンク単位）
+        WireMock.configureFor("localhost", 8082);
+        verify(1, getRequestedFor(urlEqualTo("/api/users/user-import")));
+    }
+
+    private int outboxCount(String status) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notification_outbox WHERE status = ?", Integer.class, status);
+    }
 }
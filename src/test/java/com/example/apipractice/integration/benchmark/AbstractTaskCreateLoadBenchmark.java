@@ -0,0 +1,168 @@
+package com.example.apipractice.integration.benchmark;
+
+import com.example.apipractice.integration.config.TestcontainersConfig;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.*;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * POST /tasks の同時接続数ごとの負荷計測（共通部分）
+ * IT: Spring起動 + Testcontainers（Oracle XE） + WireMock（外部API）
+ *
+ * 目的:
+ * - プラットフォームスレッド（Tomcatスレッドプール）と仮想スレッドで、
+ *   1,000 / 10,000 クライアントが同時に POST /tasks したときのスループット・レイテンシ・エラー数を比較する
+ * - ユーザー検証APIには固定の遅延を入れ、キャッシュは無効にする（毎回ブロッキングI/Oが発生する状態）
+ * - Oracleへの同時実行数はどちらも同じDB接続プール（hikari.maximum-pool-size）で制限される
+ * - 計測値は標準出力に表示（閾値での合否判定はしない）
+ *
+ * 実行方法:
+ * ./gradlew benchmarkTest
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+abstract class AbstractTaskCreateLoadBenchmark extends TestcontainersConfig {
+
+    private static final int REQUESTS_PER_CLIENT = 3;
+    private static final int USER_API_DELAY_MILLIS = 20;
+
+    private static final WireMockServer externalApiWireMock = new WireMockServer(
+            options().dynamicPort().containerThreads(2000).jettyAcceptQueueSize(10000));
+
+    // プラットフォーム/仮想スレッドの両方のテストクラスで共有するため、停止はJVM終了時に行う
+    static {
+        externalApiWireMock.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(externalApiWireMock::stop));
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void setLoadTestProperties(DynamicPropertyRegistry registry) {
+        registry.add("notification.api.url", () -> externalApiWireMock.baseUrl() + "/notifications");
+        registry.add("user.validation.api.url", () -> externalApiWireMock.baseUrl() + "/api/users");
+        // 毎回ユーザー検証APIを呼ばせる
+        registry.add("user.validation.cache.enabled", () -> "false");
+        // スレッドの違いだけを比べるため、接続の受け付け上限はどちらのモードでも同じにする
+        registry.add("server.tomcat.max-connections", () -> "20000");
+        registry.add("server.tomcat.accept-count", () -> "1000");
+    }
+
+    @BeforeAll
+    static void setupWireMock() {
+        externalApiWireMock.resetAll();
+        externalApiWireMock.stubFor(post(urlEqualTo("/notifications"))
+                .willReturn(aResponse().withStatus(200)));
+        externalApiWireMock.stubFor(get(urlMatching("/api/users/.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(USER_API_DELAY_MILLIS)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"userId\":\"load-user\",\"username\":\"Load User\",\"active\":true}")));
+    }
+
+    /**
+     * 計測結果の表示に使うモード名
+     */
+    abstract String mode();
+
+    @Test
+    @Order(1)
+    void 同時1000クライアント() throws Exception {
+        run(100);  // ウォームアップ
+        run(1_000);
+    }
+
+    @Test
+    @Order(2)
+    void 同時10000クライアント() throws Exception {
+        run(10_000);
+    }
+
+    // clients 個の仮想スレッドがそれぞれ REQUESTS_PER_CLIENT 回 POST /tasks し、結果を表示する
+    private void run(int clients) throws Exception {
+        long[] latencies = new long[clients * REQUESTS_PER_CLIENT];
+        AtomicInteger errors = new AtomicInteger();
+        URI uri = URI.create("http://localhost:" + port + "/tasks");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .executor(executor)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                futures.add(executor.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        int index = client * REQUESTS_PER_CLIENT + r;
+                        latencies[index] = post(httpClient, uri, index, errors);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            printResult(clients, latencies, errors.get(), elapsedNanos);
+        }
+    }
+
+    private long post(HttpClient httpClient, URI uri, int index, AtomicInteger errors) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"userId\":\"load-user-" + (index % 100) + "\",\"title\":\"Load Task " + index + "\"}"))
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 201) {
+                errors.incrementAndGet();
+            }
+        } catch (Exception e) {
+            errors.incrementAndGet();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void printResult(int clients, long[] latencies, int errors, long elapsedNanos) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.println("\n" + "=".repeat(80));
+        System.out.printf("📊 %s / %,d clients: %,d requests in %.2fs (%.1f req/sec)%n",
+                mode(), clients, latencies.length, seconds, latencies.length / seconds);
+        System.out.printf("   latency p50=%.1f ms p99=%.1f ms max=%.1f ms, errors=%d%n",
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99),
+                sorted[sorted.length - 1] / 1_000_000.0, errors);
+        System.out.println("=".repeat(80) + "\n");
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
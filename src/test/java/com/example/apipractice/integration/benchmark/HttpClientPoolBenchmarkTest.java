@@ -0,0 +1,127 @@
+package com.example.apipractice.integration.benchmark;
+
+import com.example.apipractice.config.HttpClientConfig;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.*;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 外部API呼び出しのスループット計測（SimpleClientHttpRequestFactory vs コネクションプール）
+ * WireMock（外部API）のみ、Spring起動・DBなし
+ *
+ * 目的:
+ * - 従来の new RestTemplate()（SimpleClientHttpRequestFactory）と HttpClientConfig のプール付きRestTemplateで
+ *   同じ並列度の GET /api/users/{userId} の req/sec を比較する
+ * - 計測値は標準出力に表示（閾値での合否判定はしない）
+ *
+ * 実行方法:
+ * ./gradlew benchmarkTest
+ */
+@Tag("benchmark")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class HttpClientPoolBenchmarkTest {
+
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 500;
+    private static final int WARMUP_REQUESTS_PER_THREAD = 50;
+
+    private static final WireMockServer externalApiWireMock = new WireMockServer(
+            options().dynamicPort().containerThreads(THREADS * 2));
+
+    @BeforeAll
+    static void startWireMock() {
+        externalApiWireMock.start();
+        externalApiWireMock.stubFor(get(urlMatching("/api/users/.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"userId\":\"bench-user\",\"username\":\"Bench User\",\"active\":true}")));
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        externalApiWireMock.stop();
+    }
+
+    @Test
+    @Order(1)
+    void SimpleClientHttpRequestFactoryのスループット() throws Exception {
+        RestTemplate restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+
+        run(restTemplate, WARMUP_REQUESTS_PER_THREAD);
+        double perSecond = run(restTemplate, REQUESTS_PER_THREAD);
+
+        System.out.printf("[benchmark] SimpleClientHttpRequestFactory: %,.0f req/sec (%d threads)%n",
+                perSecond, THREADS);
+    }
+
+    @Test
+    @Order(2)
+    void コネクションプールのスループット() throws Exception {
+        HttpClientConfig config = new HttpClientConfig();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PoolingHttpClientConnectionManager connectionManager = config.httpClientConnectionManager(
+                meterRegistry, 200, 50, Duration.ofSeconds(1), Duration.ofSeconds(3), Duration.ofMinutes(5));
+        try (CloseableHttpClient httpClient = config.httpClient(
+                connectionManager, Duration.ofMillis(500), Duration.ofSeconds(3), Duration.ofSeconds(30))) {
+            RestTemplate restTemplate = config.restTemplate(httpClient);
+
+            run(restTemplate, WARMUP_REQUESTS_PER_THREAD);
+            double perSecond = run(restTemplate, REQUESTS_PER_THREAD);
+
+            Timer leaseTimer = meterRegistry.get("http.client.pool.lease").timer();
+            System.out.printf("[benchmark] Pooled HttpClient 5: %,.0f req/sec (%d threads, pooled connections=%d,"
+                            + " lease wait mean=%.3f ms max=%.3f ms)%n",
+                    perSecond, THREADS, connectionManager.getTotalStats().getAvailable(),
+                    leaseTimer.mean(TimeUnit.MILLISECONDS), leaseTimer.max(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    // 全スレッドで合計 THREADS × requestsPerThread 回呼び出し、req/sec を返す
+    private double run(RestTemplate restTemplate, int requestsPerThread) throws Exception {
+        String url = externalApiWireMock.baseUrl() + "/api/users/bench-user";
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    int ok = 0;
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        if (restTemplate.getForEntity(url, String.class).getStatusCode().is2xxSuccessful()) {
+                            ok++;
+                        }
+                    }
+                    return ok;
+                }));
+            }
+            int succeeded = 0;
+            for (Future<Integer> future : futures) {
+                succeeded += future.get();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+
+            assertThat(succeeded).isEqualTo(THREADS * requestsPerThread);
+            return succeeded / (elapsedNanos / 1_000_000_000.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.apipractice.integration.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * POST /tasks の負荷計測（プラットフォームスレッド: Tomcatスレッドプール）
+ *
+ * 実行方法:
+ * ./gradlew benchmarkTest
+ */
+@ActiveProfiles("test")
+@Tag("benchmark")
+class PlatformThreadLoadBenchmarkTest extends AbstractTaskCreateLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform threads";
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.apipractice.integration.benchmark;
+
+import com.example.apipractice.integration.config.TestcontainersConfig;
+import com.example.apipractice.interfaces.rest.dto.BatchCreateTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.BatchCreateTaskResponse;
+import com.example.apipractice.interfaces.rest.dto.CreateTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.TaskResponse;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * タスク作成スループットの計測（1件ずつ vs 一括作成）
+ * IT: Spring起動 + Testcontainers（Oracle XE） + WireMock（外部API）
+ *
+ * 目的:
+ * - POST /tasks を1件ずつ呼ぶ場合と POST /tasks/batch の rows/sec を比較する
+ * - 計測値は標準出力に表示（閾値での合否判定はしない）
+ *
+ * 実行方法:
+ * ./gradlew benchmarkTest
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Tag("benchmark")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TaskBatchInsertBenchmarkTest extends TestcontainersConfig {
+
+    private static final int ROWS = 1000;
+    private static final int WARMUP_ROWS = 100;
+
+    // 他のITと同時に動いても衝突しないよう動的ポートで起動
+    private static final WireMockServer externalApiWireMock = new WireMockServer(options().dynamicPort());
+
+    static {
+        externalApiWireMock.start();
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void setWireMockUrl(DynamicPropertyRegistry registry) {
+        registry.add("notification.api.url", () -> externalApiWireMock.baseUrl() + "/notifications");
+        registry.add("user.validation.api.url", () -> externalApiWireMock.baseUrl() + "/api/users");
+    }
+
+    @BeforeAll
+    static void setupWireMock() {
+        externalApiWireMock.stubFor(post(urlEqualTo("/notifications"))
+                .willReturn(aResponse().withStatus(200)));
+        externalApiWireMock.stubFor(get(urlMatching("/api/users/.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"userId\":\"bench-user\",\"username\":\"Bench User\",\"active\":true}")));
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        externalApiWireMock.stop();
+    }
+
+    @Test
+    @Order(1)
+    void 一件ずつ作成した場合のスループット() {
+        createOneByOne(WARMUP_ROWS);
+
+        long start = System.nanoTime();
+        createOneByOne(ROWS);
+        long elapsed = System.nanoTime() - start;
+
+        printResult("POST /tasks (1件ずつ)", elapsed);
+    }
+
+    @Test
+    @Order(2)
+    void 一括作成した場合のスループット() {
+        createInBatches(WARMUP_ROWS);
+
+        long start = System.nanoTime();
+        createInBatches(ROWS);
+        long elapsed = System.nanoTime() - start;
+
+        printResult("POST /tasks/batch", elapsed);
+    }
+
+    private void createOneByOne(int rows) {
+        for (int i = 0; i < rows; i++) {
+            ResponseEntity<TaskResponse> response = restTemplate.postForEntity("/tasks", newRequest(i), TaskResponse.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        }
+    }
+
+    private void createInBatches(int rows) {
+        for (int offset = 0; offset < rows; offset += BatchCreateTaskRequest.MAX_SIZE) {
+            int size = Math.min(BatchCreateTaskRequest.MAX_SIZE, rows - offset);
+            List<CreateTaskRequest> items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(newRequest(offset + i));
+            }
+            BatchCreateTaskRequest request = new BatchCreateTaskRequest();
+            request.setTasks(items);
+
+            ResponseEntity<BatchCreateTaskResponse> response =
+                    restTemplate.postForEntity("/tasks/batch", request, BatchCreateTaskResponse.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getSucceeded()).isEqualTo(size);
+        }
+    }
+
+    private CreateTaskRequest newRequest(int i) {
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("bench-user-" + (i % 10));
+        request.setTitle("Benchmark Task " + i);
+        request.setDescription("Benchmark description " + i);
+        return request;
+    }
+
+    private void printResult(String label, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.println("\n" + "=".repeat(80));
+        System.out.printf("📊 %s: %d rows in %.2fs (%.1f rows/sec)%n", label, ROWS, seconds, ROWS / seconds);
+        System.out.println("=".repeat(80) + "\n");
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.apipractice.integration.benchmark;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.integration.config.TestcontainersConfig;
+import com.example.apipractice.usecase.port.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 保存1回あたりのSQL文の数の計測
+ * IT: Spring起動 + Testcontainers（Oracle XE）
+ *
+ * 目的:
+ * - 新規作成（persist）は INSERT 1回で、merge の SELECT がないことを確認する
+ * - 文の数は Hibernate の統計（prepareStatementCount）で数え、標準出力に表示する
+ *
+ * 実行方法:
+ * ./gradlew benchmarkTest
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Tag("benchmark")
+class TaskSaveStatementBenchmarkTest extends TestcontainersConfig {
+
+    private static final int ROWS = 100;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void 新規作成はINSERTだけで追加のSELECTがない() {
+        // when
+        double insertStatements = statementsPerOperation(i -> taskRepository.save(newTask()));
+
+        // then: シーケンスの予約（1000件に1回）を除き INSERT 1回
+        printResult("新規作成（TaskRepository.save）", insertStatements);
+        assertThat(insertStatements).isLessThan(1.1);
+    }
+
+    private Task newTask() {
+        return Task.create("Statement Task", "Description");
+    }
+
+    // 1件1トランザクション（APIからの保存と同じ）で ROWS 件処理し、送られた文の数を1件あたりにする
+    private double statementsPerOperation(IntConsumer operation) {
+        long before = statistics.getPrepareStatementCount();
+        for (int i = 0; i < ROWS; i++) {
+            int index = i;
+            transactionTemplate.executeWithoutResult(status -> operation.accept(index));
+        }
+        return (double) (statistics.getPrepareStatementCount() - before) / ROWS;
+    }
+
+    private void printResult(String label, double statementsPerOperation) {
+        System.out.println("\n" + "=".repeat(80));
+        System.out.printf("📊 %s: %.2f statements/op%n", label, statementsPerOperation);
+        System.out.println("=".repeat(80) + "\n");
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.apipractice.integration.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * POST /tasks の負荷計測（仮想スレッド: virtual-threadsプロファイル）
+ * pinningの確認は -Djdk.tracePinnedThreads=short を付けて実行する。
+ *
+ * 実行方法:
+ * ./gradlew benchmarkTest
+ */
+@ActiveProfiles({"test", "virtual-threads"})
+@Tag("benchmark")
+class VirtualThreadLoadBenchmarkTest extends AbstractTaskCreateLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}
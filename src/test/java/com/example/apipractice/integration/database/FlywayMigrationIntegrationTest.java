@@ -21,7 +21,7 @@ import static org.assertj.core.api.Assertions.*;
  * テスト方針:
  * - Flywayマイグレーションが正しく適用されているか検証
  * - テーブル構造、インデックス、制約の確認
- * - Oracle固有の機能（IDENTITY列、COMMENTなど）の動作確認
+ * - Oracle固有の機能（シーケンス、COMMENTなど）の動作確認
  *
  * 注意: このテストクラスは TaskRepositoryIntegrationTest とは
  *       別のクラスなので、わざとコンテナが再起動されます（改善前の設計）
@@ -105,19 +105,35 @@ class FlywayMigrationIntegrationTest extends TestcontainersConfig {
             SELECT index_name
             FROM user_indexes
             WHERE table_name = 'TASKS'
-            AND index_name IN ('IDX_TASKS_STATUS', 'IDX_TASKS_CREATED_AT')
+            AND index_name LIKE 'IDX_TASKS%'
             ORDER BY index_name
             """;
 
         List<String> indexes = jdbcTemplate.queryForList(sql, String.class);
 
-        // then
+        // then: V1 の単一列インデックス（IDX_TASKS_STATUS, IDX_TASKS_CREATED_AT）は V9 で削除済み
         assertThat(indexes).containsExactlyInAnyOrder(
-            "IDX_TASKS_STATUS",
-            "IDX_TASKS_CREATED_AT"
+            "IDX_TASKS_STATUS_CREATED_ID",
+            "IDX_TASKS_CREATED_ID"
         );
     }
 
+    @Test
+    void 一覧用のカバリングインデックスが作成されている() {
+        // when
+        String sql = """
+            SELECT column_name
+            FROM user_ind_columns
+            WHERE index_name = 'IDX_TASKS_STATUS_CREATED_ID'
+            ORDER BY column_position
+            """;
+
+        List<String> columns = jdbcTemplate.queryForList(sql, String.class);
+
+        // then: description（CLOB）以外の一覧項目をすべて含む
+        assertThat(columns).containsExactly("STATUS", "CREATED_AT", "ID", "TITLE", "UPDATED_AT");
+    }
+
     @Test
     void tasksテーブルの主キー制約が存在する() {
         // when
@@ -136,7 +152,7 @@ class FlywayMigrationIntegrationTest extends TestcontainersConfig {
     }
 
     @Test
-    void IDENTITY列でIDが自動採番される() {
+    void DB直接INSERTでもシーケンスからIDが採番される() {
         // given & when
         String insertSql = """
             INSERT INTO tasks (title, description, status)
@@ -149,10 +165,25 @@ class FlywayMigrationIntegrationTest extends TestcontainersConfig {
         String selectSql = "SELECT id FROM tasks ORDER BY id";
         List<Long> ids = jdbcTemplate.queryForList(selectSql, Long.class);
 
-        // then
+        // then: task_id_seq.NEXTVAL（INCREMENT BY 1000）が使われる
         assertThat(ids).hasSize(2);
         assertThat(ids.get(0)).isGreaterThan(0);
-        assertThat(ids.get(1)).isEqualTo(ids.get(0) + 1);
+        assertThat(ids.get(1)).isEqualTo(ids.get(0) + 1000);
+    }
+
+    @Test
+    void タスクID採番用シーケンスが作成されている() {
+        // when
+        String sql = """
+            SELECT increment_by
+            FROM user_sequences
+            WHERE sequence_name = 'TASK_ID_SEQ'
+            """;
+
+        List<Long> increments = jdbcTemplate.queryForList(sql, Long.class);
+
+        // then: TaskEntityのallocationSizeと一致
+        assertThat(increments).containsExactly(1000L);
     }
 
     @Test
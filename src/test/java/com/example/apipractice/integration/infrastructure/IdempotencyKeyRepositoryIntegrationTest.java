@@ -0,0 +1,199 @@
+package com.example.apipractice.integration.infrastructure;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.infrastructure.idempotency.IdempotencyKeyPurger;
+import com.example.apipractice.infrastructure.idempotency.IdempotencyKeyRepositoryAdapter;
+import com.example.apipractice.integration.config.TestcontainersConfig;
+import com.example.apipractice.usecase.port.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * IdempotencyKeyRepositoryAdapter / IdempotencyKeyPurger の統合テスト
+ * IT: Spring起動 + Testcontainers（Oracle XE）
+ *
+ * テスト方針:
+ * - 登録・結果の保存・2回目の取得を実DBで検証
+ * - 登録は独立したトランザクションでコミットされ、処理中のキーは待たずに失敗することを検証
+ * - 解放したキー・リースの期限を過ぎたキーは再登録できることを検証
+ * - リースを引き継がれたリクエストは結果の保存・解放ができないこと（claim_token）を検証
+ * - 期限切れのキーは再登録でき、パージはバッチ単位で削除することを検証
+ */
+@SpringBootTest(properties = {
+        "task.idempotency.purge-batch-size=2",
+        "task.idempotency.purge-max-batches-per-run=2",
+        "task.idempotency.purge-interval=1h"
+})
+@ActiveProfiles("test")
+@Tag("integration")
+class IdempotencyKeyRepositoryIntegrationTest extends TestcontainersConfig {
+
+    @Autowired
+    private IdempotencyKeyRepositoryAdapter repository;
+
+    @Autowired
+    private IdempotencyKeyPurger purger;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys");
+    }
+
+    @Test
+    void 登録したキーの2回目は保存した結果を返し内容が異なれば例外になる() {
+        // given
+        Task task = Task.create("Idempotent Task", "Description");
+        task.setId(100L);
+        task.setVersion(0L);
+        assertThat(repository.claim("key-1", "fp-1", "token-1")).isEmpty();
+        transactionTemplate.executeWithoutResult(status -> repository.complete("key-1", "token-1", task));
+
+        // when
+        Optional<Task> replay = repository.claim("key-1", "fp-1", "token-2");
+
+        // then
+        assertThat(replay).isPresent();
+        assertThat(replay.get().getId()).isEqualTo(100L);
+        assertThat(replay.get().getTitle()).isEqualTo("Idempotent Task");
+        assertThat(replay.get().getCreatedAt()).isEqualTo(task.getCreatedAt());
+        assertThat(stateOf("key-1")).isEqualTo("COMPLETED");
+        assertThatThrownBy(() -> repository.claim("key-1", "fp-2", "token-3"))
+                .isInstanceOf(IdempotencyKeyRepository.KeyReusedException.class);
+    }
+
+    @Test
+    void 登録は呼び出し元のトランザクションと独立してコミットされ処理中のキーは待たずに例外になる() {
+        // given: 呼び出し元のトランザクションはロールバックする
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            repository.claim("key-1", "fp-1", "token-1");
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // when
+        long startNanos = System.nanoTime();
+        Throwable thrown = catchThrowable(() -> repository.claim("key-1", "fp-1", "token-2"));
+
+        // then
+        assertThat(stateOf("key-1")).isEqualTo("IN_PROGRESS");
+        assertThat(thrown).isInstanceOf(IdempotencyKeyRepository.KeyInFlightException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void 解放したキーは再登録でき結果は保存できない() {
+        // given
+        repository.claim("key-1", "fp-1", "token-1");
+
+        // when
+        repository.release("key-1", "token-1");
+
+        // then
+        Task task = Task.create("Released Task", null);
+        task.setId(100L);
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(
+                status -> repository.complete("key-1", "token-1", task)))
+                .isInstanceOf(IdempotencyKeyRepository.KeyInFlightException.class);
+        assertThat(repository.claim("key-1", "fp-1", "token-2")).isEmpty();
+    }
+
+    @Test
+    void リースの期限を過ぎた処理中のキーは引き継げる() {
+        // given: 処理したノードが停止し、処理中のまま残ったキー
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (idempotency_key, fingerprint, state, lease_expires_at, expires_at)
+                VALUES ('key-1', 'fp-1', 'IN_PROGRESS', ?, ?)""",
+                LocalDateTime.now().minusSeconds(1), LocalDateTime.now().plusHours(1));
+
+        // when & then: 1回目で引き継ぎ、2回目は新しいリースの期限内
+        assertThat(repository.claim("key-1", "fp-1", "token-1")).isEmpty();
+        assertThatThrownBy(() -> repository.claim("key-1", "fp-1", "token-2"))
+                .isInstanceOf(IdempotencyKeyRepository.KeyInFlightException.class);
+    }
+
+    @Test
+    void リースを引き継がれたリクエストは結果を保存できず解放もできない() {
+        // given: token-1 のリースが切れ、token-2 が引き継いだ
+        repository.claim("key-1", "fp-1", "token-1");
+        jdbcTemplate.update("UPDATE idempotency_keys SET lease_expires_at = ? WHERE idempotency_key = 'key-1'",
+                LocalDateTime.now().minusSeconds(1));
+        assertThat(repository.claim("key-1", "fp-1", "token-2")).isEmpty();
+        Task task = Task.create("Lease Lost Task", null);
+        task.setId(100L);
+
+        // when & then: 元のリクエストの保存は0件で例外、解放しても引き継いだキーは残る
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(
+                status -> repository.complete("key-1", "token-1", task)))
+                .isInstanceOf(IdempotencyKeyRepository.KeyInFlightException.class);
+        repository.release("key-1", "token-1");
+        assertThat(stateOf("key-1")).isEqualTo("IN_PROGRESS");
+
+        // 引き継いだリクエストは保存できる
+        transactionTemplate.executeWithoutResult(status -> repository.complete("key-1", "token-2", task));
+        assertThat(stateOf("key-1")).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void 期限切れのキーは再登録できる() {
+        // given
+        insertKey("key-1", LocalDateTime.now().minusMinutes(1));
+
+        // when & then
+        assertThat(repository.claim("key-1", "fp-1", "token-1")).isEmpty();
+    }
+
+    @Test
+    void パージは期限切れのキーだけを1回の実行でバッチ上限まで削除する() {
+        // given: 期限切れ5件（バッチ2件 × 2回 = 1回の実行で4件まで）、期限内1件
+        for (int i = 0; i < 5; i++) {
+            insertKey("expired-" + i, LocalDateTime.now().minusMinutes(1));
+        }
+        insertKey("live", LocalDateTime.now().plusHours(1));
+
+        // when
+        purger.purgeExpired();
+
+        // then
+        assertThat(countKeys()).isEqualTo(2);
+
+        // when: 次回の実行で残りを削除
+        purger.purgeExpired();
+
+        // then
+        assertThat(countKeys()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT idempotency_key FROM idempotency_keys", String.class)).isEqualTo("live");
+    }
+
+    private void insertKey(String key, LocalDateTime expiresAt) {
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (idempotency_key, fingerprint, task_id, response_body, expires_at)
+                VALUES (?, 'fp-old', 1, '{}', ?)""", key, expiresAt);
+    }
+
+    private String stateOf(String key) {
+        return jdbcTemplate.queryForObject(
+                "SELECT state FROM idempotency_keys WHERE idempotency_key = ?", String.class, key);
+    }
+
+    private int countKeys() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys", Integer.class);
+    }
+}
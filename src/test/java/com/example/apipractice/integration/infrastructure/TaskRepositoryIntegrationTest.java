@@ -4,6 +4,9 @@ import com.example.apipractice.core.domain.Task;
 import com.example.apipractice.core.domain.TaskStatus;
 import com.example.apipractice.integration.config.TestcontainersConfig;
 import com.example.apipractice.usecase.port.TaskRepository;
+import com.example.apipractice.usecase.port.TaskRevision;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +14,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -33,6 +41,9 @@ class TaskRepositoryIntegrationTest extends TestcontainersConfig {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void タスクを保存して取得できる() {
         // given
@@ -52,6 +63,52 @@ class TaskRepositoryIntegrationTest extends TestcontainersConfig {
         assertThat(found.get().getTitle()).isEqualTo("Integration Test Task");
     }
 
+    @Test
+    void 新規保存はメソッド内でINSERTを送る() {
+        // when
+        taskRepository.save(Task.create("Flushed Task", null));
+
+        // then: 未送信のINSERTが残っていない（save の計測時間にINSERTが含まれる）
+        assertThat(entityManager.unwrap(Session.class).isDirty()).isFalse();
+    }
+
+    @Test
+    void 短い説明は行内に長い説明はCLOBに格納されどちらも同じように読める() {
+        // given: 3バイト文字1400文字（4200バイト）は行内に収まらない
+        String shortDescription = "あ".repeat(1000);
+        String longDescription = "あ".repeat(1400);
+
+        // when
+        Task inline = taskRepository.save(Task.create("Inline Task", shortDescription));
+        Task overflow = taskRepository.save(Task.create("Overflow Task", longDescription));
+        entityManager.flush();
+        entityManager.clear();
+
+        // then
+        assertThat(storedColumns(inline.getId())).containsExactly(true, false);
+        assertThat(storedColumns(overflow.getId())).containsExactly(false, true);
+        assertThat(taskRepository.findById(inline.getId()).orElseThrow().getDescription()).isEqualTo(shortDescription);
+        assertThat(taskRepository.findById(overflow.getId()).orElseThrow().getDescription()).isEqualTo(longDescription);
+        assertThat(taskRepository.complete(overflow.getId(), Task.completableStatuses(), null, LocalDateTime.now())
+                .orElseThrow().getDescription()).isEqualTo(longDescription);
+    }
+
+    @Test
+    void 状態とバージョンだけを取得できる() {
+        // given
+        Task saved = taskRepository.save(Task.create("Revision Task", "Description"));
+        entityManager.flush();
+
+        // when
+        Optional<TaskRevision> revision = taskRepository.findRevisionById(saved.getId());
+
+        // then
+        assertThat(revision).isPresent();
+        assertThat(revision.get().status()).isEqualTo(TaskStatus.TODO);
+        assertThat(revision.get().version()).isEqualTo(saved.getVersion());
+        assertThat(taskRepository.findRevisionById(-1L)).isEmpty();
+    }
+
     @Test
     void タスクを更新できる() {
         // given
@@ -71,6 +128,193 @@ class TaskRepositoryIntegrationTest extends TestcontainersConfig {
         assertThat(found.get().getStatus()).isEqualTo(TaskStatus.DONE);
     }
 
+    @Test
+    void 条件付き完了は未完了のタスクだけを1回で更新する() {
+        // given: JDBCのUPDATEから見えるようにINSERTをフラッシュする
+        Task saved = taskRepository.save(Task.create("Complete Task", "Description"));
+        entityManager.flush();
+        entityManager.clear();
+        LocalDateTime completedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        // when
+        Optional<Task> first = taskRepository.complete(saved.getId(), Task.completableStatuses(), null, completedAt);
+        Optional<Task> second = taskRepository.complete(saved.getId(), Task.completableStatuses(), null, completedAt);
+
+        // then: 2回目は完了済みのため更新されない
+        assertThat(first).isPresent();
+        assertThat(first.get().getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(first.get().getTitle()).isEqualTo("Complete Task");
+        assertThat(first.get().getDescription()).isEqualTo("Description");
+        assertThat(first.get().getUpdatedAt()).isEqualTo(completedAt);
+        assertThat(first.get().getVersion()).isEqualTo(saved.getVersion() + 1);
+        assertThat(second).isEmpty();
+
+        entityManager.clear();
+        assertThat(taskRepository.findById(saved.getId()).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+    }
+
+    @Test
+    void バージョンを指定した条件付き完了は一致する場合だけ更新する() {
+        // given
+        Task saved = taskRepository.save(Task.create("Versioned Task", null));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Optional<Task> stale = taskRepository.complete(
+                saved.getId(), Task.completableStatuses(), saved.getVersion() + 1, LocalDateTime.now());
+        Optional<Task> current = taskRepository.complete(
+                saved.getId(), Task.completableStatuses(), saved.getVersion(), LocalDateTime.now());
+
+        // then
+        assertThat(stale).isEmpty();
+        assertThat(current).isPresent();
+        assertThat(current.get().getVersion()).isEqualTo(saved.getVersion() + 1);
+    }
+
+    @Test
+    void IDのあるタスクは保存できない() {
+        // given
+        Task saved = taskRepository.save(Task.create("Existing Task", null));
+
+        // when & then: 既存タスクの変更は条件付き完了だけ
+        saved.complete();
+        assertThatThrownBy(() -> taskRepository.save(saved))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("id=" + saved.getId());
+    }
+
+    @Test
+    void 同じトランザクションで読み込んだ後に条件付き完了すると再取得で完了後の値が返る() {
+        // given
+        Task saved = taskRepository.save(Task.create("Reload Task", null));
+        entityManager.flush();
+        Task before = taskRepository.findById(saved.getId()).orElseThrow();
+
+        // when
+        taskRepository.complete(saved.getId(), Task.completableStatuses(), null, LocalDateTime.now());
+
+        // then: 読み込んだエンティティは切り離されているため、UPDATE前の値が返らない
+        assertThat(before.getStatus()).isEqualTo(TaskStatus.TODO);
+        Task after = taskRepository.findById(saved.getId()).orElseThrow();
+        assertThat(after.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(after.getVersion()).isEqualTo(before.getVersion() + 1);
+    }
+
+    @Test
+    void 存在しないIDの条件付き完了は空を返す() {
+        // when
+        Optional<Task> completed = taskRepository.complete(9999L, Task.completableStatuses(), null, LocalDateTime.now());
+
+        // then
+        assertThat(completed).isEmpty();
+    }
+
+    @Test
+    void 一括完了はIN句の上限を超えるIDでも未完了のタスクだけを更新し更新前のステータスを返す() {
+        // given: 未完了1件・完了済み1件と、上限を超える数の存在しないID
+        Task todo = taskRepository.save(Task.create("Bulk Todo", null));
+        Task done = Task.create("Bulk Done", null);
+        done.complete();
+        done = taskRepository.save(done);
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> ids = new ArrayList<>();
+        for (long i = 1; i <= 1500; i++) {
+            ids.add(-i);
+        }
+        ids.add(todo.getId());
+        ids.add(done.getId());
+
+        // when
+        Map<Long, TaskRevision> previousRevisions = taskRepository.completeAll(
+                ids, Task.completableStatuses(), LocalDateTime.now());
+
+        // then: 更新前の状態とバージョン
+        assertThat(previousRevisions).containsOnlyKeys(todo.getId(), done.getId());
+        assertThat(previousRevisions.get(todo.getId()))
+                .extracting(TaskRevision::status, TaskRevision::version)
+                .containsExactly(TaskStatus.TODO, todo.getVersion());
+        assertThat(previousRevisions.get(done.getId()).status()).isEqualTo(TaskStatus.DONE);
+        Task completed = taskRepository.findById(todo.getId()).orElseThrow();
+        assertThat(completed.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(completed.getVersion()).isEqualTo(todo.getVersion() + 1);
+        assertThat(taskRepository.findById(done.getId()).orElseThrow().getVersion()).isEqualTo(done.getVersion());
+    }
+
+    @Test
+    void 条件指定の一括完了は指定件数までの一致する未完了のタスクだけを更新する() {
+        // given: 条件に一致する未完了タスクが上限を超える数と、完了済み・条件外のタスク
+        LocalDateTime createdAfter = LocalDateTime.now().minusMinutes(1);
+        List<Task> todos = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            todos.add(Task.create("Matching Todo " + i, null));
+        }
+        taskRepository.saveAll(todos);
+        Task done = Task.create("Matching Done", null);
+        done.complete();
+        done = taskRepository.save(done);
+        Task old = Task.restore(null, "Old Todo", null, TaskStatus.TODO,
+                createdAfter.minusDays(1), createdAfter.minusDays(1), null);
+        old = taskRepository.save(old);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when: IN句の上限を超える指定件数で、一致する行がなくなるまで繰り返す
+        List<TaskRevision> first = taskRepository.completeMatching(
+                Task.completableStatuses(), createdAfter, LocalDateTime.now(), 1100);
+        List<TaskRevision> completed = new ArrayList<>(first);
+        List<TaskRevision> next;
+        do {
+            next = taskRepository.completeMatching(Task.completableStatuses(), createdAfter, LocalDateTime.now(), 1100);
+            assertThat(next).hasSizeLessThanOrEqualTo(1100);
+            completed.addAll(next);
+        } while (!next.isEmpty());
+
+        // then: 1回目は指定件数で止まり、全体では一致する未完了のタスクだけが完了後のバージョンで返る
+        assertThat(first).hasSize(1100);
+        assertThat(completed).extracting(TaskRevision::id)
+                .doesNotHaveDuplicates()
+                .containsAll(todos.stream().map(Task::getId).toList())
+                .doesNotContain(done.getId(), old.getId());
+        Task completedTodo = taskRepository.findById(todos.get(1100).getId()).orElseThrow();
+        assertThat(completedTodo.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(completed).filteredOn(revision -> revision.id().equals(completedTodo.getId()))
+                .extracting(TaskRevision::version)
+                .containsExactly(completedTodo.getVersion());
+        assertThat(taskRepository.findById(done.getId()).orElseThrow().getVersion()).isEqualTo(done.getVersion());
+        assertThat(taskRepository.findById(old.getId()).orElseThrow().getStatus()).isEqualTo(TaskStatus.TODO);
+    }
+
+    @Test
+    void 連続して保存したタスクは予約済みブロックから連番で採番される() {
+        // given
+        Task first = taskRepository.save(Task.create("Block Task 1", null));
+
+        // when
+        Task second = taskRepository.save(Task.create("Block Task 2", null));
+
+        // then: 同じブロック内（DB問い合わせなし）で採番される
+        assertThat(second.getId()).isEqualTo(first.getId() + 1);
+    }
+
+    @Test
+    void IN句の上限を超えるID数でも一括取得できる() {
+        // given: 1件だけ保存し、上限を超える数の存在しないIDと混ぜる
+        Task saved = taskRepository.save(Task.create("Chunk Task", null));
+        List<Long> ids = new ArrayList<>();
+        for (long i = 1; i <= 1500; i++) {
+            ids.add(-i);
+        }
+        ids.add(saved.getId());
+
+        // when
+        List<Task> found = taskRepository.findAllById(ids);
+
+        // then
+        assertThat(found).extracting(Task::getId).containsExactly(saved.getId());
+    }
+
     @Test
     void 存在しないIDで検索すると空のOptionalが返る() {
         // when
@@ -79,4 +323,14 @@ class TaskRepositoryIntegrationTest extends TestcontainersConfig {
         // then
         assertThat(found).isEmpty();
     }
+
+    // [description_text に値がある, description（CLOB）に値がある]
+    private List<Boolean> storedColumns(Long id) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                        "SELECT CASE WHEN description_text IS NULL THEN 0 ELSE 1 END,"
+                                + " CASE WHEN description IS NULL THEN 0 ELSE 1 END FROM tasks WHERE id = ?")
+                .setParameter(1, id)
+                .getSingleResult();
+        return List.of(((Number) row[0]).intValue() == 1, ((Number) row[1]).intValue() == 1);
+    }
 }
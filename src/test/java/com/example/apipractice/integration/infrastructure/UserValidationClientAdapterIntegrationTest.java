@@ -0,0 +1,146 @@
+package com.example.apipractice.integration.infrastructure;
+
+import com.example.apipractice.infrastructure.client.UserValidationClientAdapter;
+import com.example.apipractice.usecase.port.UserValidationClient.UserValidationException;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.junit.jupiter.api.*;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * UserValidationClientAdapter の統合テスト
+ * IT: WireMock（外部API）、Spring起動・DBなし
+ *
+ * テスト方針:
+ * - existsUsers の2つのモードを検証
+ *   - 一括確認APIなし: GET /api/users/{userId} をユーザーごとに呼ぶ
+ *   - 一括確認APIあり: POST /api/users/exists にまとめて問い合わせる
+ * - existsUserAsync（非同期HTTPクライアント）の応答の判定を検証
+ */
+@Tag("integration")
+class UserValidationClientAdapterIntegrationTest {
+
+    private static final WireMockServer userValidationWireMock = new WireMockServer(options().dynamicPort());
+    private static final CloseableHttpAsyncClient httpAsyncClient = HttpAsyncClients.createDefault();
+
+    @BeforeAll
+    static void startWireMock() {
+        userValidationWireMock.start();
+        httpAsyncClient.start();
+    }
+
+    @AfterAll
+    static void stopWireMock() throws Exception {
+        httpAsyncClient.close();
+        userValidationWireMock.stop();
+    }
+
+    @BeforeEach
+    void resetWireMock() {
+        userValidationWireMock.resetAll();
+    }
+
+    @Test
+    void 一括確認APIが無い場合はユーザーごとにGETで確認する() {
+        // given
+        userValidationWireMock.stubFor(get(urlEqualTo("/api/users/user1"))
+                .willReturn(okJson("{\"userId\":\"user1\",\"username\":\"User 1\",\"active\":true}")));
+        userValidationWireMock.stubFor(get(urlEqualTo("/api/users/unknown-user"))
+                .willReturn(aResponse().withStatus(404)));
+        userValidationWireMock.stubFor(get(urlEqualTo("/api/users/broken-user"))
+                .willReturn(aResponse().withStatus(500)));
+        UserValidationClientAdapter client = newClient("");
+
+        // when
+        Map<String, Boolean> results = client.existsUsers(List.of("user1", "unknown-user", "broken-user", "user1"));
+
+        // then: 確認に失敗したユーザーは含まれない
+        assertThat(results).containsOnly(entry("user1", true), entry("unknown-user", false));
+        userValidationWireMock.verify(1, getRequestedFor(urlEqualTo("/api/users/user1")));
+        userValidationWireMock.verify(1, getRequestedFor(urlEqualTo("/api/users/broken-user")));
+    }
+
+    @Test
+    void 一括確認APIがある場合は1回のPOSTで確認する() {
+        // given
+        userValidationWireMock.stubFor(post(urlEqualTo("/api/users/exists"))
+                .willReturn(okJson("{\"existingUserIds\":[\"user1\",\"user2\"]}")));
+        UserValidationClientAdapter client = newClient(userValidationWireMock.baseUrl() + "/api/users/exists");
+
+        // when
+        Map<String, Boolean> results = client.existsUsers(List.of("user1", "user2", "unknown-user"));
+
+        // then
+        assertThat(results).containsOnly(
+                entry("user1", true), entry("user2", true), entry("unknown-user", false));
+        userValidationWireMock.verify(1, postRequestedFor(urlEqualTo("/api/users/exists"))
+                .withRequestBody(matchingJsonPath("$.userIds.length()", equalTo("3"))));
+        userValidationWireMock.verify(0, getRequestedFor(urlMatching("/api/users/.*")));
+    }
+
+    @Test
+    void 一括確認APIは上限件数ごとに分割して呼ぶ() {
+        // given
+        userValidationWireMock.stubFor(post(urlEqualTo("/api/users/exists"))
+                .willReturn(okJson("{\"existingUserIds\":[]}")));
+        UserValidationClientAdapter client = newClient(userValidationWireMock.baseUrl() + "/api/users/exists");
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            userIds.add("user" + i);
+        }
+
+        // when
+        Map<String, Boolean> results = client.existsUsers(userIds);
+
+        // then
+        assertThat(results).hasSize(150).doesNotContainValue(true);
+        userValidationWireMock.verify(2, postRequestedFor(urlEqualTo("/api/users/exists")));
+    }
+
+    @Test
+    void 一括確認APIが失敗した場合は例外を投げる() {
+        // given
+        userValidationWireMock.stubFor(post(urlEqualTo("/api/users/exists"))
+                .willReturn(aResponse().withStatus(503)));
+        UserValidationClientAdapter client = newClient(userValidationWireMock.baseUrl() + "/api/users/exists");
+
+        // when & then
+        assertThatThrownBy(() -> client.existsUsers(List.of("user1", "user2")))
+                .isInstanceOf(UserValidationException.class)
+                .hasMessageContaining("count=2");
+    }
+
+    @Test
+    void 非同期確認は200なら存在404なら不在それ以外は例外で完了する() {
+        // given
+        userValidationWireMock.stubFor(get(urlEqualTo("/api/users/user1"))
+                .willReturn(okJson("{\"userId\":\"user1\",\"username\":\"User 1\",\"active\":true}")));
+        userValidationWireMock.stubFor(get(urlEqualTo("/api/users/unknown-user"))
+                .willReturn(aResponse().withStatus(404)));
+        userValidationWireMock.stubFor(get(urlEqualTo("/api/users/broken-user"))
+                .willReturn(aResponse().withStatus(500)));
+        UserValidationClientAdapter client = newClient("");
+
+        // when & then
+        assertThat(client.existsUserAsync("user1").join()).isTrue();
+        assertThat(client.existsUserAsync("unknown-user").join()).isFalse();
+        assertThatThrownBy(() -> client.existsUserAsync("broken-user").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(UserValidationException.class);
+    }
+
+    private UserValidationClientAdapter newClient(String batchUrl) {
+        return new UserValidationClientAdapter(new RestTemplate(), httpAsyncClient,
+                userValidationWireMock.baseUrl() + "/api/users", batchUrl);
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.apipractice.unit.infrastructure;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.infrastructure.persistence.CachingTaskRepository;
+import com.example.apipractice.usecase.port.TaskRepository;
+import com.example.apipractice.usecase.port.TaskRevision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * CachingTaskRepository の単体テスト
+ * UT: Spring起動なし、Mockito使用
+ *
+ * テスト方針:
+ * - 委譲先のTaskRepositoryをMock化
+ * - キャッシュヒット時にDBへアクセスしないこと、更新の反映、古い値で上書きしないことを検証
+ * - 原則トランザクション外で呼ぶため、保存は即時にキャッシュへ反映される
+ * - コミット後の処理が絡む場合は TransactionSynchronizationManager でトランザクションを模す
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class CachingTaskRepositoryTest {
+
+    @Mock
+    private TaskRepository delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CachingTaskRepository(delegate, 1_000_000, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void 二回目の取得はキャッシュから返りDBにアクセスしない() {
+        // given
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.TODO, 0)));
+
+        // when
+        repository.findById(1L);
+        Optional<Task> second = repository.findById(1L);
+
+        // then
+        assertThat(second).isPresent();
+        assertThat(second.get().getTitle()).isEqualTo("Task 1");
+        verify(delegate, times(1)).findById(1L);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 取得したTaskを変更してもキャッシュは変わらない() {
+        // given
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.TODO, 0)));
+        Task first = repository.findById(1L).orElseThrow();
+
+        // when
+        first.complete();
+
+        // then
+        assertThat(repository.findById(1L).orElseThrow().getStatus()).isEqualTo(TaskStatus.TODO);
+    }
+
+    @Test
+    void 保存した値でキャッシュが更新される() {
+        // given
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.TODO, 0)));
+        repository.findById(1L);
+        Task completed = task(1L, TaskStatus.DONE, 10);
+        when(delegate.save(completed)).thenReturn(completed);
+
+        // when
+        repository.save(completed);
+
+        // then
+        assertThat(repository.findById(1L).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void 条件付き完了で完了した値がキャッシュに載る() {
+        // given
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.TODO, 0)));
+        repository.findById(1L);
+        Task completed = task(1L, TaskStatus.DONE, 10);
+        when(delegate.complete(1L, Task.completableStatuses(), null, completed.getUpdatedAt()))
+                .thenReturn(Optional.of(completed));
+
+        // when
+        repository.complete(1L, Task.completableStatuses(), null, completed.getUpdatedAt());
+
+        // then
+        assertThat(repository.findById(1L).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void 条件付き完了で更新されなかった場合もキャッシュは破棄されDBから読み直す() {
+        // given: キャッシュには未完了の値（他ノードで完了済み）
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.TODO, 0)));
+        repository.findById(1L);
+        LocalDateTime now = LocalDateTime.now();
+        when(delegate.complete(1L, Task.completableStatuses(), null, now)).thenReturn(Optional.empty());
+
+        // when
+        repository.complete(1L, Task.completableStatuses(), null, now);
+
+        // then
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.DONE, 10)));
+        assertThat(repository.findById(1L).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void 一括完了で対象IDのキャッシュは破棄されDBから読み直す() {
+        // given
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.TODO, 0)));
+        repository.findById(1L);
+        LocalDateTime now = LocalDateTime.now();
+        TaskRevision previous = new TaskRevision(1L, TaskStatus.TODO, 0L, now);
+        when(delegate.completeAll(List.of(1L, 2L), Task.completableStatuses(), now))
+                .thenReturn(Map.of(1L, previous));
+
+        // when
+        Map<Long, TaskRevision> previousRevisions = repository.completeAll(List.of(1L, 2L), Task.completableStatuses(), now);
+
+        // then
+        assertThat(previousRevisions).containsEntry(1L, previous);
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.DONE, 1)));
+        assertThat(repository.findById(1L).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void 条件指定の一括完了で完了したIDのキャッシュは破棄される() {
+        // given
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.TODO, 0)));
+        repository.findById(1L);
+        LocalDateTime now = LocalDateTime.now();
+        TaskRevision completed = new TaskRevision(1L, TaskStatus.DONE, 1L, now);
+        when(delegate.completeMatching(Task.completableStatuses(), null, now, 10)).thenReturn(List.of(completed));
+
+        // when
+        List<TaskRevision> result = repository.completeMatching(Task.completableStatuses(), null, now, 10);
+
+        // then
+        assertThat(result).containsExactly(completed);
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.DONE, 1)));
+        assertThat(repository.findById(1L).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void 一括完了のコミット前に読んだ値はコミット後に届いてもキャッシュに載らない() {
+        // given: ロードがDBから完了前の値（バージョン0）を読んだ後、キャッシュに書く前に一括完了がコミットされる
+        LocalDateTime now = LocalDateTime.now();
+        when(delegate.completeAll(List.of(1L), Task.completableStatuses(), now))
+                .thenReturn(Map.of(1L, new TaskRevision(1L, TaskStatus.TODO, 0L, now)));
+        when(delegate.findById(1L))
+                .thenAnswer(invocation -> {
+                    Optional<Task> stale = Optional.of(task(1L, TaskStatus.TODO, 0));
+                    inCommittedTransaction(() -> repository.completeAll(List.of(1L), Task.completableStatuses(), now));
+                    return stale;
+                })
+                .thenReturn(Optional.of(task(1L, TaskStatus.DONE, 1)));
+
+        // when
+        Task loaded = repository.findById(1L).orElseThrow();
+
+        // then: 読んだ値は返すが載せない。次の取得はDBから完了後の値を読み、それは載る
+        assertThat(loaded.getStatus()).isEqualTo(TaskStatus.TODO);
+        assertThat(repository.findById(1L).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(repository.findById(1L).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void 条件指定の一括完了のコミット前に読んだ値はコミット後に届いてもキャッシュに載らない() {
+        // given: 一括取得がDBから完了前の値を読んだ後、キャッシュに書く前に条件指定の一括完了がコミットされる
+        LocalDateTime now = LocalDateTime.now();
+        when(delegate.completeMatching(Task.completableStatuses(), null, now, 10))
+                .thenReturn(List.of(new TaskRevision(1L, TaskStatus.DONE, 1L, now)));
+        when(delegate.findAllById(List.of(1L)))
+                .thenAnswer(invocation -> {
+                    List<Task> stale = List.of(task(1L, TaskStatus.TODO, 0));
+                    inCommittedTransaction(() -> repository.completeMatching(Task.completableStatuses(), null, now, 10));
+                    return stale;
+                });
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.DONE, 1)));
+
+        // when
+        repository.findAllById(List.of(1L));
+
+        // then
+        assertThat(repository.findById(1L).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void 一括完了がロールバックされた場合は締め出さない() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        when(delegate.completeAll(List.of(1L), Task.completableStatuses(), now))
+                .thenReturn(Map.of(1L, new TaskRevision(1L, TaskStatus.TODO, 0L, now)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            repository.completeAll(List.of(1L), Task.completableStatuses(), now);
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.TODO, 0)));
+
+        // when
+        repository.findById(1L);
+        repository.findById(1L);
+
+        // then: 完了前の値（バージョン0）がキャッシュに載る
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void 状態とバージョンの取得はキャッシュにあればDBにアクセスしない() {
+        // given
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.TODO, 0)));
+        repository.findById(1L);
+        TaskRevision uncached = new TaskRevision(2L, TaskStatus.DONE, 3L, LocalDateTime.now());
+        when(delegate.findRevisionById(2L)).thenReturn(Optional.of(uncached));
+
+        // when
+        TaskRevision hit = repository.findRevisionById(1L).orElseThrow();
+        TaskRevision miss = repository.findRevisionById(2L).orElseThrow();
+
+        // then
+        assertThat(hit.status()).isEqualTo(TaskStatus.TODO);
+        assertThat(miss).isEqualTo(uncached);
+        verify(delegate, never()).findRevisionById(1L);
+    }
+
+    @Test
+    void 古い値が後から届いても新しい値を上書きしない() {
+        // given: 新しい値がキャッシュ済み
+        Task newer = task(1L, TaskStatus.DONE, 10);
+        when(delegate.save(newer)).thenReturn(newer);
+        repository.save(newer);
+
+        // when: 古い値の保存結果が後から届く
+        Task older = task(1L, TaskStatus.TODO, 0);
+        when(delegate.save(older)).thenReturn(older);
+        repository.save(older);
+
+        // then
+        assertThat(repository.findById(1L).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+        verify(delegate, never()).findById(any());
+    }
+
+    @Test
+    void 更新日時が新しくてもバージョンが古い値では上書きしない() {
+        // given: 新しい値（バージョン2）がキャッシュ済み
+        Task newer = task(1L, TaskStatus.DONE, 2);
+        when(delegate.save(newer)).thenReturn(newer);
+        repository.save(newer);
+
+        // when: 時計が進んでいる別ノードで読んだ古い値（バージョン1）が後から届く
+        Task older = task(1L, TaskStatus.TODO, 1);
+        older.setUpdatedAt(newer.getUpdatedAt().plusMinutes(5));
+        when(delegate.save(older)).thenReturn(older);
+        repository.save(older);
+
+        // then
+        assertThat(repository.findById(1L).orElseThrow().getStatus()).isEqualTo(TaskStatus.DONE);
+        verify(delegate, never()).findById(any());
+    }
+
+    @Test
+    void 一括取得ではキャッシュに無いIDだけをDBから取得する() {
+        // given: ID=1はキャッシュ済み
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, TaskStatus.TODO, 0)));
+        repository.findById(1L);
+        when(delegate.findAllById(List.of(2L))).thenReturn(List.of(task(2L, TaskStatus.TODO, 0)));
+
+        // when
+        List<Task> found = repository.findAllById(List.of(1L, 2L));
+
+        // then
+        assertThat(found).extracting(Task::getId).containsExactlyInAnyOrder(1L, 2L);
+        verify(delegate, times(1)).findAllById(List.of(2L));
+
+        // ID=2も以降はキャッシュから返る
+        repository.findById(2L);
+        verify(delegate, never()).findById(2L);
+    }
+
+    @Test
+    void 存在しないIDはキャッシュしない() {
+        // given
+        when(delegate.findById(9L)).thenReturn(Optional.empty());
+
+        // when
+        repository.findById(9L);
+        repository.findById(9L);
+
+        // then
+        verify(delegate, times(2)).findById(9L);
+    }
+
+    // トランザクション内で実行してコミットしたことにする（コミット後の処理を呼ぶ）
+    private static void inCommittedTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Task task(Long id, TaskStatus status, long version) {
+        Task task = Task.create("Task " + id, "Description " + id);
+        task.setId(id);
+        task.setStatus(status);
+        task.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        task.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        task.setVersion(version);
+        return task;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.apipractice.unit.infrastructure;
+
+import com.example.apipractice.infrastructure.client.CachingUserValidationClient;
+import com.example.apipractice.usecase.port.UserValidationClient;
+import com.example.apipractice.usecase.port.UserValidationClient.UserValidationException;
+import com.example.apipractice.usecase.port.UserValidationClient.UserValidationUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * CachingUserValidationClient の単体テスト
+ * UT: Spring起動なし、Mockito使用
+ *
+ * テスト方針:
+ * - 委譲先のUserValidationClient（耐障害性付きクライアント）をMock化
+ * - 結果のキャッシュ、エラーをキャッシュしないこと、同時リクエストの集約を検証
+ * - キャッシュに無い場合は委譲先の非同期版で確認し、待ち時間が上限で打ち切られることを検証
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class CachingUserValidationClientTest {
+
+    @Mock
+    private UserValidationClient delegate;
+
+    private static final Duration WAIT_TIMEOUT = Duration.ofMillis(200);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void 存在するユーザーは二回目以降キャッシュから返る() {
+        // given
+        CachingUserValidationClient client = newClient();
+        when(delegate.existsUserAsync("user1")).thenReturn(CompletableFuture.completedFuture(true));
+
+        // when
+        boolean first = client.existsUser("user1");
+        boolean second = client.existsUser("user1");
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(delegate, times(1)).existsUserAsync("user1");
+        verify(delegate, never()).existsUser(any());
+    }
+
+    @Test
+    void 存在しないユーザーもキャッシュされる() {
+        // given
+        CachingUserValidationClient client = newClient();
+        when(delegate.existsUserAsync("unknown")).thenReturn(CompletableFuture.completedFuture(false));
+
+        // when
+        client.existsUser("unknown");
+        boolean second = client.existsUser("unknown");
+
+        // then
+        assertThat(second).isFalse();
+        verify(delegate, times(1)).existsUserAsync("unknown");
+    }
+
+    @Test
+    void 外部APIエラーはキャッシュせずそのまま投げる() {
+        // given
+        CachingUserValidationClient client = newClient();
+        when(delegate.existsUserAsync("user1"))
+                .thenReturn(CompletableFuture.failedFuture(new UserValidationException("API down", null)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // when & then
+        assertThatThrownBy(() -> client.existsUser("user1"))
+                .isInstanceOf(UserValidationException.class)
+                .hasMessage("API down");
+        assertThat(client.existsUser("user1")).isTrue();
+        verify(delegate, times(2)).existsUserAsync("user1");
+    }
+
+    @Test
+    void 同じユーザーへの同時リクエストは外部API呼び出しを共有する() throws Exception {
+        // given: 外部APIの応答を止めておく
+        CachingUserValidationClient client = newClient(Duration.ofSeconds(5));
+        CountDownLatch called = new CountDownLatch(1);
+        CompletableFuture<Boolean> response = new CompletableFuture<>();
+        when(delegate.existsUserAsync("user1")).thenAnswer(invocation -> {
+            called.countDown();
+            return response;
+        });
+
+        // when
+        Future<Boolean> first = executor.submit(() -> client.existsUser("user1"));
+        assertThat(called.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Boolean> second = executor.submit(() -> client.existsUser("user1"));
+        response.complete(true);
+
+        // then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        verify(delegate, times(1)).existsUserAsync("user1");
+    }
+
+    @Test
+    void 一括確認ではキャッシュに無いユーザーだけを委譲先でまとめて確認する() {
+        // given: user1はキャッシュ済み
+        CachingUserValidationClient client = newClient();
+        when(delegate.existsUserAsync("user1")).thenReturn(CompletableFuture.completedFuture(true));
+        client.existsUser("user1");
+        when(delegate.existsUsers(List.of("user2"))).thenReturn(Map.of("user2", false));
+
+        // when
+        Map<String, Boolean> results = client.existsUsers(List.of("user1", "user2"));
+
+        // then
+        assertThat(results).containsOnly(entry("user1", true), entry("user2", false));
+        verify(delegate, times(1)).existsUsers(List.of("user2"));
+        assertThat(client.existsUser("user2")).isFalse();
+        verify(delegate, never()).existsUserAsync("user2");
+    }
+
+    @Test
+    void 確認結果を待つのは上限時間までで超えたら利用不可の例外になる() {
+        // given: 外部APIが応答しない
+        CachingUserValidationClient client = newClient();
+        CompletableFuture<Boolean> response = new CompletableFuture<>();
+        when(delegate.existsUserAsync("user1")).thenReturn(response);
+
+        // when & then
+        assertThatThrownBy(() -> client.existsUser("user1"))
+                .isInstanceOf(UserValidationUnavailableException.class)
+                .hasMessageContaining("timed out");
+        assertThatThrownBy(() -> client.existsUserAsync("user1").join())
+                .hasCauseInstanceOf(UserValidationUnavailableException.class);
+
+        // then: 確認自体は打ち切らず、完了すればキャッシュされる
+        response.complete(true);
+        assertThat(client.existsUser("user1")).isTrue();
+        verify(delegate, times(1)).existsUserAsync("user1");
+    }
+
+    @Test
+    void 委譲先が拒否した場合は待たずに利用不可の例外になる() {
+        // given: バルクヘッド満杯
+        CachingUserValidationClient client = newClient(Duration.ofSeconds(5));
+        when(delegate.existsUserAsync("user1")).thenReturn(CompletableFuture.failedFuture(
+                new UserValidationUnavailableException("too many concurrent calls")));
+
+        // when
+        long startNanos = System.nanoTime();
+        Throwable thrown = catchThrowable(() -> client.existsUser("user1"));
+
+        // then
+        assertThat(thrown).isInstanceOf(UserValidationUnavailableException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void 非同期確認は委譲先の非同期版を呼びキャッシュを同期版と共有する() {
+        // given
+        CachingUserValidationClient client = newClient();
+        CompletableFuture<Boolean> response = new CompletableFuture<>();
+        when(delegate.existsUserAsync("user1")).thenReturn(response);
+
+        // when: 応答待ちの間の同じユーザーへの確認は同じ呼び出しを共有する
+        CompletableFuture<Boolean> first = client.existsUserAsync("user1");
+        CompletableFuture<Boolean> second = client.existsUserAsync("user1");
+        response.complete(true);
+
+        // then
+        assertThat(first.join()).isTrue();
+        assertThat(second.join()).isTrue();
+        assertThat(client.existsUser("user1")).isTrue();
+        verify(delegate, times(1)).existsUserAsync("user1");
+        verify(delegate, never()).existsUser("user1");
+    }
+
+    private CachingUserValidationClient newClient() {
+        return newClient(WAIT_TIMEOUT);
+    }
+
+    private CachingUserValidationClient newClient(Duration waitTimeout) {
+        return new CachingUserValidationClient(delegate, 1000,
+                Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ofMinutes(5), waitTimeout,
+                executor, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.apipractice.unit.infrastructure;
+
+import com.example.apipractice.infrastructure.outbox.NotificationOutboxDispatcher;
+import com.example.apipractice.infrastructure.outbox.NotificationOutboxRepository;
+import com.example.apipractice.infrastructure.outbox.OutboxEvent;
+import com.example.apipractice.usecase.port.NotificationClient;
+import com.example.apipractice.usecase.port.NotificationClient.NotificationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * NotificationOutboxDispatcher の単体テスト
+ * UT: Spring起動なし、Mockito使用
+ *
+ * テスト方針:
+ * - アウトボックス（DB）と通知API（HTTP）をMock化
+ * - 送信成功時の削除、失敗時のバックオフ、最大試行回数でのデッドレターを検証
+ * - 送信はトランザクション（取得・反映）の外で行われることを検証
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class NotificationOutboxDispatcherTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    @Mock
+    private NotificationClient notificationSender;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        dispatcher = new NotificationOutboxDispatcher(outboxRepository, notificationSender, transactionManager,
+                meterRegistry, BATCH_SIZE, 10, MAX_ATTEMPTS, LEASE, Duration.ofSeconds(1), Duration.ofSeconds(3));
+    }
+
+    @Test
+    void 送信に成功したイベントは削除される() {
+        // given
+        when(outboxRepository.lockDueEvents(BATCH_SIZE)).thenReturn(List.of(
+                new OutboxEvent(1L, 100L, "Task 1", 0)));
+
+        // when
+        dispatcher.dispatchPending();
+
+        // then: 取得（SENDING にしてコミット）→ 送信（トランザクション外）→ 削除（コミット）
+        InOrder inOrder = inOrder(outboxRepository, notificationSender, transactionManager);
+        inOrder.verify(outboxRepository).lockDueEvents(BATCH_SIZE);
+        inOrder.verify(outboxRepository).markSending(List.of(1L), LEASE.toSeconds());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(notificationSender).notifyTaskCreated(100L, "Task 1");
+        inOrder.verify(outboxRepository).deleteAll(List.of(1L));
+        inOrder.verify(transactionManager).commit(any());
+        assertThat(meterRegistry.get("notification.outbox.dispatched").tag("outcome", "sent").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 送信に失敗したイベントはバックオフして再送予定になる() {
+        // given: 2回目の失敗
+        when(outboxRepository.lockDueEvents(BATCH_SIZE)).thenReturn(List.of(
+                new OutboxEvent(1L, 100L, "Task 1", 1)));
+        doThrow(new NotificationException("Failed", new RuntimeException("503")))
+                .when(notificationSender).notifyTaskCreated(100L, "Task 1");
+
+        // when
+        dispatcher.dispatchPending();
+
+        // then: 1s × 2^(2-1) = 2秒後
+        verify(outboxRepository).scheduleRetry(eq(1L), eq(2), eq(2L), contains("503"));
+        verify(outboxRepository, never()).deleteAll(anyList());
+        verify(outboxRepository, never()).markDead(any(), anyInt(), any());
+    }
+
+    @Test
+    void 最大試行回数に達したイベントはデッドレターになる() {
+        // given: 次の失敗で MAX_ATTEMPTS に達する
+        when(outboxRepository.lockDueEvents(BATCH_SIZE)).thenReturn(List.of(
+                new OutboxEvent(1L, 100L, "Task 1", MAX_ATTEMPTS - 1)));
+        doThrow(new NotificationException("Failed", null))
+                .when(notificationSender).notifyTaskCreated(100L, "Task 1");
+
+        // when
+        dispatcher.dispatchPending();
+
+        // then
+        verify(outboxRepository).markDead(eq(1L), eq(MAX_ATTEMPTS), any());
+        verify(outboxRepository, never()).scheduleRetry(any(), anyInt(), anyLong(), any());
+        assertThat(meterRegistry.get("notification.outbox.dispatched").tag("outcome", "dead").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void マルチバイトのエラーメッセージは列のバイト数以下に切り詰めて記録する() {
+        // given: 3バイト文字500文字（1500バイト）
+        when(outboxRepository.lockDueEvents(BATCH_SIZE)).thenReturn(List.of(
+                new OutboxEvent(1L, 100L, "Task 1", 0)));
+        doThrow(new NotificationException("Failed", new RuntimeException("あ".repeat(500))))
+                .when(notificationSender).notifyTaskCreated(100L, "Task 1");
+
+        // when
+        dispatcher.dispatchPending();
+
+        // then
+        ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).scheduleRetry(eq(1L), eq(1), eq(1L), error.capture());
+        assertThat(error.getValue().getBytes(StandardCharsets.UTF_8).length).isBetween(998, 1000);
+        assertThat(error.getValue()).startsWith("java.lang.RuntimeException: あ");
+    }
+
+    @Test
+    void 一部の送信が失敗しても他のイベントは削除される() {
+        // given
+        when(outboxRepository.lockDueEvents(BATCH_SIZE))
+                .thenReturn(List.of(new OutboxEvent(1L, 100L, "Task 1", 0), new OutboxEvent(2L, 200L, "Task 2", 0)))
+                .thenReturn(List.of());
+        doThrow(new NotificationException("Failed", null))
+                .when(notificationSender).notifyTaskCreated(100L, "Task 1");
+
+        // when
+        dispatcher.dispatchPending();
+
+        // then: バッチが満杯だったため次のバッチも取得する
+        verify(outboxRepository).deleteAll(List.of(2L));
+        verify(outboxRepository).scheduleRetry(eq(1L), eq(1), eq(1L), any());
+        verify(outboxRepository, times(2)).lockDueEvents(BATCH_SIZE);
+    }
+
+    @Test
+    void 送信待ちが無い場合は送信も反映のトランザクションも行わない() {
+        // given
+        when(outboxRepository.lockDueEvents(BATCH_SIZE)).thenReturn(List.of());
+
+        // when
+        dispatcher.dispatchPending();
+
+        // then
+        verify(outboxRepository, never()).markSending(anyList(), anyLong());
+        verifyNoInteractions(notificationSender);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void バックオフは上限で頭打ちになる() {
+        // given
+        when(outboxRepository.lockDueEvents(BATCH_SIZE)).thenReturn(List.of(
+                new OutboxEvent(1L, 100L, "Task 1", 1)));
+        NotificationOutboxDispatcher manyAttempts = new NotificationOutboxDispatcher(outboxRepository,
+                notificationSender, transactionManager, new SimpleMeterRegistry(),
+                BATCH_SIZE, 10, 100, LEASE, Duration.ofSeconds(2), Duration.ofSeconds(3));
+        doThrow(new NotificationException("Failed", null))
+                .when(notificationSender).notifyTaskCreated(100L, "Task 1");
+
+        // when
+        manyAttempts.dispatchPending();
+
+        // then: 2s × 2 = 4s → 上限3s
+        verify(outboxRepository).scheduleRetry(eq(1L), eq(2), eq(3L), any());
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.apipractice.unit.infrastructure;
+
+import com.example.apipractice.infrastructure.client.ResilientUserValidationClient;
+import com.example.apipractice.infrastructure.client.RetryBudget;
+import com.example.apipractice.usecase.port.UserValidationClient;
+import com.example.apipractice.usecase.port.UserValidationClient.UserValidationException;
+import com.example.apipractice.usecase.port.UserValidationClient.UserValidationUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ResilientUserValidationClient の単体テスト
+ * UT: Spring起動なし、Mockito使用
+ *
+ * テスト方針:
+ * - 委譲先のUserValidationClient（HTTPアダプタ）をMock化
+ * - サーキットブレーカー・バルクヘッドは実物（Resilience4j）を小さい閾値で使用
+ * - 拒否時は委譲先を呼ばずに UserValidationUnavailableException になることを検証
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class ResilientUserValidationClientTest {
+
+    @Mock
+    private UserValidationClient delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordExceptions(UserValidationException.class)
+                .build());
+        bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    @Test
+    void 失敗した呼び出しはリトライ予算の範囲で再試行する() {
+        // given
+        ResilientUserValidationClient client = newClient(new RetryBudget(0.1, 10));
+        when(delegate.existsUser("user1"))
+                .thenThrow(new UserValidationException("timeout", null))
+                .thenReturn(true);
+
+        // when
+        boolean exists = client.existsUser("user1");
+
+        // then
+        assertThat(exists).isTrue();
+        verify(delegate, times(2)).existsUser("user1");
+        assertThat(meterRegistry.get("user.validation.retries").tag("result", "attempted").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void リトライ予算が尽きていれば再試行しない() {
+        // given
+        ResilientUserValidationClient client = newClient(new RetryBudget(0.1, 0));
+        when(delegate.existsUser("user1")).thenThrow(new UserValidationException("timeout", null));
+
+        // when & then
+        assertThatThrownBy(() -> client.existsUser("user1"))
+                .isInstanceOf(UserValidationException.class)
+                .isNotInstanceOf(UserValidationUnavailableException.class);
+        verify(delegate, times(1)).existsUser("user1");
+        assertThat(meterRegistry.get("user.validation.retries").tag("result", "budget_exhausted").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 失敗が続くとサーキットブレーカーが開き委譲先を呼ばずに拒否する() {
+        // given
+        ResilientUserValidationClient client = newClient(new RetryBudget(0.1, 0));
+        when(delegate.existsUser("user1")).thenThrow(new UserValidationException("503", null));
+        catchThrowable(() -> client.existsUser("user1"));
+        catchThrowable(() -> client.existsUser("user1"));
+
+        // when & then
+        assertThatThrownBy(() -> client.existsUser("user1"))
+                .isInstanceOf(UserValidationUnavailableException.class)
+                .hasMessageContaining("circuit breaker is open");
+        verify(delegate, times(2)).existsUser("user1");
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("user.validation.rejections").tag("reason", "circuit_open").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 存在しないユーザーは失敗として数えない() {
+        // given
+        ResilientUserValidationClient client = newClient(new RetryBudget(0.1, 10));
+        when(delegate.existsUser("unknown")).thenReturn(false);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.existsUser("unknown")).isFalse();
+        }
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void 同時呼び出し数の上限に達していれば待たずに拒否する() {
+        // given: 別の呼び出しが実行中
+        ResilientUserValidationClient client = newClient(new RetryBudget(0.1, 10));
+        bulkhead.tryAcquirePermission();
+
+        // when & then
+        assertThatThrownBy(() -> client.existsUser("user1"))
+                .isInstanceOf(UserValidationUnavailableException.class)
+                .hasMessageContaining("too many concurrent calls");
+        verify(delegate, never()).existsUser(any());
+        assertThat(meterRegistry.get("user.validation.rejections").tag("reason", "bulkhead_full").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 非同期確認も失敗時はリトライし完了時に同時呼び出し枠を返す() {
+        // given
+        ResilientUserValidationClient client = newClient(new RetryBudget(0.1, 10));
+        when(delegate.existsUserAsync("user1"))
+                .thenReturn(CompletableFuture.failedFuture(new UserValidationException("timeout", null)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        // when
+        boolean exists = client.existsUserAsync("user1").join();
+
+        // then
+        assertThat(exists).isTrue();
+        verify(delegate, times(2)).existsUserAsync("user1");
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void 一括確認APIが無い場合はユーザーごとに同時呼び出し枠を取る() {
+        // given: 枠は1つ。user1 の応答（200ms後）を待つ間に user2 を呼ぶ
+        ResilientUserValidationClient client = newClient(new RetryBudget(0.1, 0), false);
+        when(delegate.existsUserAsync("user1")).thenAnswer(invocation -> CompletableFuture.supplyAsync(
+                () -> true, CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS)));
+
+        // when
+        Map<String, Boolean> results = client.existsUsers(List.of("user1", "user2"));
+
+        // then: user2 は枠が無く拒否される（一括確認全体で枠1つにはならない）
+        assertThat(results).containsOnly(entry("user1", true));
+        assertThat(meterRegistry.get("user.validation.rejections").tag("reason", "bulkhead_full").counter().count())
+                .isEqualTo(1.0);
+        verify(delegate, never()).existsUsers(any());
+        verify(delegate, never()).existsUserAsync("user2");
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void 一括確認APIが無い場合の失敗はユーザーごとにサーキットブレーカーへ記録する() {
+        // given
+        bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(10)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        ResilientUserValidationClient client = newClient(new RetryBudget(0.1, 0), false);
+        when(delegate.existsUserAsync(any()))
+                .thenReturn(CompletableFuture.failedFuture(new UserValidationException("503", null)));
+
+        // when
+        Map<String, Boolean> results = client.existsUsers(List.of("user1", "user2"));
+
+        // then: 1回の一括確認ではなく2回の失敗として数えられ、サーキットが開く
+        assertThat(results).isEmpty();
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(2);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void 非同期確認もサーキットブレーカーが開いていれば委譲先を呼ばずに失敗する() {
+        // given
+        ResilientUserValidationClient client = newClient(new RetryBudget(0.1, 0));
+        circuitBreaker.transitionToOpenState();
+
+        // when & then
+        assertThat(client.existsUserAsync("user1"))
+                .failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(UserValidationUnavailableException.class);
+        verify(delegate, never()).existsUserAsync(any());
+    }
+
+    private ResilientUserValidationClient newClient(RetryBudget retryBudget) {
+        return newClient(retryBudget, true);
+    }
+
+    private ResilientUserValidationClient newClient(RetryBudget retryBudget, boolean batchEndpoint) {
+        return new ResilientUserValidationClient(delegate, batchEndpoint, circuitBreaker, bulkhead, retryBudget, 2,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.apipractice.unit.interfaces;
+
+import com.example.apipractice.interfaces.rest.ServerTiming;
+import com.example.apipractice.usecase.service.PhaseTimings;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * ServerTiming の単体テスト
+ * UT: Spring起動なし
+ *
+ * テスト方針:
+ * - mode とリクエストヘッダーによって計測するかどうかが決まること
+ * - 記録したフェーズだけが定義順にミリ秒（小数3桁）で出力され、最後に total が付くこと
+ * - finish の後はスレッドとの結び付けが解除されること
+ */
+@Tag("unit")
+class ServerTimingTest {
+
+    @Test
+    void 記録したフェーズだけを定義順に出力し最後にtotalを付ける() {
+        // given
+        ServerTiming serverTiming = new ServerTiming(ServerTiming.Mode.ALWAYS);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        PhaseTimings timings = serverTiming.start(new MockHttpServletRequest());
+
+        // when
+        PhaseTimings current = PhaseTimings.current();
+        long began = current.begin();
+        began = current.end(PhaseTimings.Phase.USER_VALIDATION, began);
+        current.end(PhaseTimings.Phase.PERSISTENCE, began);
+        serverTiming.finish(timings, response);
+
+        // then
+        assertThat(current).isSameAs(timings);
+        assertThat(response.getHeader(ServerTiming.HEADER))
+                .matches("user;dur=\\d+\\.\\d{3}, db;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}");
+        assertThat(PhaseTimings.current()).isSameAs(PhaseTimings.disabled());
+    }
+
+    @Test
+    void ON_REQUESTではXServerTimingヘッダーがある場合だけ計測する() {
+        // given
+        ServerTiming serverTiming = new ServerTiming(ServerTiming.Mode.ON_REQUEST);
+        MockHttpServletRequest requested = new MockHttpServletRequest();
+        requested.addHeader(ServerTiming.REQUEST_HEADER, "1");
+        MockHttpServletResponse requestedResponse = new MockHttpServletResponse();
+        MockHttpServletResponse plainResponse = new MockHttpServletResponse();
+
+        // when
+        serverTiming.finish(serverTiming.start(requested), requestedResponse);
+        serverTiming.finish(serverTiming.start(new MockHttpServletRequest()), plainResponse);
+
+        // then
+        assertThat(requestedResponse.getHeader(ServerTiming.HEADER)).startsWith("total;dur=");
+        assertThat(plainResponse.getHeader(ServerTiming.HEADER)).isNull();
+    }
+
+    @Test
+    void OFFではヘッダーがあっても計測せず時刻も読まない() {
+        // given
+        ServerTiming serverTiming = new ServerTiming(ServerTiming.Mode.OFF);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ServerTiming.REQUEST_HEADER, "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        PhaseTimings timings = serverTiming.start(request);
+        long began = PhaseTimings.current().begin();
+        PhaseTimings.current().end(PhaseTimings.Phase.PERSISTENCE, began);
+        serverTiming.finish(timings, response);
+
+        // then
+        assertThat(timings).isSameAs(PhaseTimings.disabled());
+        assertThat(began).isZero();
+        assertThat(timings.isRecorded(PhaseTimings.Phase.PERSISTENCE)).isFalse();
+        assertThat(response.getHeader(ServerTiming.HEADER)).isNull();
+    }
+}
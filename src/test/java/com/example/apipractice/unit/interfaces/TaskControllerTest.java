@@ -2,18 +2,72 @@ package com.example.apipractice.unit.interfaces;
 
 import com.example.apipractice.core.domain.Task;
 import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.interfaces.rest.ServerTiming;
 import com.example.apipractice.interfaces.rest.TaskController;
+import com.example.apipractice.interfaces.rest.TaskJsonPayload;
+import com.example.apipractice.interfaces.rest.TaskRateLimits;
+import com.example.apipractice.interfaces.rest.TaskResponseCache;
+import com.example.apipractice.interfaces.rest.UserRateLimiter;
+import com.example.apipractice.interfaces.rest.dto.BatchCreateTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.BatchCreateTaskResponse;
+import com.example.apipractice.interfaces.rest.dto.BulkCompleteTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.BulkCompleteTaskResponse;
 import com.example.apipractice.interfaces.rest.dto.CreateTaskRequest;
+import com.example.apipractice.interfaces.rest.dto.TaskLookupRequest;
+import com.example.apipractice.interfaces.rest.dto.TaskLookupResponse;
+import com.example.apipractice.interfaces.rest.dto.TaskPageResponse;
 import com.example.apipractice.interfaces.rest.dto.TaskResponse;
+import com.example.apipractice.interfaces.rest.dto.TaskSummaryResponse;
+import com.example.apipractice.usecase.port.TaskPageCursor;
+import com.example.apipractice.usecase.port.TaskRevision;
+import com.example.apipractice.usecase.port.TaskSummary;
+import com.example.apipractice.usecase.port.UserValidationClient;
+import com.example.apipractice.usecase.service.AsyncTaskService;
+import com.example.apipractice.usecase.service.CreateTaskCommand;
+import com.example.apipractice.usecase.service.CreateTaskResult;
+import com.example.apipractice.usecase.service.IdempotentTaskService;
+import com.example.apipractice.usecase.service.TaskCompletionBatch;
+import com.example.apipractice.usecase.service.TaskCompletionResult;
+import com.example.apipractice.usecase.service.TaskImportListener;
+import com.example.apipractice.usecase.service.TaskImportProgress;
+import com.example.apipractice.usecase.service.TaskImportRecord;
+import com.example.apipractice.usecase.service.TaskImportService;
+import com.example.apipractice.usecase.service.TaskLookupResult;
+import com.example.apipractice.usecase.service.TaskPage;
 import com.example.apipractice.usecase.service.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,6 +86,27 @@ class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private IdempotentTaskService idempotentTaskService;
+
+    @Mock
+    private AsyncTaskService asyncTaskService;
+
+    @Mock
+    private TaskImportService taskImportService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private TaskResponseCache responseCache = new TaskResponseCache(1024 * 1024, 64 * 1024, new SimpleMeterRegistry());
+
+    @Mock
+    private TaskRateLimits rateLimits;
+
+    @Spy
+    private ServerTiming serverTiming = new ServerTiming(ServerTiming.Mode.ON_REQUEST);
+
     @InjectMocks
     private TaskController taskController;
 
@@ -49,7 +124,7 @@ class TaskControllerTest {
         when(taskService.createTask("user1", "Test Task", "Description")).thenReturn(task);
 
         // when
-        TaskResponse response = taskController.createTask(request);
+        TaskResponse response = taskController.createTask(request, null, new MockHttpServletRequest(), new MockHttpServletResponse());
 
         // then
         assertThat(response.getId()).isEqualTo(1L);
@@ -58,20 +133,197 @@ class TaskControllerTest {
         verify(taskService, times(1)).createTask("user1", "Test Task", "Description");
     }
 
+    @Test
+    void IdempotencyKey付きのタスク作成はキーをServiceに渡す() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user1");
+        request.setTitle("Test Task");
+        Task task = Task.create("Test Task", null);
+        task.setId(1L);
+        when(idempotentTaskService.createTask("key-1", "user1", "Test Task", null)).thenReturn(task);
+
+        // when
+        TaskResponse response = taskController.createTask(request, "key-1", new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        // then
+        assertThat(response.getId()).isEqualTo(1L);
+        verify(taskService, never()).createTask(any(), any(), any());
+    }
+
+    @Test
+    void IdempotencyKeyの再送で結果が保存済みならレート制限の前に最初のレスポンスを返す() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user1");
+        request.setTitle("Test Task");
+        Task original = Task.create("Test Task", null);
+        original.setId(1L);
+        when(idempotentTaskService.findReplay("key-1", "user1", "Test Task", null)).thenReturn(Optional.of(original));
+
+        // when
+        TaskResponse response = taskController.createTask(request, "key-1", new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        // then
+        assertThat(response.getId()).isEqualTo(1L);
+        verifyNoInteractions(rateLimits);
+        verify(idempotentTaskService, never()).createTask(any(), any(), any(), any());
+    }
+
+    @Test
+    void ユーザーのレート制限を超えたタスク作成はServiceを呼ばずに429とRetryAfterを返す() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user1");
+        request.setTitle("Test Task");
+        doThrow(new UserRateLimiter.RateLimitExceededException("Rate limit exceeded", 3))
+                .when(rateLimits).acquireCreate("user1");
+
+        // when
+        Throwable thrown = catchThrowable(() ->
+                taskController.createTask(request, null, new MockHttpServletRequest(), new MockHttpServletResponse()));
+        ResponseEntity<TaskController.ErrorResponse> response =
+                taskController.handleRateLimitExceeded((UserRateLimiter.RateLimitExceededException) thrown);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void 空または長すぎるIdempotencyKeyは400になる() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user1");
+        request.setTitle("Test Task");
+
+        // when & then
+        assertThatThrownBy(() -> taskController.createTask(request, " ", new MockHttpServletRequest(), new MockHttpServletResponse()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskController.createTask(request, "k".repeat(256), new MockHttpServletRequest(), new MockHttpServletResponse()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(taskService);
+    }
+
     @Test
     void タスク取得APIがServiceを呼び出してレスポンスを返す() {
         // given
         Task task = Task.create("Test Task", "Description");
         task.setId(1L);
+        task.setVersion(3L);
 
         when(taskService.getTask(1L)).thenReturn(task);
 
         // when
-        TaskResponse response = taskController.getTask(1L);
+        ResponseEntity<TaskJsonPayload> response = taskController.getTask(1L, getRequest(new MockHttpServletRequest()));
 
-        // then
-        assertThat(response.getId()).isEqualTo(1L);
+        // then: 条件付きでないので状態とバージョンは別に読まない
+        JsonNode body = readBody(response);
+        assertThat(body.get("id").asLong()).isEqualTo(1L);
+        assertThat(body.get("title").asText()).isEqualTo("Test Task");
+        assertThat(body.get("version").asLong()).isEqualTo(3L);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(response.getHeaders().getLastModified()).isPositive();
         verify(taskService, times(1)).getTask(1L);
+        verify(taskService, never()).getTaskRevision(any());
+    }
+
+    @Test
+    void タスク取得APIは同じバージョンならキャッシュした本文を返す() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        task.setVersion(3L);
+        when(taskService.getTask(1L)).thenReturn(task);
+        ResponseEntity<TaskJsonPayload> first = taskController.getTask(1L, getRequest(new MockHttpServletRequest()));
+
+        // when
+        ResponseEntity<TaskJsonPayload> response = taskController.getTask(1L, getRequest(new MockHttpServletRequest()));
+
+        // then: シリアライズは1回目だけ
+        assertThat(response.getBody()).isSameAs(first.getBody());
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+    }
+
+    @Test
+    void タスク取得APIは条件付きで同じバージョンならタスクを読まずにキャッシュした本文を返す() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        task.setVersion(3L);
+        when(taskService.getTask(1L)).thenReturn(task);
+        taskController.getTask(1L, getRequest(new MockHttpServletRequest()));
+        when(taskService.getTaskRevision(1L))
+                .thenReturn(new TaskRevision(1L, TaskStatus.TODO, 3L, task.getUpdatedAt()));
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"2\"");
+
+        // when
+        ResponseEntity<TaskJsonPayload> response = taskController.getTask(1L, getRequest(httpRequest));
+
+        // then: タスクの読み込みは1回目だけ
+        assertThat(readBody(response).get("title").asText()).isEqualTo("Test Task");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+        verify(taskService, times(1)).getTask(1L);
+    }
+
+    @Test
+    void タスク完了APIはキャッシュした本文を破棄する() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        task.setVersion(3L);
+        when(taskService.getTask(1L)).thenReturn(task);
+        taskController.getTask(1L, getRequest(new MockHttpServletRequest()));
+        when(taskService.completeTask(1L, null)).thenReturn(task);
+
+        // when
+        taskController.completeTask(1L, null, new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        // then
+        verify(responseCache).invalidate(1L);
+        assertThat(responseCache.get(1L, 3L)).isEmpty();
+    }
+
+    @Test
+    void タスク取得APIはIfNoneMatchが一致すれば本文を読まずに304を返す() {
+        // given
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.setMethod("GET");
+        httpRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+        when(taskService.getTaskRevision(1L))
+                .thenReturn(new TaskRevision(1L, TaskStatus.TODO, 3L, LocalDateTime.now()));
+
+        // when
+        ResponseEntity<TaskJsonPayload> response = taskController.getTask(1L, new ServletWebRequest(httpRequest, httpResponse));
+
+        // then
+        assertThat(response).isNull();
+        assertThat(httpResponse.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(httpResponse.getHeader(HttpHeaders.ETAG)).isEqualTo("\"3\"");
+        verify(taskService, never()).getTask(any());
+    }
+
+    @Test
+    void タスク取得APIはIfNoneMatchが古ければ本文を返す() {
+        // given
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"2\"");
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        task.setVersion(3L);
+        when(taskService.getTaskRevision(1L))
+                .thenReturn(new TaskRevision(1L, TaskStatus.TODO, 3L, task.getUpdatedAt()));
+        when(taskService.getTask(1L)).thenReturn(task);
+
+        // when
+        ResponseEntity<TaskJsonPayload> response = taskController.getTask(1L, getRequest(httpRequest));
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(readBody(response).get("version").asLong()).isEqualTo(3L);
     }
 
     @Test
@@ -81,13 +333,383 @@ class TaskControllerTest {
         task.setId(1L);
         task.complete();
 
-        when(taskService.completeTask(1L)).thenReturn(task);
+        when(taskService.completeTask(1L, null)).thenReturn(task);
+
+        // when
+        ResponseEntity<TaskResponse> response = taskController.completeTask(1L, null, new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        // then
+        assertThat(response.getBody().getStatus()).isEqualTo(TaskStatus.DONE);
+        verify(taskService, times(1)).completeTask(1L, null);
+    }
+
+    @Test
+    void タスク完了APIはIfMatchのバージョンをServiceに渡す() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        task.complete();
+        task.setVersion(4L);
+
+        when(taskService.completeTask(1L, 3L)).thenReturn(task);
+
+        // when
+        ResponseEntity<TaskResponse> response = taskController.completeTask(1L, "\"3\"", new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        // then
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"4\"");
+        verify(taskService, times(1)).completeTask(1L, 3L);
+    }
+
+    @Test
+    void 不正なIfMatchは400になる() {
+        // when & then
+        assertThatThrownBy(() -> taskController.completeTask(1L, "W/\"3\"", new MockHttpServletRequest(), new MockHttpServletResponse()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid If-Match");
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void XServerTimingヘッダー付きのリクエストにはServerTimingヘッダーを返す() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        task.complete();
+        when(taskService.completeTask(1L, null)).thenReturn(task);
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader(ServerTiming.REQUEST_HEADER, "1");
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
 
         // when
-        TaskResponse response = taskController.completeTask(1L);
+        taskController.completeTask(1L, null, httpRequest, httpResponse);
 
         // then
-        assertThat(response.getStatus()).isEqualTo(TaskStatus.DONE);
-        verify(taskService, times(1)).completeTask(1L);
+        assertThat(httpResponse.getHeader(ServerTiming.HEADER)).matches("total;dur=\\d+\\.\\d{3}");
+    }
+
+    @Test
+    void XServerTimingヘッダーが無いリクエストにはServerTimingヘッダーを返さない() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        when(taskService.createTask("user1", "Test Task", null)).thenReturn(task);
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user1");
+        request.setTitle("Test Task");
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        // when
+        taskController.createTask(request, null, new MockHttpServletRequest(), httpResponse);
+
+        // then
+        assertThat(httpResponse.getHeader(ServerTiming.HEADER)).isNull();
+    }
+
+    @Test
+    void 作成が失敗した場合もServerTimingヘッダーを返す() {
+        // given
+        when(taskService.createTask("user1", "Test Task", null))
+                .thenThrow(new TaskService.UserNotFoundException("User not found: userId=user1"));
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user1");
+        request.setTitle("Test Task");
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader(ServerTiming.REQUEST_HEADER, "1");
+        MockHttpServletResponse httpResponse = new MockHttpServletResponse();
+
+        // when
+        catchThrowable(() -> taskController.createTask(request, null, httpRequest, httpResponse));
+
+        // then
+        assertThat(httpResponse.getHeader(ServerTiming.HEADER)).startsWith("total;dur=");
+    }
+
+    @Test
+    void タスク一括完了APIがIDごとの結果と件数を返す() {
+        // given
+        BulkCompleteTaskRequest request = new BulkCompleteTaskRequest();
+        request.setIds(List.of(1L, 2L, 3L));
+        when(taskService.completeTasks(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new TaskCompletionResult(1L, TaskCompletionResult.Outcome.COMPLETED),
+                new TaskCompletionResult(2L, TaskCompletionResult.Outcome.ALREADY_DONE),
+                new TaskCompletionResult(3L, TaskCompletionResult.Outcome.NOT_FOUND)));
+
+        // when
+        BulkCompleteTaskResponse response = taskController.completeTasks(request);
+
+        // then
+        assertThat(response.getCompleted()).isEqualTo(1);
+        assertThat(response.getAlreadyDone()).isEqualTo(1);
+        assertThat(response.getNotFound()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BulkCompleteTaskResponse.Item::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void 条件指定のタスク一括完了APIは上限に達した場合に続きがあることを返す() {
+        // given
+        BulkCompleteTaskRequest request = new BulkCompleteTaskRequest();
+        request.setStatus(TaskStatus.TODO);
+        when(taskService.completeTasks(TaskStatus.TODO, null)).thenReturn(new TaskCompletionBatch(
+                List.of(new TaskCompletionResult(1L, TaskCompletionResult.Outcome.COMPLETED)), true));
+
+        // when
+        BulkCompleteTaskResponse response = taskController.completeTasks(request);
+
+        // then
+        assertThat(response.getCompleted()).isEqualTo(1);
+        assertThat(response.isHasMore()).isTrue();
+        verify(responseCache).invalidateAll(List.of(1L));
+    }
+
+    @Test
+    void タスク一括完了APIはIDと条件の両方または一方も無い場合は400になる() {
+        // given
+        BulkCompleteTaskRequest both = new BulkCompleteTaskRequest();
+        both.setIds(List.of(1L));
+        both.setStatus(TaskStatus.TODO);
+        BulkCompleteTaskRequest neither = new BulkCompleteTaskRequest();
+
+        // when & then
+        assertThatThrownBy(() -> taskController.completeTasks(both)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskController.completeTasks(neither)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void タスク一括作成APIが明細ごとの結果を返す() {
+        // given
+        CreateTaskRequest item1 = new CreateTaskRequest();
+        item1.setUserId("user1");
+        item1.setTitle("Task 1");
+        CreateTaskRequest item2 = new CreateTaskRequest();
+        item2.setUserId("unknown-user");
+        item2.setTitle("Task 2");
+        BatchCreateTaskRequest request = new BatchCreateTaskRequest();
+        request.setTasks(List.of(item1, item2));
+
+        Task task = Task.create("Task 1", null);
+        task.setId(1L);
+
+        when(taskService.createTasks(List.of(
+                new CreateTaskCommand("user1", "Task 1", null),
+                new CreateTaskCommand("unknown-user", "Task 2", null)
+        ))).thenReturn(List.of(
+                CreateTaskResult.success(task),
+                CreateTaskResult.failure("User not found: userId=unknown-user")
+        ));
+
+        // when
+        BatchCreateTaskResponse response = taskController.createTasks(request);
+
+        // then
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getTask().getId()).isEqualTo(1L);
+        assertThat(response.getResults().get(1).isSuccess()).isFalse();
+        assertThat(response.getResults().get(1).getError()).contains("unknown-user");
+    }
+
+    @Test
+    void タスク一覧APIが返したカーソルで次ページを取得できる() {
+        // given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_000);
+        TaskSummary summary = new TaskSummary(7L, "Task 7", TaskStatus.TODO, createdAt, createdAt);
+        TaskPageCursor next = new TaskPageCursor(createdAt, 7L);
+
+        when(taskService.listTasks(TaskStatus.TODO, null, null, 1))
+                .thenReturn(new TaskPage(List.of(summary), next));
+        when(taskService.listTasks(TaskStatus.TODO, null, next, 1))
+                .thenReturn(new TaskPage(List.of(), null));
+
+        // when
+        TaskPageResponse first = taskController.listTasks(TaskStatus.TODO, null, 1, null);
+        TaskPageResponse second = taskController.listTasks(TaskStatus.TODO, null, 1, first.getNextCursor());
+
+        // then
+        assertThat(first.getItems()).extracting(TaskSummaryResponse::getId).containsExactly(7L);
+        assertThat(first.getNextCursor()).isNotBlank();
+        assertThat(second.getItems()).isEmpty();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void タスク一覧APIの件数は上限に丸められる() {
+        // given
+        when(taskService.listTasks(isNull(), isNull(), isNull(), eq(200))).thenReturn(new TaskPage(List.of(), null));
+
+        // when
+        taskController.listTasks(null, null, 10_000, null);
+
+        // then
+        verify(taskService).listTasks(null, null, null, 200);
+    }
+
+    @Test
+    void 不正なカーソルは例外になる() {
+        assertThatThrownBy(() -> taskController.listTasks(null, null, 10, "not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(taskService, never()).listTasks(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void タスク一括取得APIが取得結果と存在しないIDを返す() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        TaskLookupRequest request = new TaskLookupRequest();
+        request.setIds(List.of(1L, 2L));
+
+        when(taskService.getTasks(List.of(1L, 2L))).thenReturn(new TaskLookupResult(List.of(task), List.of(2L)));
+
+        // when
+        TaskLookupResponse response = taskController.lookupTasks(request);
+
+        // then
+        assertThat(response.getItems()).extracting(TaskResponse::getId).containsExactly(1L);
+        assertThat(response.getMissingIds()).containsExactly(2L);
+    }
+
+    @Test
+    void エクスポートAPIが1行1タスクのNDJSONを書き出す() throws Exception {
+        // given
+        Task task1 = Task.create("Task 1", "Description 1");
+        task1.setId(1L);
+        Task task2 = Task.create("Task 2", "Description 2");
+        task2.setId(2L);
+
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(2);
+            consumer.accept(task1);
+            consumer.accept(task2);
+            return null;
+        }).when(taskService).exportTasks(eq(TaskStatus.TODO), isNull(), any());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        taskController.exportTasks(TaskStatus.TODO, null, response);
+
+        // then
+        String body = response.getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(1L);
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("Task 2");
+    }
+
+    @Test
+    void インポートAPIが行を解析してエラーと集計をNDJSONで返す() throws Exception {
+        // given: 2行目は不正なJSON、空行は読み飛ばす
+        String body = """
+                {"userId":"user1","title":"Task 1"}
+                {broken
+
+                {"userId":"user2","title":"Task 2","description":"d"}
+                """;
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        when(taskImportService.importTasks(any(), any())).thenAnswer(invocation -> {
+            Iterator<TaskImportRecord> records = invocation.getArgument(0);
+            TaskImportListener listener = invocation.getArgument(1);
+            List<TaskImportRecord> read = new ArrayList<>();
+            records.forEachRemaining(read::add);
+
+            assertThat(read).extracting(TaskImportRecord::lineNumber).containsExactly(1L, 2L, 4L);
+            assertThat(read.get(0).command()).isEqualTo(new CreateTaskCommand("user1", "Task 1", null));
+            assertThat(read.get(1).isParsed()).isFalse();
+            assertThat(read.get(2).command()).isEqualTo(new CreateTaskCommand("user2", "Task 2", "d"));
+
+            listener.onLineFailed(2, read.get(1).parseError());
+            TaskImportProgress progress = new TaskImportProgress(3, 2, 1);
+            listener.onProgress(progress);
+            return progress;
+        });
+
+        // when
+        taskController.importTasks(request, response);
+
+        // then
+        String[] lines = response.getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines[0]).get("type").asText()).isEqualTo("error");
+        assertThat(objectMapper.readTree(lines[0]).get("line").asLong()).isEqualTo(2L);
+        assertThat(objectMapper.readTree(lines[1]).get("type").asText()).isEqualTo("progress");
+        assertThat(objectMapper.readTree(lines[2]).get("type").asText()).isEqualTo("summary");
+        assertThat(objectMapper.readTree(lines[2]).get("succeeded").asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    void ユーザー検証APIが利用できない場合は503のエラーレスポンスになる() {
+        // given
+        when(taskService.createTask("user1", "Task", null))
+                .thenThrow(new UserValidationClient.UserValidationUnavailableException(
+                        "User validation service unavailable: circuit breaker is open"));
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user1");
+        request.setTitle("Task");
+
+        // when
+        Throwable thrown = catchThrowable(() ->
+                taskController.createTask(request, null, new MockHttpServletRequest(), new MockHttpServletResponse()));
+        TaskController.ErrorResponse response =
+                taskController.handleUserValidationUnavailable((UserValidationClient.UserValidationException) thrown);
+
+        // then
+        assertThat(response.getMessage()).contains("circuit breaker is open");
+    }
+
+    @Test
+    void 非同期タスク作成APIは作成完了後に201のレスポンスを返す() {
+        // given
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setUserId("user1");
+        request.setTitle("Test Task");
+        request.setDescription("Description");
+
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        CompletableFuture<Task> created = new CompletableFuture<>();
+        when(asyncTaskService.createTask("user1", "Test Task", "Description")).thenReturn(created);
+
+        // when
+        CompletableFuture<ResponseEntity<TaskResponse>> response = taskController.createTaskAsync(request);
+
+        // then: 作成が終わるまでレスポンスは確定しない
+        assertThat(response).isNotDone();
+        created.complete(task);
+        assertThat(response.join().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.join().getBody().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void 非同期タスク作成が混雑で拒否された場合は503とRetryAfterを返す() {
+        // when
+        ResponseEntity<TaskController.ErrorResponse> response = taskController.handleBusy(
+                new AsyncTaskService.TaskCreationBusyException("Task persistence queue is full"));
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody().getMessage()).isEqualTo("Task persistence queue is full");
+    }
+
+    private static ServletWebRequest getRequest(MockHttpServletRequest httpRequest) {
+        httpRequest.setMethod("GET");
+        return new ServletWebRequest(httpRequest, new MockHttpServletResponse());
+    }
+
+    private JsonNode readBody(ResponseEntity<TaskJsonPayload> response) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            response.getBody().writeTo(out);
+            return objectMapper.readTree(out.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,121 @@
+package com.example.apipractice.unit.interfaces;
+
+import com.example.apipractice.interfaces.rest.TaskJsonPayload;
+import com.example.apipractice.interfaces.rest.TaskResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * TaskResponseCache の単体テスト
+ * UT: Spring起動なし
+ *
+ * テスト方針:
+ * - バージョンが一致する場合だけヒットすること（不一致はミスとして数える）
+ * - 大きすぎる本文はキャッシュしないこと、古いバージョンで上書きしないことを検証
+ */
+@Tag("unit")
+class TaskResponseCacheTest {
+
+    private static final int MAX_ENTRY_BYTES = 64;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TaskResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TaskResponseCache(1024, MAX_ENTRY_BYTES, meterRegistry);
+    }
+
+    @Test
+    void 同じバージョンならキャッシュした本文を返す() throws IOException {
+        // given
+        cache.put(1L, 3L, 1000L, json("{\"id\":1}"));
+
+        // when
+        Optional<TaskJsonPayload> payload = cache.get(1L, 3L);
+
+        // then
+        assertThat(payload).isPresent();
+        assertThat(payload.get().lastModified()).isEqualTo(1000L);
+        assertThat(text(payload.get())).isEqualTo("{\"id\":1}");
+        // 複数回書き出せる（読み出し位置を共有しない）
+        assertThat(text(payload.get())).isEqualTo("{\"id\":1}");
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void バージョンが異なる場合はミスになる() {
+        // given
+        cache.put(1L, 3L, 1000L, json("{\"id\":1}"));
+
+        // when
+        Optional<TaskJsonPayload> payload = cache.get(1L, 4L);
+
+        // then
+        assertThat(payload).isEmpty();
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 大きすぎる本文はキャッシュせずにそのまま返す() throws IOException {
+        // given
+        String large = "x".repeat(MAX_ENTRY_BYTES + 1);
+
+        // when
+        TaskJsonPayload payload = cache.put(1L, 3L, 1000L, json(large));
+
+        // then
+        assertThat(text(payload)).isEqualTo(large);
+        assertThat(cache.get(1L, 3L)).isEmpty();
+    }
+
+    @Test
+    void 古いバージョンで上書きしない() {
+        // given
+        cache.put(1L, 4L, 2000L, json("{\"version\":4}"));
+
+        // when
+        cache.put(1L, 3L, 1000L, json("{\"version\":3}"));
+
+        // then
+        assertThat(cache.get(1L, 4L)).isPresent();
+        assertThat(cache.get(1L, 3L)).isEmpty();
+    }
+
+    @Test
+    void 破棄した本文は返さない() {
+        // given
+        cache.put(1L, 3L, 1000L, json("{\"id\":1}"));
+        cache.put(2L, 3L, 1000L, json("{\"id\":2}"));
+
+        // when
+        cache.invalidateAll(List.of(1L, 2L));
+
+        // then
+        assertThat(cache.get(1L, 3L)).isEmpty();
+        assertThat(cache.get(2L, 3L)).isEmpty();
+        assertThat(meterRegistry.get("task.response.cache.max.bytes").gauge().value()).isEqualTo(1024.0);
+    }
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(TaskJsonPayload payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        payload.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
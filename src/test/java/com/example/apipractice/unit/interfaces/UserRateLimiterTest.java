@@ -0,0 +1,165 @@
+package com.example.apipractice.unit.interfaces;
+
+import com.example.apipractice.interfaces.rest.UserRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * UserRateLimiter の単体テスト
+ * UT: Spring起動なし（時刻は差し替え）
+ *
+ * テスト方針:
+ * - バースト（capacity）と補充（refillPerSecond）の境界、ユーザー間の独立性を検証
+ * - 同時に消費しても capacity を超えて受け付けないことを検証
+ * - idle なバケットの削除とバケット数の上限を検証
+ */
+@Tag("unit")
+class UserRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void バースト分まで受け付け以降は補充された分だけ受け付ける() {
+        // given: バースト3回、毎秒2回
+        UserRateLimiter limiter = limiter(3, 2.0, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("user1");
+        }
+
+        // when & then: 4回目は0.5秒後に1回分貯まる（Retry-After は切り上げて1秒）
+        assertThatThrownBy(() -> limiter.acquire("user1"))
+                .isInstanceOfSatisfying(UserRateLimiter.RateLimitExceededException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+        assertThat(limiter.tryAcquire("user1")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(limiter.tryAcquire("user1")).isZero();
+        assertThat(limiter.tryAcquire("user1")).isPositive();
+        assertThat(meterRegistry.get("task.rate.limit.requests").tag("outcome", "allowed").counter().count())
+                .isEqualTo(4.0);
+    }
+
+    @Test
+    void 他のユーザーの消費は影響しない() {
+        // given
+        UserRateLimiter limiter = limiter(1, 1.0, 100);
+        limiter.acquire("user1");
+
+        // when & then
+        assertThat(limiter.tryAcquire("user1")).isPositive();
+        assertThat(limiter.tryAcquire("user2")).isZero();
+    }
+
+    @Test
+    void 同時に消費してもバースト分を超えて受け付けない() throws Exception {
+        // given
+        UserRateLimiter limiter = limiter(100, 1.0, 100);
+
+        // when: 8スレッド × 50回（時刻は進めない）
+        List<Future<Integer>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    int allowed = 0;
+                    for (int i = 0; i < 50; i++) {
+                        if (limiter.tryAcquire("user1") == 0) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+        }
+        int allowed = 0;
+        for (Future<Integer> future : futures) {
+            allowed += future.get();
+        }
+
+        // then
+        assertThat(allowed).isEqualTo(100);
+    }
+
+    @Test
+    void 満杯まで補充されたバケットは削除され制限は引き継がれない() {
+        // given
+        UserRateLimiter limiter = limiter(2, 1.0, 100);
+        limiter.acquire("user1");
+        limiter.acquire("user2");
+        limiter.acquire("user2");
+
+        // when: user1 だけ満杯に戻る（user2 は2秒必要）
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        limiter.evictIdle();
+
+        // then
+        assertThat(meterRegistry.get("task.rate.limit.buckets").gauge().value()).isEqualTo(1.0);
+        assertThat(limiter.tryAcquire("user2")).isZero();
+        assertThat(limiter.tryAcquire("user2")).isPositive();
+    }
+
+    @Test
+    void バケット数は上限を超えない() {
+        // given
+        UserRateLimiter limiter = limiter(1, 1.0, 64);
+
+        // when: 上限の10倍のユーザー（どれも消費済みで idle ではない）
+        for (int i = 0; i < 640; i++) {
+            limiter.tryAcquire("user" + i);
+        }
+
+        // then: ストライプごとの上限（切り上げ）の合計まで
+        assertThat(meterRegistry.get("task.rate.limit.buckets").gauge().value()).isLessThanOrEqualTo(
+                64.0 + Runtime.getRuntime().availableProcessors() * 8);
+    }
+
+    @Test
+    void バケット数の上限では消費中のバケットを削除せず新しいユーザーを拒否する() {
+        // given: どれも消費済みで idle ではない
+        UserRateLimiter limiter = limiter(1, 1.0, 64);
+        limiter.acquire("user0");
+        List<String> rejected = new ArrayList<>();
+        for (int i = 1; i < 640; i++) {
+            if (limiter.tryAcquire("user" + i) > 0) {
+                rejected.add("user" + i);
+            }
+        }
+
+        // then: 先に消費したユーザーの制限はリセットされず、新しいユーザーは idle になるまで（1秒）拒否される
+        assertThat(limiter.tryAcquire("user0")).isPositive();
+        assertThat(rejected).isNotEmpty();
+        assertThatThrownBy(() -> limiter.acquire(rejected.get(0)))
+                .isInstanceOfSatisfying(UserRateLimiter.RateLimitExceededException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+        assertThat(meterRegistry.get("task.rate.limit.requests").tag("outcome", "full").counter().count())
+                .isGreaterThanOrEqualTo(rejected.size());
+
+        // when: 満杯まで補充されると受け付ける
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // then
+        assertThat(limiter.tryAcquire(rejected.get(0))).isZero();
+    }
+
+    private UserRateLimiter limiter(int capacity, double refillPerSecond, int maxUsers) {
+        return new UserRateLimiter("create", capacity, refillPerSecond, maxUsers, meterRegistry, now::get);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.apipractice.unit.usecase;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.usecase.port.UserValidationClient;
+import com.example.apipractice.usecase.service.AsyncTaskService;
+import com.example.apipractice.usecase.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * AsyncTaskService の単体テスト
+ * UT: Spring起動なし、Mockito使用
+ *
+ * テスト方針:
+ * - TaskService・UserValidationClientをMock化し、Executorは呼び出し元スレッドで実行
+ * - ユーザー確認 → 永続化の順序と、混雑時の拒否（処理中の上限・キュー満杯）を検証
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class AsyncTaskServiceTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private UserValidationClient userValidationClient;
+
+    @Test
+    void ユーザーが存在すれば永続化用Executorで登録する() {
+        // given
+        AsyncTaskService service = new AsyncTaskService(taskService, userValidationClient, DIRECT, 10);
+        Task task = Task.create("Task", "Description");
+        task.setId(1L);
+        when(userValidationClient.existsUserAsync("user1")).thenReturn(CompletableFuture.completedFuture(true));
+        when(taskService.registerTask("Task", "Description")).thenReturn(task);
+
+        // when
+        Task created = service.createTask("user1", "Task", "Description").join();
+
+        // then
+        assertThat(created.getId()).isEqualTo(1L);
+        verify(taskService, never()).createTask(any(), any(), any());
+    }
+
+    @Test
+    void ユーザーが存在しない場合は登録せずUserNotFoundExceptionで失敗する() {
+        // given
+        AsyncTaskService service = new AsyncTaskService(taskService, userValidationClient, DIRECT, 10);
+        when(userValidationClient.existsUserAsync("unknown")).thenReturn(CompletableFuture.completedFuture(false));
+
+        // when & then
+        assertThatThrownBy(() -> service.createTask("unknown", "Task", null).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TaskService.UserNotFoundException.class);
+        verify(taskService, never()).registerTask(any(), any());
+    }
+
+    @Test
+    void バイト数を超えるタイトルはユーザー確認も登録もせずIllegalArgumentExceptionで失敗する() {
+        // given: 3バイト文字100文字（300バイト、@Size の255文字以内）
+        AsyncTaskService service = new AsyncTaskService(taskService, userValidationClient, DIRECT, 10);
+
+        // when & then
+        assertThatThrownBy(() -> service.createTask("user1", "あ".repeat(100), null).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("255 bytes");
+        verifyNoInteractions(userValidationClient);
+        verify(taskService, never()).registerTask(any(), any());
+    }
+
+    @Test
+    void 永続化待ちのキューが満杯の場合は混雑として失敗する() {
+        // given
+        Executor rejecting = command -> {
+            throw new RejectedExecutionException("queue full");
+        };
+        AsyncTaskService service = new AsyncTaskService(taskService, userValidationClient, rejecting, 10);
+        when(userValidationClient.existsUserAsync("user1")).thenReturn(CompletableFuture.completedFuture(true));
+
+        // when & then
+        assertThatThrownBy(() -> service.createTask("user1", "Task", null).join())
+                .hasCauseInstanceOf(AsyncTaskService.TaskCreationBusyException.class);
+        verify(taskService, never()).registerTask(any(), any());
+    }
+
+    @Test
+    void 処理中の件数が上限に達している場合はユーザー確認せずに拒否し完了後は受け付ける() {
+        // given: 1件目のユーザー確認が応答待ち
+        AsyncTaskService service = new AsyncTaskService(taskService, userValidationClient, DIRECT, 1);
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        when(userValidationClient.existsUserAsync("user1")).thenReturn(pending);
+        CompletableFuture<Task> first = service.createTask("user1", "Task", null);
+
+        // when
+        CompletableFuture<Task> second = service.createTask("user2", "Task", null);
+
+        // then
+        assertThatThrownBy(second::join)
+                .hasCauseInstanceOf(AsyncTaskService.TaskCreationBusyException.class);
+        verify(userValidationClient, never()).existsUserAsync("user2");
+
+        // 1件目が終われば次を受け付ける
+        pending.complete(false);
+        assertThat(first).isCompletedExceptionally();
+        when(userValidationClient.existsUserAsync("user2")).thenReturn(CompletableFuture.completedFuture(false));
+        assertThatThrownBy(() -> service.createTask("user2", "Task", null).join())
+                .hasCauseInstanceOf(TaskService.UserNotFoundException.class);
+    }
+}
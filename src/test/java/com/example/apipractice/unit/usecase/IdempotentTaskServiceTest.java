@@ -0,0 +1,242 @@
+package com.example.apipractice.unit.usecase;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.usecase.port.IdempotencyKeyRepository;
+import com.example.apipractice.usecase.service.IdempotentTaskService;
+import com.example.apipractice.usecase.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * IdempotentTaskService の単体テスト
+ * UT: Spring起動なし、Mockito使用
+ *
+ * テスト方針:
+ * - TaskService・IdempotencyKeyRepositoryをMock化
+ * - キーの登録 → 作成の順序、再送・処理中の扱い（上限まで完了を待つ）、失敗時のキーの解放を検証
+ * - フィンガープリントは内容が同じなら一致し、null と "null" を区別することを検証
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class IdempotentTaskServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private IdempotentTaskService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new IdempotentTaskService(taskService, idempotencyKeyRepository, meterRegistry,
+                Duration.ofMillis(200), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void 初回はキーを登録してから作成する() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        when(idempotencyKeyRepository.claim(eq("key-1"), any(), any())).thenReturn(Optional.empty());
+        when(taskService.createClaimedTask(eq("key-1"), any(), eq("user123"), eq("Test Task"), eq("Description")))
+                .thenReturn(task);
+
+        // when
+        Task result = service.createTask("key-1", "user123", "Test Task", "Description");
+
+        // then: 登録と結果の保存には同じ識別子を渡す
+        assertThat(result).isSameAs(task);
+        ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+        InOrder inOrder = inOrder(idempotencyKeyRepository, taskService);
+        inOrder.verify(idempotencyKeyRepository).claim(eq("key-1"), any(), claimToken.capture());
+        inOrder.verify(taskService).createClaimedTask("key-1", claimToken.getValue(), "user123", "Test Task", "Description");
+        verify(idempotencyKeyRepository, never()).release(any(), any());
+        assertThat(meterRegistry.get("task.idempotency.requests").tag("outcome", "executed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 再送は保存済みのタスクを返し作成しない() {
+        // given
+        Task original = Task.create("Test Task", "Description");
+        original.setId(1L);
+        when(idempotencyKeyRepository.claim(eq("key-1"), any(), any())).thenReturn(Optional.of(original));
+
+        // when
+        Task result = service.createTask("key-1", "user123", "Test Task", "Description");
+
+        // then
+        assertThat(result).isSameAs(original);
+        verifyNoInteractions(taskService);
+        assertThat(meterRegistry.get("task.idempotency.requests").tag("outcome", "replayed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 処理中のキーは完了を待って保存済みのタスクを返し作成しない() {
+        // given: 2回目の確認で先行リクエストが完了している
+        Task original = Task.create("Test Task", null);
+        original.setId(1L);
+        when(idempotencyKeyRepository.claim(eq("key-1"), any(), any()))
+                .thenThrow(new IdempotencyKeyRepository.KeyInFlightException("in progress", null))
+                .thenReturn(Optional.of(original));
+
+        // when
+        Task result = service.createTask("key-1", "user123", "Test Task", null);
+
+        // then
+        assertThat(result).isSameAs(original);
+        verify(idempotencyKeyRepository, times(2)).claim(eq("key-1"), any(), any());
+        verifyNoInteractions(taskService);
+        assertThat(meterRegistry.get("task.idempotency.requests").tag("outcome", "replayed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 処理中のキーが待つ間に解放された場合は引き継いで作成する() {
+        // given: 先行リクエストが失敗してキーを解放した
+        Task task = Task.create("Test Task", null);
+        task.setId(1L);
+        when(idempotencyKeyRepository.claim(eq("key-1"), any(), any()))
+                .thenThrow(new IdempotencyKeyRepository.KeyInFlightException("in progress", null))
+                .thenReturn(Optional.empty());
+        when(taskService.createClaimedTask(eq("key-1"), any(), eq("user123"), eq("Test Task"), isNull())).thenReturn(task);
+
+        // when
+        Task result = service.createTask("key-1", "user123", "Test Task", null);
+
+        // then
+        assertThat(result).isSameAs(task);
+        assertThat(meterRegistry.get("task.idempotency.requests").tag("outcome", "executed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 処理中のキーが待つ上限までに完了しない場合は例外になり作成しない() {
+        // given
+        when(idempotencyKeyRepository.claim(eq("key-1"), any(), any()))
+                .thenThrow(new IdempotencyKeyRepository.KeyInFlightException("in progress", null));
+
+        // when
+        long startNanos = System.nanoTime();
+        Throwable thrown = catchThrowable(() -> service.createTask("key-1", "user123", "Test Task", null));
+
+        // then: 上限（200ms）までは間隔を空けて確認し直す
+        assertThat(thrown).isInstanceOf(IdempotencyKeyRepository.KeyInFlightException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos))
+                .isGreaterThanOrEqualTo(Duration.ofMillis(200))
+                .isLessThan(Duration.ofSeconds(2));
+        verify(idempotencyKeyRepository, atLeast(3)).claim(eq("key-1"), any(), any());
+        verifyNoInteractions(taskService);
+        verify(idempotencyKeyRepository, never()).release(any(), any());
+        assertThat(meterRegistry.get("task.idempotency.requests").tag("outcome", "in_flight").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 待つ上限はリースより長くならない() {
+        // given: リースが0（期限切れはすぐ引き継げる）なら待たない
+        IdempotentTaskService noWait = new IdempotentTaskService(taskService, idempotencyKeyRepository, meterRegistry,
+                Duration.ofSeconds(10), Duration.ZERO);
+        when(idempotencyKeyRepository.claim(eq("key-1"), any(), any()))
+                .thenThrow(new IdempotencyKeyRepository.KeyInFlightException("in progress", null));
+
+        // when & then
+        assertThatThrownBy(() -> noWait.createTask("key-1", "user123", "Test Task", null))
+                .isInstanceOf(IdempotencyKeyRepository.KeyInFlightException.class);
+        verify(idempotencyKeyRepository, times(1)).claim(eq("key-1"), any(), any());
+    }
+
+    @Test
+    void 作成が失敗した場合は登録した識別子でキーを解放して例外を伝える() {
+        // given
+        TaskService.UserNotFoundException failure = new TaskService.UserNotFoundException("User not found");
+        ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+        when(idempotencyKeyRepository.claim(eq("key-1"), any(), claimToken.capture())).thenReturn(Optional.empty());
+        when(taskService.createClaimedTask(eq("key-1"), any(), eq("unknown"), eq("Test Task"), isNull()))
+                .thenThrow(failure);
+
+        // when & then
+        assertThatThrownBy(() -> service.createTask("key-1", "unknown", "Test Task", null)).isSameAs(failure);
+        verify(idempotencyKeyRepository).release("key-1", claimToken.getValue());
+    }
+
+    @Test
+    void 作成中にリースを失った場合は引き継いだリクエストのキーを解放しない() {
+        // given
+        when(idempotencyKeyRepository.claim(eq("key-1"), any(), any())).thenReturn(Optional.empty());
+        when(taskService.createClaimedTask(eq("key-1"), any(), eq("user123"), eq("Test Task"), isNull()))
+                .thenThrow(new IdempotencyKeyRepository.KeyInFlightException("lease lost", null));
+
+        // when & then
+        assertThatThrownBy(() -> service.createTask("key-1", "user123", "Test Task", null))
+                .isInstanceOf(IdempotencyKeyRepository.KeyInFlightException.class);
+        verify(idempotencyKeyRepository, never()).release(any(), any());
+    }
+
+    @Test
+    void 再送の判定は保存済みの結果だけを返しキーを登録しない() {
+        // given
+        Task original = Task.create("Test Task", null);
+        original.setId(1L);
+        when(idempotencyKeyRepository.findCompleted(eq("key-1"), any())).thenReturn(Optional.of(original));
+        when(idempotencyKeyRepository.findCompleted(eq("key-2"), any())).thenReturn(Optional.empty());
+
+        // when
+        Optional<Task> replay = service.findReplay("key-1", "user123", "Test Task", null);
+        Optional<Task> notYet = service.findReplay("key-2", "user123", "Test Task", null);
+
+        // then
+        assertThat(replay).containsSame(original);
+        assertThat(notYet).isEmpty();
+        verify(idempotencyKeyRepository, never()).claim(any(), any(), any());
+        verifyNoInteractions(taskService);
+        assertThat(meterRegistry.get("task.idempotency.requests").tag("outcome", "replayed").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void フィンガープリントは内容が同じなら一致しnullと文字列のnullを区別する() {
+        // given
+        List<String> fingerprints = new ArrayList<>();
+        when(idempotencyKeyRepository.claim(any(), any(), any())).thenAnswer(invocation -> {
+            fingerprints.add(invocation.getArgument(1));
+            return Optional.of(Task.create("Test Task", null));
+        });
+
+        // when
+        service.createTask("key-1", "user123", "Test Task", "Description");
+        service.createTask("key-1", "user123", "Test Task", "Description");
+        service.createTask("key-1", "user123", "Test Task", "Other");
+        service.createTask("key-1", "user123", "Test Task", null);
+        service.createTask("key-1", "user123", "Test Task", "null");
+        service.createTask("key-1", "user123", "Test Task", "");
+
+        // then
+        assertThat(fingerprints.get(0)).hasSize(64).isEqualTo(fingerprints.get(1));
+        assertThat(fingerprints.subList(2, 6)).doesNotHaveDuplicates().doesNotContain(fingerprints.get(0));
+    }
+}
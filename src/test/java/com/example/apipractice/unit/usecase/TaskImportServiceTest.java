@@ -0,0 +1,131 @@
+package com.example.apipractice.unit.usecase;
+
+import com.example.apipractice.core.domain.Task;
+import com.example.apipractice.usecase.service.CreateTaskCommand;
+import com.example.apipractice.usecase.service.CreateTaskResult;
+import com.example.apipractice.usecase.service.TaskImportListener;
+import com.example.apipractice.usecase.service.TaskImportProgress;
+import com.example.apipractice.usecase.service.TaskImportRecord;
+import com.example.apipractice.usecase.service.TaskImportService;
+import com.example.apipractice.usecase.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * TaskImportService の単体テスト
+ * UT: Spring起動なし、Mockito使用
+ *
+ * テスト方針:
+ * - TaskServiceをMock化し、Executorは呼び出し元スレッドで実行
+ * - チャンク分割、行ごとのエラー通知、チャンク単位の失敗を検証
+ */
+@ExtendWith(MockitoExtension.class)
+@Tag("unit")
+class TaskImportServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private TaskImportService taskImportService;
+
+    private final List<String> events = new ArrayList<>();
+
+    private final TaskImportListener listener = new TaskImportListener() {
+        @Override
+        public void onLineFailed(long lineNumber, String message) {
+            events.add("error:" + lineNumber + ":" + message);
+        }
+
+        @Override
+        public void onProgress(TaskImportProgress progress) {
+            events.add("progress:" + progress.processed());
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        taskImportService = new TaskImportService(taskService, Runnable::run);
+    }
+
+    @Test
+    void チャンクごとにcreateTasksが呼ばれ進捗が通知される() {
+        // given: 2チャンク + 端数
+        int lines = TaskImportService.CHUNK_SIZE * 2 + 1;
+        when(taskService.createTasks(anyList())).thenAnswer(invocation -> {
+            List<CreateTaskCommand> commands = invocation.getArgument(0);
+            return commands.stream().map(command -> CreateTaskResult.success(Task.create(command.title(), null))).toList();
+        });
+
+        // when
+        TaskImportProgress result = taskImportService.importTasks(records(lines).iterator(), listener);
+
+        // then
+        assertThat(result).isEqualTo(new TaskImportProgress(lines, lines, 0));
+        verify(taskService, times(3)).createTasks(anyList());
+        assertThat(events).containsExactly(
+                "progress:" + TaskImportService.CHUNK_SIZE,
+                "progress:" + TaskImportService.CHUNK_SIZE * 2,
+                "progress:" + lines
+        );
+    }
+
+    @Test
+    void 解析エラーと作成失敗の行が行番号付きで通知される() {
+        // given
+        List<TaskImportRecord> records = List.of(
+                TaskImportRecord.parsed(1, new CreateTaskCommand("user1", "Task 1", null)),
+                TaskImportRecord.unparsable(2, "Invalid JSON"),
+                TaskImportRecord.parsed(3, new CreateTaskCommand("unknown-user", "Task 3", null))
+        );
+        when(taskService.createTasks(anyList())).thenReturn(List.of(
+                CreateTaskResult.success(Task.create("Task 1", null)),
+                CreateTaskResult.failure("User not found: userId=unknown-user")
+        ));
+
+        // when
+        TaskImportProgress result = taskImportService.importTasks(records.iterator(), listener);
+
+        // then
+        assertThat(result).isEqualTo(new TaskImportProgress(3, 1, 2));
+        assertThat(events).containsExactly(
+                "error:2:Invalid JSON",
+                "error:3:User not found: userId=unknown-user",
+                "progress:3"
+        );
+    }
+
+    @Test
+    void 失敗したチャンクだけが失敗になり後続のチャンクは処理される() {
+        // given: 1チャンク目はDBエラー
+        int lines = TaskImportService.CHUNK_SIZE + 1;
+        when(taskService.createTasks(anyList()))
+                .thenThrow(new IllegalStateException("DB error"))
+                .thenReturn(List.of(CreateTaskResult.success(Task.create("last", null))));
+
+        // when
+        TaskImportProgress result = taskImportService.importTasks(records(lines).iterator(), listener);
+
+        // then
+        assertThat(result).isEqualTo(new TaskImportProgress(lines, 1, TaskImportService.CHUNK_SIZE));
+        assertThat(events).contains("error:1:Chunk failed: DB error");
+    }
+
+    private List<TaskImportRecord> records(int count) {
+        List<TaskImportRecord> records = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            records.add(TaskImportRecord.parsed(i, new CreateTaskCommand("user1", "Task " + i, null)));
+        }
+        return records;
+    }
+}
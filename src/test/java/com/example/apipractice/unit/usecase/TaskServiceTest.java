@@ -2,22 +2,51 @@ package com.example.apipractice.unit.usecase;
 
 import com.example.apipractice.core.domain.Task;
 import com.example.apipractice.core.domain.TaskStatus;
+import com.example.apipractice.usecase.port.IdempotencyKeyRepository;
 import com.example.apipractice.usecase.port.NotificationClient;
+import com.example.apipractice.usecase.port.TaskListQuery;
+import com.example.apipractice.usecase.port.TaskPageCursor;
 import com.example.apipractice.usecase.port.TaskRepository;
+import com.example.apipractice.usecase.port.TaskRevision;
+import com.example.apipractice.usecase.port.TaskSummary;
 import com.example.apipractice.usecase.port.UserValidationClient;
+import com.example.apipractice.usecase.service.CreateTaskCommand;
+import com.example.apipractice.usecase.service.CreateTaskResult;
+import com.example.apipractice.usecase.service.PhaseTimings;
+import com.example.apipractice.usecase.service.TaskCompletionBatch;
+import com.example.apipractice.usecase.service.TaskCompletionResult;
+import com.example.apipractice.usecase.service.TaskLookupResult;
+import com.example.apipractice.usecase.service.TaskPage;
 import com.example.apipractice.usecase.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -42,6 +71,12 @@ class TaskServiceTest {
     @Mock
     private UserValidationClient userValidationClient;
 
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private TaskService taskService;
 
@@ -66,6 +101,112 @@ class TaskServiceTest {
         verify(notificationClient, times(1)).notifyTaskCreated(1L, "Test Task");
     }
 
+    @Test
+    void 計測中のタスク作成ではフェーズごとの処理時間が記録される() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        when(userValidationClient.existsUser("user123")).thenReturn(true);
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // when
+        PhaseTimings timings;
+        try (PhaseTimings started = PhaseTimings.start()) {
+            timings = started;
+            inCommittedTransaction(() -> taskService.createTask("user123", "Test Task", "Description"));
+        }
+
+        // then
+        for (PhaseTimings.Phase phase : PhaseTimings.Phase.values()) {
+            assertThat(timings.isRecorded(phase)).as(phase.name()).isTrue();
+            assertThat(timings.nanos(phase)).as(phase.name()).isGreaterThanOrEqualTo(0L);
+        }
+        assertThat(PhaseTimings.current()).isSameAs(PhaseTimings.disabled());
+    }
+
+    @Test
+    void 永続化のフェーズは保存のINSERTをコミットのフェーズはコミット直前の書き込みを含む() {
+        // given: save 内でINSERTを送る（20ms）、通知はコミット直前に書き込む（20ms）
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        when(userValidationClient.existsUser("user123")).thenReturn(true);
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return task;
+        });
+        doAnswer(invocation -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    sleep(20);
+                }
+            });
+            return null;
+        }).when(notificationClient).notifyTaskCreated(1L, "Test Task");
+
+        // when
+        PhaseTimings timings;
+        try (PhaseTimings started = PhaseTimings.start()) {
+            timings = started;
+            inCommittedTransaction(() -> taskService.createTask("user123", "Test Task", "Description"));
+        }
+
+        // then
+        assertThat(timings.nanos(PhaseTimings.Phase.PERSISTENCE)).isGreaterThanOrEqualTo(20_000_000L);
+        assertThat(timings.nanos(PhaseTimings.Phase.NOTIFICATION)).isLessThan(20_000_000L);
+        assertThat(timings.nanos(PhaseTimings.Phase.COMMIT)).isGreaterThanOrEqualTo(20_000_000L);
+    }
+
+    @Test
+    void 計測していないスレッドではフェーズの処理時間を記録しない() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        when(taskRepository.complete(eq(1L), any(), isNull(), any())).thenReturn(Optional.of(task));
+
+        // when
+        taskService.completeTask(1L);
+
+        // then
+        PhaseTimings timings = PhaseTimings.current();
+        assertThat(timings.isEnabled()).isFalse();
+        assertThat(timings.isRecorded(PhaseTimings.Phase.PERSISTENCE)).isFalse();
+    }
+
+    @Test
+    void 冪等キーを登録済みのタスク作成は作成したタスクをキーの結果として保存する() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        when(userValidationClient.existsUser("user123")).thenReturn(true);
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // when
+        Task result = taskService.createClaimedTask("key-1", "token-1", "user123", "Test Task", "Description");
+
+        // then
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(idempotencyKeyRepository).complete("key-1", "token-1", task);
+        verify(idempotencyKeyRepository, never()).claim(any(), any(), any());
+        verify(notificationClient, times(1)).notifyTaskCreated(1L, "Test Task");
+    }
+
+    @Test
+    void 登録ではユーザー検証をせずにリポジトリ保存と通知が呼ばれる() {
+        // given
+        Task task = Task.create("Test Task", "Description");
+        task.setId(1L);
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // when
+        Task result = taskService.registerTask("Test Task", "Description");
+
+        // then
+        assertThat(result.getId()).isEqualTo(1L);
+        verifyNoInteractions(userValidationClient);
+        verify(notificationClient, times(1)).notifyTaskCreated(1L, "Test Task");
+    }
+
     @Test
     void タスク取得時に存在しない場合は例外が発生する() {
         // given
@@ -80,26 +221,28 @@ class TaskServiceTest {
     @Test
     void タスク完了時にステータスがDONEに変更される() {
         // given
-        Task task = Task.create("Test Task", "Description");
-        task.setId(1L);
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Task completed = Task.create("Test Task", "Description");
+        completed.setId(1L);
+        completed.complete();
+        when(taskRepository.complete(eq(1L), eq(Task.completableStatuses()), isNull(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(completed));
 
         // when
         Task result = taskService.completeTask(1L);
 
-        // then
+        // then: 条件付き更新のみ（読み込み・saveなし）
         assertThat(result.getStatus()).isEqualTo(TaskStatus.DONE);
-        verify(taskRepository, times(1)).save(task);
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).findRevisionById(any());
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
     void 完了済みタスクを完了しようとすると例外が発生する() {
-        // given
-        Task task = Task.create("Test Task", "Description");
-        task.setId(1L);
-        task.complete();  // 既に完了状態にする
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        // given: 既に完了状態
+        when(taskRepository.complete(eq(1L), any(), any(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(taskRepository.findRevisionById(1L))
+                .thenReturn(Optional.of(new TaskRevision(1L, TaskStatus.DONE, 1L, LocalDateTime.now())));
 
         // when & then
         assertThatThrownBy(() -> taskService.completeTask(1L))
@@ -111,7 +254,8 @@ class TaskServiceTest {
     void 存在しないIDでタスク完了を試みると例外が発生する() {
         // given
         Long nonExistentId = 999L;
-        when(taskRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(taskRepository.complete(eq(nonExistentId), any(), any(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(taskRepository.findRevisionById(nonExistentId)).thenReturn(Optional.empty());
 
         // when & then
         assertThatThrownBy(() -> taskService.completeTask(nonExistentId))
@@ -122,6 +266,114 @@ class TaskServiceTest {
         verify(taskRepository, never()).save(any(Task.class));
     }
 
+    @Test
+    void 指定したバージョンと異なる場合は完了せずバージョン不一致の例外が発生する() {
+        // given
+        when(taskRepository.complete(eq(1L), any(), eq(1L), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(taskRepository.findRevisionById(1L))
+                .thenReturn(Optional.of(new TaskRevision(1L, TaskStatus.TODO, 2L, LocalDateTime.now())));
+
+        // when & then: リトライしない
+        assertThatThrownBy(() -> taskService.completeTask(1L, 1L))
+                .isInstanceOf(TaskService.VersionMismatchException.class)
+                .hasMessageContaining("expected=1, actual=2");
+        verify(taskRepository, times(1)).complete(eq(1L), any(), eq(1L), any(LocalDateTime.class));
+        assertThat(meterRegistry.get("task.updates").tag("outcome", "conflict_rejected").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 完了できなかったのに完了可能な状態が読める場合はやり直さずに競合として例外になる() {
+        // given: 読み込むと完了可能だが、条件付き更新は0件
+        when(taskRepository.complete(eq(1L), any(), isNull(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(taskRepository.findRevisionById(1L))
+                .thenReturn(Optional.of(new TaskRevision(1L, TaskStatus.TODO, 0L, LocalDateTime.now())));
+
+        // when & then
+        assertThatThrownBy(() -> taskService.completeTask(1L))
+                .isInstanceOf(TaskRepository.ConcurrentUpdateException.class);
+        verify(taskRepository, times(1)).complete(eq(1L), any(), isNull(), any(LocalDateTime.class));
+        assertThat(meterRegistry.get("task.updates").tag("outcome", "conflict_rejected").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 完了可能なステータスはTaskのcanCompleteから導出される() {
+        assertThat(Task.completableStatuses()).containsExactlyInAnyOrder(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void 一括完了時に更新前のステータスからIDごとの結果をリクエスト順で返す() {
+        // given: 1 は未完了、2 は完了済み、3 は存在しない（1 は重複指定）
+        when(taskRepository.completeAll(anyCollection(), eq(Task.completableStatuses()), any(LocalDateTime.class)))
+                .thenReturn(Map.of(
+                        1L, new TaskRevision(1L, TaskStatus.IN_PROGRESS, 0L, LocalDateTime.now()),
+                        2L, new TaskRevision(2L, TaskStatus.DONE, 1L, LocalDateTime.now())));
+
+        // when
+        List<TaskCompletionResult> results = taskService.completeTasks(List.of(3L, 1L, 2L, 1L));
+
+        // then
+        assertThat(results).containsExactly(
+                new TaskCompletionResult(3L, TaskCompletionResult.Outcome.NOT_FOUND),
+                new TaskCompletionResult(1L, TaskCompletionResult.Outcome.COMPLETED),
+                new TaskCompletionResult(2L, TaskCompletionResult.Outcome.ALREADY_DONE));
+        verify(taskRepository).completeAll(eq(new LinkedHashSet<>(List.of(3L, 1L, 2L))), any(), any(LocalDateTime.class));
+        verify(taskRepository, never()).save(any(Task.class));
+        assertThat(meterRegistry.get("task.updates").tag("outcome", "applied").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 条件指定の一括完了は上限件数まで完了させ上限に達したことを返す() {
+        // given: 一致する件数が上限以上
+        List<TaskRevision> completed = new ArrayList<>();
+        for (long id = 1; id <= TaskService.MAX_BULK_COMPLETION_SIZE; id++) {
+            completed.add(new TaskRevision(id, TaskStatus.DONE, 1L, LocalDateTime.now()));
+        }
+        LocalDateTime createdAfter = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(taskRepository.completeMatching(eq(Task.completableStatuses()), eq(createdAfter), any(LocalDateTime.class),
+                eq(TaskService.MAX_BULK_COMPLETION_SIZE)))
+                .thenReturn(completed);
+
+        // when
+        TaskCompletionBatch batch = taskService.completeTasks(null, createdAfter);
+
+        // then
+        assertThat(batch.results()).hasSize(TaskService.MAX_BULK_COMPLETION_SIZE)
+                .allMatch(result -> result.outcome() == TaskCompletionResult.Outcome.COMPLETED);
+        assertThat(batch.results().get(0).id()).isEqualTo(1L);
+        assertThat(batch.hasMore()).isTrue();
+        verify(taskRepository, never()).findSummaries(any());
+        assertThat(meterRegistry.get("task.updates").tag("outcome", "applied").counter().count())
+                .isEqualTo(TaskService.MAX_BULK_COMPLETION_SIZE);
+    }
+
+    @Test
+    void 条件指定の一括完了で一致する件数が上限未満なら残りはない() {
+        // given
+        when(taskRepository.completeMatching(eq(Set.of(TaskStatus.TODO)), isNull(), any(LocalDateTime.class),
+                eq(TaskService.MAX_BULK_COMPLETION_SIZE)))
+                .thenReturn(List.of(new TaskRevision(1L, TaskStatus.DONE, 1L, LocalDateTime.now())));
+
+        // when
+        TaskCompletionBatch batch = taskService.completeTasks(TaskStatus.TODO, null);
+
+        // then
+        assertThat(batch.results()).containsExactly(new TaskCompletionResult(1L, TaskCompletionResult.Outcome.COMPLETED));
+        assertThat(batch.hasMore()).isFalse();
+    }
+
+    @Test
+    void 条件指定の一括完了で完了できないステータスを指定した場合は何も更新しない() {
+        // when
+        TaskCompletionBatch batch = taskService.completeTasks(TaskStatus.DONE, null);
+
+        // then
+        assertThat(batch.results()).isEmpty();
+        assertThat(batch.hasMore()).isFalse();
+        verify(taskRepository, never()).completeMatching(any(), any(), any(), anyInt());
+    }
+
     @Test
     void タスク作成時にタイトルと説明が正しく保存される() {
         // given
@@ -164,6 +416,15 @@ class TaskServiceTest {
         verify(notificationClient, never()).notifyTaskCreated(any(), any());
     }
 
+    @Test
+    void UTF8で255バイトを超えるタイトルはユーザー確認の前に例外が発生する() {
+        // when & then
+        assertThatThrownBy(() -> taskService.createTask("user123", "あ".repeat(86), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Title is too long");
+        verifyNoInteractions(userValidationClient, taskRepository);
+    }
+
     @Test
     void ユーザー検証API障害時に例外が発生する() {
         // given
@@ -209,15 +470,208 @@ class TaskServiceTest {
         // given
         Task task = Task.create("進行中タスク", "説明");
         task.setId(3L);
+        task.complete();
 
-        when(taskRepository.findById(3L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(task)).thenReturn(task);
+        when(taskRepository.complete(eq(3L), eq(Task.completableStatuses()), isNull(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(task));
 
         // when
         taskService.completeTask(3L);
 
         // then
-        verify(taskRepository, times(1)).findById(3L);
-        verify(taskRepository, times(1)).save(task);
+        verify(taskRepository, times(1)).complete(eq(3L), eq(Task.completableStatuses()), isNull(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void 一括作成時にユーザー検証はまとめて1回でsaveAllが1回呼ばれる() {
+        // given
+        List<CreateTaskCommand> commands = List.of(
+                new CreateTaskCommand("user1", "Task 1", "Description 1"),
+                new CreateTaskCommand("user1", "Task 2", "Description 2"),
+                new CreateTaskCommand("user2", "Task 3", "Description 3")
+        );
+        when(userValidationClient.existsUsers(anyCollection())).thenReturn(Map.of("user1", true, "user2", true));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).setId(100L + i);
+            }
+            return tasks;
+        });
+
+        // when
+        List<CreateTaskResult> results = taskService.createTasks(commands);
+
+        // then
+        assertThat(results).hasSize(3).allMatch(CreateTaskResult::isSuccess);
+        assertThat(results).extracting(result -> result.task().getId()).containsExactly(100L, 101L, 102L);
+        verify(userValidationClient, times(1)).existsUsers(argThat(userIds ->
+                userIds.size() == 2 && userIds.containsAll(List.of("user1", "user2"))));
+        verify(userValidationClient, never()).existsUser(any());
+        verify(taskRepository, times(1)).saveAll(anyList());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(notificationClient, times(3)).notifyTaskCreated(any(), any());
+    }
+
+    @Test
+    void 一括作成時に不正な明細だけが失敗として返る() {
+        // given
+        List<CreateTaskCommand> commands = List.of(
+                new CreateTaskCommand("user1", "Task 1", null),
+                new CreateTaskCommand("unknown-user", "Task 2", null),
+                new CreateTaskCommand("user1", " ", null),
+                new CreateTaskCommand("user1", "あ".repeat(86), null)
+        );
+        when(userValidationClient.existsUsers(anyCollection()))
+                .thenReturn(Map.of("user1", true, "unknown-user", false));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<CreateTaskResult> results = taskService.createTasks(commands);
+
+        // then
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).errorMessage()).contains("User not found: userId=unknown-user");
+        assertThat(results.get(2).errorMessage()).isEqualTo("Title is required");
+        assertThat(results.get(3).errorMessage()).startsWith("Title is too long");
+        verify(taskRepository).saveAll(argThat(tasks -> tasks.size() == 1));
+    }
+
+    @Test
+    void 一括作成時に確認できなかったユーザーの明細だけが失敗する() {
+        // given: user2 は確認失敗（結果に含まれない）
+        List<CreateTaskCommand> commands = List.of(
+                new CreateTaskCommand("user1", "Task 1", null),
+                new CreateTaskCommand("user2", "Task 2", null)
+        );
+        when(userValidationClient.existsUsers(anyCollection())).thenReturn(Map.of("user1", true));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<CreateTaskResult> results = taskService.createTasks(commands);
+
+        // then
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).errorMessage()).isEqualTo("Failed to validate user: user2");
+    }
+
+    @Test
+    void 一括作成時にユーザー一括確認が失敗すると全明細が失敗し保存しない() {
+        // given
+        List<CreateTaskCommand> commands = List.of(
+                new CreateTaskCommand("user1", "Task 1", null),
+                new CreateTaskCommand("user2", "Task 2", null)
+        );
+        when(userValidationClient.existsUsers(anyCollection()))
+                .thenThrow(new UserValidationClient.UserValidationException("Failed to validate users: count=2", null));
+
+        // when
+        List<CreateTaskResult> results = taskService.createTasks(commands);
+
+        // then
+        assertThat(results).extracting(CreateTaskResult::errorMessage)
+                .containsOnly("Failed to validate users: count=2");
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void 一覧取得時に1件多く取得して次ページのカーソルを返す() {
+        // given
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<TaskSummary> rows = List.of(
+                new TaskSummary(1L, "Task 1", TaskStatus.TODO, base, base),
+                new TaskSummary(2L, "Task 2", TaskStatus.TODO, base.plusSeconds(1), base),
+                new TaskSummary(3L, "Task 3", TaskStatus.TODO, base.plusSeconds(2), base)
+        );
+        when(taskRepository.findSummaries(new TaskListQuery(TaskStatus.TODO, null, null, 3))).thenReturn(rows);
+
+        // when
+        TaskPage page = taskService.listTasks(TaskStatus.TODO, null, null, 2);
+
+        // then
+        assertThat(page.items()).extracting(TaskSummary::id).containsExactly(1L, 2L);
+        assertThat(page.nextCursor()).isEqualTo(new TaskPageCursor(base.plusSeconds(1), 2L));
+    }
+
+    @Test
+    void 一覧取得時に最終ページではカーソルを返さない() {
+        // given
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        TaskPageCursor after = new TaskPageCursor(base, 2L);
+        List<TaskSummary> rows = List.of(
+                new TaskSummary(3L, "Task 3", TaskStatus.DONE, base.plusSeconds(2), base)
+        );
+        when(taskRepository.findSummaries(new TaskListQuery(null, null, after, 3))).thenReturn(rows);
+
+        // when
+        TaskPage page = taskService.listTasks(null, null, after, 2);
+
+        // then
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void 一括取得時にリクエスト順で返し存在しないIDを報告する() {
+        // given
+        Task task1 = Task.create("Task 1", null);
+        task1.setId(1L);
+        Task task3 = Task.create("Task 3", null);
+        task3.setId(3L);
+        // リポジトリは順序を保証しない
+        when(taskRepository.findAllById(new LinkedHashSet<>(List.of(3L, 2L, 1L)))).thenReturn(List.of(task1, task3));
+
+        // when
+        TaskLookupResult result = taskService.getTasks(List.of(3L, 2L, 1L, 3L));
+
+        // then
+        assertThat(result.tasks()).extracting(Task::getId).containsExactly(3L, 1L);
+        assertThat(result.missingIds()).containsExactly(2L);
+        verify(taskRepository, times(1)).findAllById(any());
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    void エクスポート時にリポジトリから読み出したタスクがそのまま渡される() {
+        // given
+        Task task = Task.create("Export Task", null);
+        task.setId(1L);
+        LocalDateTime createdAfter = LocalDateTime.of(2024, 1, 1, 0, 0);
+        doAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(2);
+            consumer.accept(task);
+            return null;
+        }).when(taskRepository).streamAll(eq(TaskStatus.DONE), eq(createdAfter), any());
+
+        List<Task> exported = new ArrayList<>();
+
+        // when
+        taskService.exportTasks(TaskStatus.DONE, createdAfter, exported::add);
+
+        // then
+        assertThat(exported).containsExactly(task);
+    }
+
+    // トランザクションの同期処理を有効にして実行し、コミットした場合と同じ順にコールバックを呼ぶ
+    private static void inCommittedTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
     }
 }